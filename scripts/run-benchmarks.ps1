@@ -0,0 +1,44 @@
+param(
+    [ValidateSet("SchedulerBenchmarks", "LoadTest")]
+    [string]$Suite = "SchedulerBenchmarks",
+    [Parameter(ValueFromRemainingArguments = $true)]
+    [string[]]$BenchmarkArgs
+)
+
+# Compiles the core sources plus src/bench/java into out-bench and runs the
+# benchmark suite or the load test. Extra arguments are passed through, e.g.:
+#   ./scripts/run-benchmarks.ps1 --rooms 10,100 --bookings 1000,100000 --filter findConflicts
+#   ./scripts/run-benchmarks.ps1 -Suite LoadTest --threads 16 --rate 2000 --out run.json
+
+$scriptDir = Split-Path -Parent $MyInvocation.MyCommand.Path
+$repoRoot = Resolve-Path (Join-Path $scriptDir "..")
+$outDir = Join-Path $repoRoot "out-bench"
+
+# The UI is not benchmarked, so JavaFX is not needed here.
+$sources = @(
+    Get-ChildItem -Recurse -Filter *.java -Path (Join-Path $repoRoot "src/main/java") |
+        Where-Object { $_.FullName -notmatch '[\\/]scheduler[\\/]ui[\\/]' }
+    Get-ChildItem -Recurse -Filter *.java -Path (Join-Path $repoRoot "src/bench/java")
+)
+if ($sources.Count -eq 0) {
+    Write-Error "No sources found"
+    exit 1
+}
+
+if (-not $env:SQLITE_JDBC_JAR -or -not (Test-Path $env:SQLITE_JDBC_JAR)) {
+    Write-Error "Set SQLITE_JDBC_JAR to the sqlite-jdbc jar (plus slf4j-api on the classpath if your driver version needs it)."
+    exit 1
+}
+
+if (-not (Test-Path $outDir)) {
+    New-Item -ItemType Directory -Path $outDir | Out-Null
+}
+
+javac --release 21 -d $outDir @($sources.FullName)
+if ($LASTEXITCODE -ne 0) {
+    exit $LASTEXITCODE
+}
+
+$classPath = @($outDir, $env:SQLITE_JDBC_JAR) -join [System.IO.Path]::PathSeparator
+java -Xms1g -Xmx1g -cp $classPath "scheduler.bench.$Suite" @BenchmarkArgs
+exit $LASTEXITCODE
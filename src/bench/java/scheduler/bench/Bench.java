@@ -0,0 +1,131 @@
+package scheduler.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Minimal fixed-time benchmark runner: each iteration calls the operation in a
+ * loop for {@code iterationMillis}, after {@code warmupIterations} unmeasured
+ * iterations, and reports time and heap allocation per operation.
+ *
+ * <p>Allocation is read from the calling thread's allocation counter, so it
+ * only covers work done on that thread.
+ */
+final class Bench {
+
+	/**
+	 * One benchmarked call; {@code invocation} increases by one per call so
+	 * stateful operations can pick distinct inputs.
+	 */
+	interface Operation {
+		Object run(long invocation) throws Exception;
+	}
+
+	record Result(
+		String name,
+		String params,
+		double nanosPerOp,
+		double error,
+		double bytesPerOp,
+		long operations
+	) {
+		String format() {
+			return String.format(
+				Locale.ROOT,
+				"%-36s %-32s %14.1f +- %-10.1f %12.1f %10d",
+				name,
+				params,
+				nanosPerOp,
+				error,
+				bytesPerOp,
+				operations
+			);
+		}
+
+		static String header() {
+			return String.format(
+				Locale.ROOT,
+				"%-36s %-32s %14s    %-10s %12s %10s",
+				"benchmark",
+				"params",
+				"ns/op",
+				"error",
+				"B/op",
+				"ops"
+			);
+		}
+	}
+
+	private static final com.sun.management.ThreadMXBean THREADS =
+		(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	/** Keeps results reachable so the JIT cannot discard the measured work. */
+	private static volatile Object sink;
+
+	private final int warmupIterations;
+	private final int measurementIterations;
+	private final long iterationMillis;
+
+	Bench(int warmupIterations, int measurementIterations, long iterationMillis) {
+		if (measurementIterations < 1 || iterationMillis < 1 || warmupIterations < 0) {
+			throw new IllegalArgumentException("Invalid iteration settings");
+		}
+		this.warmupIterations = warmupIterations;
+		this.measurementIterations = measurementIterations;
+		this.iterationMillis = iterationMillis;
+	}
+
+	Result measure(String name, String params, Operation operation) throws Exception {
+		long invocation = 0;
+		for (int i = 0; i < warmupIterations; i++) {
+			invocation = iterate(operation, invocation, null);
+		}
+		double[] nanos = new double[measurementIterations];
+		double[] bytes = new double[measurementIterations];
+		long total = 0;
+		for (int i = 0; i < measurementIterations; i++) {
+			double[] sample = new double[3];
+			invocation = iterate(operation, invocation, sample);
+			nanos[i] = sample[0];
+			bytes[i] = sample[1];
+			total += (long) sample[2];
+		}
+		double mean = Arrays.stream(nanos).average().orElse(0);
+		double variance = Arrays
+			.stream(nanos)
+			.map(value -> (value - mean) * (value - mean))
+			.sum() / Math.max(1, nanos.length - 1);
+		// Half-width of a ~99.9% interval, as a rough spread indicator.
+		double error = 3.29 * Math.sqrt(variance / nanos.length);
+		return new Result(
+			name,
+			params,
+			mean,
+			error,
+			Arrays.stream(bytes).average().orElse(0),
+			total
+		);
+	}
+
+	private long iterate(Operation operation, long invocation, double[] sample) throws Exception {
+		long deadline = System.nanoTime() + iterationMillis * 1_000_000;
+		long threadId = Thread.currentThread().threadId();
+		long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+		long started = System.nanoTime();
+		long count = 0;
+		long now;
+		do {
+			sink = operation.run(invocation++);
+			count++;
+			now = System.nanoTime();
+		} while (now < deadline);
+		if (sample != null) {
+			long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+			sample[0] = (double) (now - started) / count;
+			sample[1] = (double) allocated / count;
+			sample[2] = count;
+		}
+		return invocation;
+	}
+}
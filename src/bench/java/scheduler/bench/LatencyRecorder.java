@@ -0,0 +1,88 @@
+package scheduler.bench;
+
+/**
+ * Log-linear latency histogram in the style of HdrHistogram: values are
+ * counted in buckets whose width is a fixed fraction (1/64) of their magnitude,
+ * so any percentile is reported within about 1.6% at a fixed memory cost.
+ *
+ * <p>Not thread-safe; give each thread its own recorder and {@link #add} them
+ * once the run is over.
+ */
+final class LatencyRecorder {
+
+	private static final int SUB_BUCKET_BITS = 7;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int HALF = SUB_BUCKETS / 2;
+	/** Largest trackable value is just under 2^MAX_BITS nanoseconds (about 9 minutes). */
+	private static final int MAX_BITS = 39;
+
+	private final long[] counts = new long[indexOf((1L << MAX_BITS) - 1) + 1];
+	private long total;
+	private long max;
+	private long sum;
+
+	void record(long nanos) {
+		long value = Math.max(0, Math.min(nanos, (1L << MAX_BITS) - 1));
+		counts[indexOf(value)]++;
+		total++;
+		sum += value;
+		max = Math.max(max, value);
+	}
+
+	void add(LatencyRecorder other) {
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] += other.counts[i];
+		}
+		total += other.total;
+		sum += other.sum;
+		max = Math.max(max, other.max);
+	}
+
+	long count() {
+		return total;
+	}
+
+	long max() {
+		return max;
+	}
+
+	double mean() {
+		return total == 0 ? 0 : (double) sum / total;
+	}
+
+	/**
+	 * Returns the value at {@code percentile} (0-100), reported as the upper edge
+	 * of the bucket holding it.
+	 */
+	long percentile(double percentile) {
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(max, highestEquivalent(i));
+			}
+		}
+		return max;
+	}
+
+	private static int indexOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+		return SUB_BUCKETS + (shift - 1) * HALF + (int) (value >>> shift) - HALF;
+	}
+
+	private static long highestEquivalent(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = (index - SUB_BUCKETS) / HALF + 1;
+		long mantissa = (index - SUB_BUCKETS) % HALF + HALF;
+		return ((mantissa + 1) << shift) - 1;
+	}
+}
@@ -0,0 +1,443 @@
+package scheduler.bench;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import scheduler.model.Booking;
+import scheduler.model.TimeSlot;
+import scheduler.persistence.FileManager;
+import scheduler.service.BookingQuery;
+import scheduler.service.SchedulerSystem;
+import scheduler.user.User;
+
+/**
+ * End-to-end load test: seeds a scheduler with {@link WorkloadGenerator}, then
+ * drives a mixed read/write/conflict workload from several threads and reports
+ * throughput and latency percentiles per operation.
+ *
+ * <pre>
+ * --rooms 50 --users 20 --bookings 5000     dataset size
+ * --recurring 0.3 --series-weeks 12         share of bookings seeded as weekly series
+ * --horizon-days 180                        calendar span the bookings are spread over
+ * --threads 8                               worker threads
+ * --rate 0                                  total ops/s for an open-loop run; 0 = closed loop
+ * --warmup 10 --duration 30                 seconds
+ * --mix read=60,check=10,create=12,update=6,cancel=6,conflict=6
+ * --no-persist                              keep the run in memory (one write at the end)
+ * --seed 42 --label v1.2 --out results.json
+ * </pre>
+ *
+ * <p>{@link SchedulerSystem} is not thread-safe, so calls are serialized through
+ * one lock, as the desktop client does with its single service thread; time
+ * spent waiting for the lock is part of the measured latency. In open-loop mode
+ * each operation is timed from when it was scheduled to start rather than when
+ * a worker got to it, so a stalled system shows up in the tail instead of
+ * silently lowering the offered load.
+ */
+public final class LoadTest {
+
+	enum Operation {
+		READ,
+		CHECK,
+		CREATE,
+		UPDATE,
+		CANCEL,
+		CONFLICT
+	}
+
+	private final Map<String, String> options;
+	private final Map<Operation, Integer> mix;
+	private final ReentrantLock serviceLock = new ReentrantLock();
+	private SchedulerSystem system;
+	private WorkloadGenerator workload;
+
+	private LoadTest(Map<String, String> options) {
+		this.options = options;
+		this.mix = parseMix(option("mix", "read=60,check=10,create=12,update=6,cancel=6,conflict=6"));
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = new LinkedHashMap<>();
+		for (int i = 0; i < args.length; i++) {
+			if (!args[i].startsWith("--")) {
+				throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+			}
+			String name = args[i].substring(2);
+			if (name.equals("no-persist")) {
+				options.put(name, "true");
+			} else if (i + 1 < args.length) {
+				options.put(name, args[++i]);
+			} else {
+				throw new IllegalArgumentException("--" + name + " requires a value");
+			}
+		}
+		new LoadTest(options).run();
+	}
+
+	private void run() throws Exception {
+		int threads = intOption("threads", 8);
+		double rate = Double.parseDouble(option("rate", "0"));
+		long seed = Long.parseLong(option("seed", "42"));
+		boolean persist = !options.containsKey("no-persist");
+		Path directory = Files.createTempDirectory("scheduler-load");
+		try {
+			system = new SchedulerSystem(new FileManager(directory));
+			User admin = system.authenticate("admin", "admin").orElseThrow();
+			workload = new WorkloadGenerator(
+				intOption("rooms", 50),
+				intOption("users", 20),
+				intOption("horizon-days", 180)
+			);
+			long seedStarted = System.nanoTime();
+			int seeded = workload.seed(
+				system,
+				admin,
+				intOption("bookings", 5_000),
+				Double.parseDouble(option("recurring", "0.3")),
+				intOption("series-weeks", 12),
+				new Random(seed)
+			);
+			System.out.printf(
+				Locale.ROOT,
+				"Seeded %d bookings in %.1f s%n",
+				seeded,
+				(System.nanoTime() - seedStarted) / 1e9
+			);
+
+			if (!persist) {
+				system.beginBatch();
+			}
+			try {
+				drive(threads, rate, seconds("warmup", 10), seed + 1);
+				long started = System.nanoTime();
+				Map<Operation, Stats> results = drive(threads, rate, seconds("duration", 30), seed + 2);
+				double elapsed = (System.nanoTime() - started) / 1e9;
+				report(results, elapsed, seeded);
+			} finally {
+				if (!persist) {
+					system.commitBatch();
+				}
+			}
+		} finally {
+			if (system != null) {
+				system.close();
+			}
+			deleteRecursively(directory);
+		}
+	}
+
+	/**
+	 * Runs the workload for {@code nanos} and merges the per-thread results.
+	 */
+	private Map<Operation, Stats> drive(int threads, double rate, long nanos, long seed) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			long start = System.nanoTime();
+			long deadline = start + nanos;
+			long interval = rate > 0 ? (long) (threads * 1e9 / rate) : 0;
+			List<Future<Map<Operation, Stats>>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				Random random = new Random(seed * 31 + t);
+				long offset = interval * t / threads;
+				futures.add(pool.submit(() -> work(random, start + offset, interval, deadline)));
+			}
+			Map<Operation, Stats> merged = new EnumMap<>(Operation.class);
+			for (Future<Map<Operation, Stats>> future : futures) {
+				future.get().forEach((operation, stats) ->
+					merged.computeIfAbsent(operation, key -> new Stats()).add(stats)
+				);
+			}
+			return merged;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private Map<Operation, Stats> work(Random random, long firstStart, long interval, long deadline) {
+		Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+		Deque<UUID> owned = new ArrayDeque<>();
+		User user = workload.randomUser(random);
+		long intended = firstStart;
+		while (true) {
+			long begin;
+			if (interval > 0) {
+				long wait = intended - System.nanoTime();
+				if (wait > 0) {
+					LockSupport.parkNanos(wait);
+				}
+				begin = intended;
+				intended += interval;
+			} else {
+				begin = System.nanoTime();
+			}
+			if (begin >= deadline || Thread.currentThread().isInterrupted()) {
+				return stats;
+			}
+			Operation operation = pick(random);
+			Outcome outcome;
+			serviceLock.lock();
+			try {
+				outcome = execute(operation, user, owned, random);
+			} finally {
+				serviceLock.unlock();
+			}
+			Stats bucket = stats.computeIfAbsent(operation, key -> new Stats());
+			bucket.latency.record(System.nanoTime() - begin);
+			bucket.count(outcome);
+		}
+	}
+
+	private Outcome execute(Operation operation, User user, Deque<UUID> owned, Random random) {
+		try {
+			switch (operation) {
+				case READ -> {
+					LocalDateTime from = workload.randomStart(random).toLocalDate().atStartOfDay();
+					BookingQuery query = new BookingQuery(from, from.plusDays(7), workload.randomRoom(random), null, false);
+					system.countBookings(user, query);
+					system.findBookings(user, query, 0, 50);
+				}
+				case CHECK -> {
+					LocalDateTime start = workload.randomStart(random);
+					system.findConflicts(
+						workload.randomRoom(random),
+						List.of(new TimeSlot(start, start.plusHours(1))),
+						null
+					);
+				}
+				case CREATE -> {
+					LocalDateTime start = workload.randomStart(random);
+					Booking booking = system.createBooking(user, workload.randomRoom(random), start, start.plusHours(1));
+					owned.addLast(booking.getId());
+				}
+				case UPDATE -> {
+					UUID id = owned.pollFirst();
+					if (id == null) {
+						return Outcome.SKIPPED;
+					}
+					owned.addLast(id);
+					LocalDateTime start = workload.randomStart(random);
+					system.updateBooking(user, id, start, start.plusHours(1));
+				}
+				case CANCEL -> {
+					UUID id = owned.pollFirst();
+					if (id == null) {
+						return Outcome.SKIPPED;
+					}
+					system.cancelBooking(user, id);
+				}
+				case CONFLICT -> {
+					String room = workload.randomRoom(random);
+					TimeSlot slot = workload.occupiedSlot(system, user, room, random);
+					if (slot == null) {
+						return Outcome.SKIPPED;
+					}
+					system.createBooking(user, room, slot.start(), slot.end());
+					return Outcome.UNEXPECTED;
+				}
+			}
+			return Outcome.OK;
+		} catch (IllegalStateException ex) {
+			// Slot conflicts and holds are expected under a random workload.
+			return operation == Operation.CONFLICT ? Outcome.OK : Outcome.REJECTED;
+		} catch (RuntimeException ex) {
+			return Outcome.UNEXPECTED;
+		}
+	}
+
+	private Operation pick(Random random) {
+		int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+		int roll = random.nextInt(total);
+		for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+			roll -= entry.getValue();
+			if (roll < 0) {
+				return entry.getKey();
+			}
+		}
+		throw new IllegalStateException("Empty operation mix");
+	}
+
+	private void report(Map<Operation, Stats> results, double elapsed, int seeded) throws IOException {
+		long operations = results.values().stream().mapToLong(stats -> stats.latency.count()).sum();
+		System.out.printf(Locale.ROOT, "%nThroughput: %.1f ops/s over %.1f s%n", operations / elapsed, elapsed);
+		System.out.printf(
+			Locale.ROOT,
+			"%-9s %9s %9s %9s %9s %10s %10s %10s %10s %10s %10s%n",
+			"op",
+			"count",
+			"rejected",
+			"skipped",
+			"failed",
+			"mean us",
+			"p50 us",
+			"p90 us",
+			"p99 us",
+			"p99.9 us",
+			"max us"
+		);
+		results.forEach((operation, stats) ->
+			System.out.printf(
+				Locale.ROOT,
+				"%-9s %9d %9d %9d %9d %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+				operation.name().toLowerCase(Locale.ROOT),
+				stats.latency.count(),
+				stats.rejected,
+				stats.skipped,
+				stats.unexpected,
+				stats.latency.mean() / 1e3,
+				stats.latency.percentile(50) / 1e3,
+				stats.latency.percentile(90) / 1e3,
+				stats.latency.percentile(99) / 1e3,
+				stats.latency.percentile(99.9) / 1e3,
+				stats.latency.max() / 1e3
+			)
+		);
+		String out = options.get("out");
+		if (out != null) {
+			Files.writeString(Path.of(out), toJson(results, elapsed, operations, seeded), StandardCharsets.UTF_8);
+			System.out.println("Results written to " + out);
+		}
+	}
+
+	/**
+	 * Serializes the run as JSON so runs can be diffed or charted across versions.
+	 */
+	private String toJson(Map<Operation, Stats> results, double elapsed, long operations, int seeded) {
+		StringBuilder json = new StringBuilder("{\n");
+		json.append("  \"label\": ").append(quote(option("label", ""))).append(",\n");
+		json.append("  \"timestamp\": ").append(quote(Instant.now().toString())).append(",\n");
+		json.append("  \"options\": {");
+		String separator = "";
+		for (Map.Entry<String, String> entry : options.entrySet()) {
+			json.append(separator).append(quote(entry.getKey())).append(": ").append(quote(entry.getValue()));
+			separator = ", ";
+		}
+		json.append("},\n");
+		json.append("  \"seededBookings\": ").append(seeded).append(",\n");
+		json.append(String.format(Locale.ROOT, "  \"elapsedSeconds\": %.3f,%n", elapsed));
+		json.append(String.format(Locale.ROOT, "  \"throughput\": %.3f,%n", operations / elapsed));
+		json.append("  \"operations\": {\n");
+		separator = "";
+		for (Map.Entry<Operation, Stats> entry : results.entrySet()) {
+			Stats stats = entry.getValue();
+			json.append(separator);
+			json.append(String.format(
+				Locale.ROOT,
+				"    \"%s\": {\"count\": %d, \"rejected\": %d, \"skipped\": %d, \"failed\": %d, " +
+				"\"meanNanos\": %.1f, \"p50Nanos\": %d, \"p90Nanos\": %d, \"p99Nanos\": %d, " +
+				"\"p999Nanos\": %d, \"maxNanos\": %d}",
+				entry.getKey().name().toLowerCase(Locale.ROOT),
+				stats.latency.count(),
+				stats.rejected,
+				stats.skipped,
+				stats.unexpected,
+				stats.latency.mean(),
+				stats.latency.percentile(50),
+				stats.latency.percentile(90),
+				stats.latency.percentile(99),
+				stats.latency.percentile(99.9),
+				stats.latency.max()
+			));
+			separator = ",\n";
+		}
+		return json.append("\n  }\n}\n").toString();
+	}
+
+	private static Map<Operation, Integer> parseMix(String spec) {
+		Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+		for (String part : spec.split(",")) {
+			String[] pair = part.trim().split("=");
+			if (pair.length != 2) {
+				throw new IllegalArgumentException("Invalid mix entry: " + part);
+			}
+			int weight = Integer.parseInt(pair[1].trim());
+			if (weight < 0) {
+				throw new IllegalArgumentException("Mix weights must not be negative");
+			}
+			weights.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), weight);
+		}
+		if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+			throw new IllegalArgumentException("Operation mix must have a positive weight");
+		}
+		return weights;
+	}
+
+	private String option(String name, String fallback) {
+		return options.getOrDefault(name, fallback);
+	}
+
+	private int intOption(String name, int fallback) {
+		return Integer.parseInt(option(name, Integer.toString(fallback)));
+	}
+
+	private long seconds(String name, int fallback) {
+		return (long) (Double.parseDouble(option(name, Integer.toString(fallback))) * 1e9);
+	}
+
+	private static String quote(String value) {
+		return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+	}
+
+	private static void deleteRecursively(Path directory) throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.sorted(Comparator.reverseOrder()).forEach(path -> {
+				try {
+					Files.deleteIfExists(path);
+				} catch (IOException ex) {
+					throw new UncheckedIOException(ex);
+				}
+			});
+		}
+	}
+
+	private enum Outcome {
+		OK,
+		REJECTED,
+		SKIPPED,
+		UNEXPECTED
+	}
+
+	private static final class Stats {
+
+		private final LatencyRecorder latency = new LatencyRecorder();
+		private long rejected;
+		private long skipped;
+		private long unexpected;
+
+		void count(Outcome outcome) {
+			switch (outcome) {
+				case REJECTED -> rejected++;
+				case SKIPPED -> skipped++;
+				case UNEXPECTED -> unexpected++;
+				case OK -> {}
+			}
+		}
+
+		void add(Stats other) {
+			latency.add(other.latency);
+			rejected += other.rejected;
+			skipped += other.skipped;
+			unexpected += other.unexpected;
+		}
+	}
+}
@@ -0,0 +1,232 @@
+package scheduler.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import scheduler.Role;
+import scheduler.model.Booking;
+import scheduler.model.Room;
+import scheduler.model.TimeSlot;
+import scheduler.persistence.FileManager;
+import scheduler.service.SchedulerSystem;
+import scheduler.user.User;
+import scheduler.util.ConflictChecker;
+
+/**
+ * Benchmarks for the scheduler core over generated datasets.
+ *
+ * <pre>
+ * --rooms 10,100          room counts to sweep
+ * --bookings 1000,10000   booking counts to sweep (spread evenly over the rooms)
+ * --series 4,26,52        recurring series lengths in weeks
+ * --filter regex          only run benchmarks whose name matches
+ * --warmup 3 --iterations 5 --time 1000   iteration counts and length in ms
+ * </pre>
+ *
+ * <p>Each dataset lives in its own temporary SQLite directory. Service-level
+ * benchmarks run inside a batch so they measure the in-memory work; storage is
+ * measured separately by the persistAll and loadBookings benchmarks. Mutating
+ * benchmarks undo their change in the same operation so the dataset size stays
+ * fixed.
+ */
+public final class SchedulerBenchmarks {
+
+	private static final String PASSWORD = "bench-password";
+	private static final LocalDateTime EPOCH = LocalDateTime.of(2030, 1, 7, 8, 0);
+	private static final Set<DayOfWeek> WEEKDAYS = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+
+	private final Bench bench;
+	private final Pattern filter;
+
+	private SchedulerBenchmarks(Bench bench, Pattern filter) {
+		this.bench = bench;
+		this.filter = filter;
+	}
+
+	public static void main(String[] args) throws Exception {
+		List<Integer> roomCounts = List.of(10, 100);
+		List<Integer> bookingCounts = List.of(1_000, 10_000);
+		List<Integer> seriesLengths = List.of(4, 26, 52);
+		Pattern filter = Pattern.compile(".*");
+		int warmup = 3;
+		int iterations = 5;
+		long time = 1_000;
+		for (int i = 0; i < args.length; i++) {
+			String value = i + 1 < args.length ? args[i + 1] : null;
+			switch (args[i]) {
+				case "--rooms" -> roomCounts = parseList(value);
+				case "--bookings" -> bookingCounts = parseList(value);
+				case "--series" -> seriesLengths = parseList(value);
+				case "--filter" -> filter = Pattern.compile(value);
+				case "--warmup" -> warmup = Integer.parseInt(value);
+				case "--iterations" -> iterations = Integer.parseInt(value);
+				case "--time" -> time = Long.parseLong(value);
+				default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+			}
+			i++;
+		}
+		SchedulerBenchmarks suite = new SchedulerBenchmarks(new Bench(warmup, iterations, time), filter);
+		System.out.println(Bench.Result.header());
+		suite.runStateless(seriesLengths);
+		for (int rooms : roomCounts) {
+			for (int bookings : bookingCounts) {
+				suite.runDataset(rooms, bookings, seriesLengths);
+			}
+		}
+	}
+
+	private void runStateless(List<Integer> seriesLengths) throws Exception {
+		Path directory = Files.createTempDirectory("scheduler-bench");
+		try (SchedulerSystem system = new SchedulerSystem(new FileManager(directory))) {
+			for (int weeks : seriesLengths) {
+				LocalDate first = EPOCH.toLocalDate();
+				LocalDate last = first.plusWeeks(weeks);
+				run("generateRecurringSlots", "weeks=" + weeks, invocation ->
+					system.generateRecurringSlots(
+						first,
+						last,
+						LocalTime.of(9, 0),
+						LocalTime.of(10, 0),
+						WEEKDAYS
+					)
+				);
+			}
+		} finally {
+			deleteRecursively(directory);
+		}
+	}
+
+	private void runDataset(int roomCount, int bookingCount, List<Integer> seriesLengths) throws Exception {
+		Path directory = Files.createTempDirectory("scheduler-bench");
+		try {
+			FileManager fileManager = new FileManager(directory);
+			try (SchedulerSystem system = new SchedulerSystem(fileManager)) {
+				User admin = system.authenticate("admin", "admin").orElseThrow();
+				system.createUser(admin, "bench", PASSWORD, Role.SCHEDULER);
+				seed(system, admin, roomCount, bookingCount);
+				String params = "rooms=" + roomCount + ",bookings=" + bookingCount;
+
+				List<Booking> all = List.copyOf(system.listBookings(admin));
+				List<Room> rooms = List.copyOf(system.listRooms());
+				int perRoom = Math.max(1, bookingCount / roomCount);
+				run("ConflictChecker.findConflicts", params, invocation -> {
+					Room room = rooms.get((int) (invocation % rooms.size()));
+					LocalDateTime start = slotStart(invocation % perRoom).plusMinutes(30);
+					return ConflictChecker.findConflicts(all, room, start, start.plusHours(1), null);
+				});
+				run("SchedulerSystem.findConflicts", params, invocation -> {
+					Room room = rooms.get((int) (invocation % rooms.size()));
+					LocalDateTime start = slotStart(invocation % perRoom).plusMinutes(30);
+					return system.findConflicts(
+						room.getName(),
+						List.of(new TimeSlot(start, start.plusHours(1))),
+						null
+					);
+				});
+
+				system.beginBatch();
+				try {
+					// Free slots sit after the seeded range, so the create never conflicts.
+					run("createBooking+cancel", params, invocation -> {
+						Room room = rooms.get((int) (invocation % rooms.size()));
+						LocalDateTime start = slotStart(perRoom + invocation / rooms.size());
+						Booking booking = system.createBooking(admin, room.getName(), start, start.plusHours(1));
+						system.cancelBooking(admin, booking.getId());
+						return booking;
+					});
+					for (int weeks : seriesLengths) {
+						LocalDate first = slotStart(perRoom + 1).toLocalDate().plusWeeks(1);
+						List<TimeSlot> series = system.generateRecurringSlots(
+							first,
+							first.plusWeeks(weeks),
+							LocalTime.of(7, 0),
+							LocalTime.of(7, 30),
+							WEEKDAYS
+						);
+						run("createBookings+cancel", params + ",weeks=" + weeks, invocation -> {
+							Room room = rooms.get((int) (invocation % rooms.size()));
+							List<Booking> created = system.createBookings(admin, room.getName(), series);
+							for (Booking booking : created) {
+								system.cancelBooking(admin, booking.getId());
+							}
+							return created;
+						});
+					}
+				} finally {
+					system.commitBatch();
+				}
+
+				List<User> users = List.copyOf(system.listUsers(admin));
+				run("FileManager.persistAll", params, invocation -> {
+					fileManager.persistAll(users, rooms, all);
+					return fileManager;
+				});
+				run("FileManager.loadBookings", params, invocation -> fileManager.loadBookings());
+				run("SchedulerSystem.authenticate", params, invocation ->
+					system.authenticate("bench", PASSWORD).orElseThrow()
+				);
+			}
+		} finally {
+			deleteRecursively(directory);
+		}
+	}
+
+	/**
+	 * Creates {@code roomCount} rooms and spreads {@code bookingCount} one-hour
+	 * bookings over them back to back, writing the result once.
+	 */
+	private static void seed(SchedulerSystem system, User admin, int roomCount, int bookingCount) {
+		system.beginBatch();
+		try {
+			List<String> names = new ArrayList<>(roomCount);
+			for (int r = 0; r < roomCount; r++) {
+				String name = "Room " + r;
+				system.createRoom(admin, name, 4 + r % 20, "");
+				names.add(name);
+			}
+			for (int i = 0; i < bookingCount; i++) {
+				LocalDateTime start = slotStart(i / roomCount);
+				system.createBooking(admin, names.get(i % roomCount), start, start.plusHours(1));
+			}
+		} finally {
+			system.commitBatch();
+		}
+	}
+
+	/** Start of the {@code index}-th two-hour slot after the dataset epoch. */
+	private static LocalDateTime slotStart(long index) {
+		return EPOCH.plusHours(2 * index);
+	}
+
+	private void run(String name, String params, Bench.Operation operation) throws Exception {
+		if (filter.matcher(name).find()) {
+			System.out.println(bench.measure(name, params, operation).format());
+		}
+	}
+
+	private static List<Integer> parseList(String value) {
+		if (value == null) {
+			throw new IllegalArgumentException("Missing value");
+		}
+		return Stream.of(value.split(",")).map(String::trim).map(Integer::valueOf).toList();
+	}
+
+	private static void deleteRecursively(Path directory) throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+				Files.deleteIfExists(path);
+			}
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package scheduler.bench;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import scheduler.Role;
+import scheduler.model.Booking;
+import scheduler.model.TimeSlot;
+import scheduler.service.SchedulerSystem;
+import scheduler.user.User;
+
+/**
+ * Seeds a scheduler with rooms, users and a mix of one-off and weekly recurring
+ * bookings, and picks random inputs for the load test from the same calendar.
+ *
+ * <p>Bookings start on the hour between 08:00 and 17:00 on weekdays within
+ * {@code horizonDays} of {@link #FIRST_DAY}; conflicting picks are skipped, so
+ * the seeded count is a target rather than exact once the calendar is dense.
+ */
+final class WorkloadGenerator {
+
+	static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 7);
+	static final String PASSWORD = "load-password";
+	private static final Set<DayOfWeek> WEEKDAYS = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+	private static final int FIRST_HOUR = 8;
+	private static final int HOURS_PER_DAY = 10;
+
+	private final int roomCount;
+	private final int userCount;
+	private final int horizonDays;
+	private final List<String> rooms = new ArrayList<>();
+	private final List<User> users = new ArrayList<>();
+
+	WorkloadGenerator(int roomCount, int userCount, int horizonDays) {
+		if (roomCount < 1 || userCount < 1 || horizonDays < 7) {
+			throw new IllegalArgumentException("Need at least one room, one user and a one-week horizon");
+		}
+		this.roomCount = roomCount;
+		this.userCount = userCount;
+		this.horizonDays = horizonDays;
+	}
+
+	/**
+	 * Creates the rooms and users, then about {@code bookingCount} bookings of
+	 * which {@code recurringShare} (0-1) are booked as weekly series of
+	 * {@code seriesWeeks} occurrences. Everything is written once at the end.
+	 *
+	 * @return the number of bookings actually created
+	 */
+	int seed(
+		SchedulerSystem system,
+		User admin,
+		int bookingCount,
+		double recurringShare,
+		int seriesWeeks,
+		Random random
+	) {
+		system.beginBatch();
+		try {
+			for (int r = 0; r < roomCount; r++) {
+				String name = "Room " + r;
+				system.createRoom(admin, name, 2 + random.nextInt(30), "");
+				rooms.add(name);
+			}
+			for (int u = 0; u < userCount; u++) {
+				users.add(system.createUser(admin, "load" + u, PASSWORD, Role.USER));
+			}
+			int created = 0;
+			int attempts = 0;
+			while (created < bookingCount && attempts++ < bookingCount * 4) {
+				User user = randomUser(random);
+				String room = randomRoom(random);
+				try {
+					if (random.nextDouble() < recurringShare) {
+						LocalDateTime start = randomStart(random);
+						List<TimeSlot> series = system.generateRecurringSlots(
+							start.toLocalDate(),
+							start.toLocalDate().plusWeeks(seriesWeeks - 1L),
+							start.toLocalTime(),
+							start.toLocalTime().plusHours(1),
+							EnumSet.of(start.getDayOfWeek())
+						);
+						created += system.createBookings(user, room, series).size();
+					} else {
+						LocalDateTime start = randomStart(random);
+						system.createBooking(user, room, start, start.plusHours(1));
+						created++;
+					}
+				} catch (IllegalStateException ex) {
+					// Slot already taken; try another one.
+				}
+			}
+			return created;
+		} finally {
+			system.commitBatch();
+		}
+	}
+
+	String randomRoom(Random random) {
+		return rooms.get(random.nextInt(rooms.size()));
+	}
+
+	User randomUser(Random random) {
+		return users.get(random.nextInt(users.size()));
+	}
+
+	/** Returns an on-the-hour weekday start inside the horizon. */
+	LocalDateTime randomStart(Random random) {
+		LocalDate day;
+		do {
+			day = FIRST_DAY.plusDays(random.nextInt(horizonDays));
+		} while (!WEEKDAYS.contains(day.getDayOfWeek()));
+		return LocalDateTime.of(day, LocalTime.of(FIRST_HOUR + random.nextInt(HOURS_PER_DAY), 0));
+	}
+
+	/** Returns a slot that overlaps an existing booking in {@code room}, if any. */
+	TimeSlot occupiedSlot(SchedulerSystem system, User user, String room, Random random) {
+		LocalDateTime from = randomStart(random).toLocalDate().atStartOfDay();
+		List<Booking> week = system.findOverlapping(user, List.of(room), from, from.plusDays(7));
+		if (week.isEmpty()) {
+			return null;
+		}
+		Booking booking = week.get(random.nextInt(week.size()));
+		return new TimeSlot(booking.getStart().plusMinutes(15), booking.getEnd().plusMinutes(15));
+	}
+}
@@ -0,0 +1,748 @@
+package scheduler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import scheduler.audit.AuditRecord;
+import scheduler.model.ArchivedBooking;
+import scheduler.model.Booking;
+import scheduler.model.BookingQuota;
+import scheduler.model.Room;
+import scheduler.model.TimeSlot;
+import scheduler.model.WaitlistEntry;
+import scheduler.report.ReportWriter;
+import scheduler.report.UtilizationReport;
+import scheduler.report.UtilizationReport.Granularity;
+import scheduler.service.AssignmentPlan;
+import scheduler.service.BookingSelection;
+import scheduler.service.RoomQuery;
+import scheduler.service.RoomRequest;
+import scheduler.service.SchedulerSystem;
+import scheduler.user.User;
+
+/**
+ * Runs a command script against {@link SchedulerSystem} without prompts.
+ *
+ * <p>Each non-blank line that is not a {@code #} comment is one command;
+ * arguments are separated by whitespace and may be double-quoted. Every command
+ * yields one JSON object on its own output line, followed by a summary line.
+ * Changes are written every {@code commitEvery} successful commands (0 writes
+ * once at the end) and on an explicit {@code commit} command.
+ *
+ * <pre>
+ * login admin admin
+ * room create "Room A" 12 "Second floor"
+ * booking create "Room A" "2025-03-03 09:00" "2025-03-03 10:00"
+ * booking cancel 5b1f...
+ * booking shift-where +1d rooms=@north from="2025-03-03 00:00" to="2025-03-04 00:00"
+ * report 2025-01-01 2025-12-31 utilization.csv week
+ * </pre>
+ */
+final class BatchRunner {
+
+	private static final DateTimeFormatter DATE_TIME_FORMAT =
+		DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+	private static final Set<String> READ_ONLY_COMMANDS = Set.of(
+		"commit",
+		"login",
+		"report",
+		"room search",
+		"archive export",
+		"assign plan",
+		"audit"
+	);
+
+	private final SchedulerSystem schedulerSystem;
+	private final PrintStream out;
+	private final int commitEvery;
+	private final boolean stopOnError;
+	private User user;
+	private int succeeded;
+	private int failed;
+	private int commits;
+	private int uncommitted;
+
+	BatchRunner(
+		SchedulerSystem schedulerSystem,
+		PrintStream out,
+		User user,
+		int commitEvery,
+		boolean stopOnError
+	) {
+		if (commitEvery < 0) {
+			throw new IllegalArgumentException("Commit interval must not be negative");
+		}
+		this.schedulerSystem = schedulerSystem;
+		this.out = out;
+		this.user = user;
+		this.commitEvery = commitEvery;
+		this.stopOnError = stopOnError;
+	}
+
+	/**
+	 * Executes every command in {@code script}.
+	 *
+	 * @return true if all commands succeeded
+	 */
+	boolean run(BufferedReader script) throws IOException {
+		schedulerSystem.beginBatch();
+		try {
+			String line;
+			int lineNumber = 0;
+			while ((line = script.readLine()) != null) {
+				lineNumber++;
+				String trimmed = line.trim();
+				if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+					continue;
+				}
+				if (!execute(lineNumber, trimmed) && stopOnError) {
+					break;
+				}
+			}
+		} finally {
+			commit();
+			schedulerSystem.commitBatch();
+		}
+		out.println(
+			"{\"summary\":{\"succeeded\":" +
+			succeeded +
+			",\"failed\":" +
+			failed +
+			",\"commits\":" +
+			commits +
+			"}}"
+		);
+		return failed == 0;
+	}
+
+	private boolean execute(int lineNumber, String line) {
+		List<String> args;
+		try {
+			args = tokenize(line);
+		} catch (IllegalArgumentException ex) {
+			report(lineNumber, "", null, ex);
+			return false;
+		}
+		String verb = args.get(0).toLowerCase(Locale.ROOT);
+		String command = switch (verb) {
+			case "room", "user", "booking", "quota", "archive", "waitlist", "assign" -> args.size() > 1
+				? verb + " " + args.get(1).toLowerCase(Locale.ROOT)
+				: verb;
+			default -> verb;
+		};
+		try {
+			Map<String, Object> result = dispatch(command, args);
+			succeeded++;
+			if (!READ_ONLY_COMMANDS.contains(command)) {
+				uncommitted++;
+				if (commitEvery > 0 && uncommitted >= commitEvery) {
+					commit();
+				}
+			}
+			report(lineNumber, command, result, null);
+			return true;
+		} catch (SecurityException | IllegalArgumentException | IllegalStateException ex) {
+			report(lineNumber, command, null, ex);
+			return false;
+		}
+	}
+
+	private Map<String, Object> dispatch(String command, List<String> args) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		switch (command) {
+			case "login" -> {
+				expectArgs(args, 3, "login <username> <password>");
+				user = schedulerSystem
+					.authenticate(args.get(1), args.get(2))
+					.orElseThrow(() -> new SecurityException("Invalid credentials"));
+				result.put("user", user.getUsername());
+			}
+			case "commit" -> {
+				expectArgs(args, 1, "commit");
+				commit();
+			}
+			case "room create", "room update" -> {
+				expectArgs(args, 4, 7, "room create|update <name> <capacity> [description] [location] [tags]");
+				String description = args.size() > 4 ? args.get(4) : "";
+				Room room;
+				if (args.size() > 5) {
+					String location = args.get(5);
+					List<String> tags = args.size() > 6 ? List.of(args.get(6).split(",")) : List.of();
+					room = command.equals("room create")
+						? schedulerSystem.createRoom(requireUser(), args.get(2), parseInteger(args.get(3)), description, location, tags)
+						: schedulerSystem.updateRoom(requireUser(), args.get(2), parseInteger(args.get(3)), description, location, tags);
+				} else {
+					room = command.equals("room create")
+						? schedulerSystem.createRoom(requireUser(), args.get(2), parseInteger(args.get(3)), description)
+						: schedulerSystem.updateRoom(requireUser(), args.get(2), parseInteger(args.get(3)), description);
+				}
+				result.put("room", room.getName());
+			}
+			case "room delete" -> {
+				expectArgs(args, 3, "room delete <name>");
+				schedulerSystem.deleteRoom(requireUser(), args.get(2));
+				result.put("room", args.get(2));
+			}
+			case "user create" -> {
+				expectArgs(args, 5, "user create <username> <password> <role>");
+				User created = schedulerSystem.createUser(
+					requireUser(),
+					args.get(2),
+					args.get(3),
+					parseRole(args.get(4))
+				);
+				result.put("user", created.getUsername());
+			}
+			case "user delete" -> {
+				expectArgs(args, 3, "user delete <username>");
+				schedulerSystem.deleteUser(requireUser(), args.get(2));
+				result.put("user", args.get(2));
+			}
+			case "booking create" -> {
+				expectArgs(args, 5, "booking create <room> <start> <end>");
+				Booking booking = schedulerSystem.createBooking(
+					requireUser(),
+					args.get(2),
+					parseDateTime(args.get(3)),
+					parseDateTime(args.get(4))
+				);
+				putBooking(result, booking);
+			}
+			case "booking create-multi" -> {
+				expectArgs(args, 5, "booking create-multi <room,room,...> <start> <end>");
+				List<Booking> created = schedulerSystem.createMultiRoomBookings(
+					requireUser(),
+					parseRoomList(args.get(2)),
+					List.of(new TimeSlot(parseDateTime(args.get(3)), parseDateTime(args.get(4))))
+				);
+				result.put("count", created.size());
+				result.put("ids", String.join(",", created.stream().map(booking -> booking.getId().toString()).toList()));
+			}
+			case "booking update" -> {
+				expectArgs(args, 5, "booking update <id> <start> <end>");
+				Booking booking = schedulerSystem.updateBooking(
+					requireUser(),
+					parseUuid(args.get(2)),
+					parseDateTime(args.get(3)),
+					parseDateTime(args.get(4))
+				);
+				putBooking(result, booking);
+			}
+			case "booking cancel" -> {
+				expectArgs(args, 3, "booking cancel <id>");
+				UUID id = parseUuid(args.get(2));
+				schedulerSystem.cancelBooking(requireUser(), id);
+				result.put("id", id.toString());
+			}
+			case "booking cancel-where" -> {
+				expectArgs(args, 3, Integer.MAX_VALUE, "booking cancel-where <filter>...");
+				List<Booking> cancelled = schedulerSystem.cancelBookings(
+					requireUser(),
+					parseSelection(args, 2)
+				);
+				result.put("count", cancelled.size());
+			}
+			case "booking shift-where" -> {
+				expectArgs(args, 4, Integer.MAX_VALUE, "booking shift-where <offset> <filter>...");
+				List<Booking> moved = schedulerSystem.shiftBookings(
+					requireUser(),
+					parseSelection(args, 3),
+					Main.parseOffset(args.get(2))
+				);
+				result.put("count", moved.size());
+			}
+			case "waitlist join" -> {
+				expectArgs(args, 5, "waitlist join <room> <start> <end>");
+				WaitlistEntry entry = schedulerSystem.joinWaitlist(
+					requireUser(),
+					args.get(2),
+					parseDateTime(args.get(3)),
+					parseDateTime(args.get(4))
+				);
+				result.put("id", entry.id().toString());
+				result.put("room", entry.roomName());
+				result.put("start", entry.start().format(DATE_TIME_FORMAT));
+				result.put("end", entry.end().format(DATE_TIME_FORMAT));
+			}
+			case "waitlist leave" -> {
+				expectArgs(args, 3, "waitlist leave <id>");
+				UUID id = parseUuid(args.get(2));
+				schedulerSystem.leaveWaitlist(requireUser(), id);
+				result.put("id", id.toString());
+			}
+			case "quota role" -> {
+				expectArgs(args, 5, "quota role <role> <max-active> <max-hours-per-week>");
+				Role role = parseRole(args.get(2));
+				schedulerSystem.setRoleQuota(
+					requireUser(),
+					role,
+					new BookingQuota(parseInteger(args.get(3)), parseInteger(args.get(4)))
+				);
+				result.put("role", role.name());
+			}
+			case "quota user" -> {
+				expectArgs(args, 4, 5, "quota user <username> <max-active> <max-hours-per-week> | quota user <username> clear");
+				BookingQuota quota;
+				if (args.size() == 4) {
+					if (!args.get(3).equalsIgnoreCase("clear")) {
+						throw new IllegalArgumentException("Usage: quota user <username> clear");
+					}
+					quota = null;
+				} else {
+					quota = new BookingQuota(parseInteger(args.get(3)), parseInteger(args.get(4)));
+				}
+				schedulerSystem.setUserQuota(requireUser(), args.get(2), quota);
+				result.put("user", args.get(2));
+			}
+			case "room search" -> {
+				expectArgs(args, 3, "room search <query>");
+				List<Room> found = schedulerSystem.searchRooms(RoomQuery.parse(args.get(2)), Integer.MAX_VALUE);
+				result.put("count", found.size());
+				result.put("rooms", String.join(",", found.stream().map(Room::getName).toList()));
+			}
+			case "archive run" -> {
+				expectArgs(args, 3, "archive run <before-date>");
+				int archived = schedulerSystem.archiveBookings(requireUser(), parseDate(args.get(2)).atStartOfDay());
+				result.put("archived", archived);
+			}
+			case "archive export" -> {
+				expectArgs(args, 5, "archive export <from-date> <to-date> <file.csv>");
+				List<ArchivedBooking> archived = schedulerSystem.findArchivedBookings(
+					requireUser(),
+					parseDate(args.get(2)).atStartOfDay(),
+					parseDate(args.get(3)).plusDays(1).atStartOfDay()
+				);
+				try (Writer writer = Files.newBufferedWriter(Path.of(args.get(4)), StandardCharsets.UTF_8)) {
+					writer.write("id,room,start,end,booked_by\n");
+					for (ArchivedBooking booking : archived) {
+						writer.write(
+							booking.id() + "," +
+							ReportWriter.csv(booking.roomName()) + "," +
+							booking.start().format(DATE_TIME_FORMAT) + "," +
+							booking.end().format(DATE_TIME_FORMAT) + "," +
+							ReportWriter.csv(booking.bookedBy()) + "\n"
+						);
+					}
+				} catch (IOException ex) {
+					throw new IllegalStateException("Unable to write " + args.get(4) + ": " + ex.getMessage(), ex);
+				}
+				result.put("file", args.get(4));
+				result.put("count", archived.size());
+			}
+			case "assign plan" -> {
+				expectArgs(args, 4, "assign plan <requests.txt> <plan.csv>");
+				AssignmentPlan plan = schedulerSystem.planAssignments(
+					requireUser(),
+					readRequests(schedulerSystem, Path.of(args.get(2)))
+				);
+				writePlan(plan, Path.of(args.get(3)));
+				putPlan(result, plan);
+				result.put("file", args.get(3));
+			}
+			case "assign commit" -> {
+				expectArgs(args, 3, 4, "assign commit <requests.txt> [plan.csv]");
+				User actingUser = requireUser();
+				AssignmentPlan plan = schedulerSystem.planAssignments(
+					actingUser,
+					readRequests(schedulerSystem, Path.of(args.get(2)))
+				);
+				if (args.size() > 3) {
+					writePlan(plan, Path.of(args.get(3)));
+					result.put("file", args.get(3));
+				}
+				List<Booking> created = schedulerSystem.commitAssignments(actingUser, plan);
+				putPlan(result, plan);
+				result.put("bookings", created.size());
+			}
+			case "audit" -> {
+				expectArgs(args, 4, 5, "audit <from-date> <to-date> <file.csv> [subject]");
+				List<AuditRecord> records = schedulerSystem.auditTrail(
+					requireUser(),
+					parseDate(args.get(1)).atStartOfDay(ZoneId.systemDefault()).toInstant(),
+					parseDate(args.get(2)).plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant(),
+					args.size() > 4 ? args.get(4) : null
+				);
+				try (Writer writer = Files.newBufferedWriter(Path.of(args.get(3)), StandardCharsets.UTF_8)) {
+					writer.write("timestamp,actor,operation,subject,before,after\n");
+					for (AuditRecord record : records) {
+						writer.write(
+							record.timestamp() + "," +
+							ReportWriter.csv(record.actor()) + "," +
+							record.operation() + "," +
+							ReportWriter.csv(record.subject()) + "," +
+							ReportWriter.csv(record.before() == null ? "" : record.before()) + "," +
+							ReportWriter.csv(record.after() == null ? "" : record.after()) + "\n"
+						);
+					}
+				} catch (IOException ex) {
+					throw new IllegalStateException("Unable to write " + args.get(3) + ": " + ex.getMessage(), ex);
+				}
+				result.put("file", args.get(3));
+				result.put("count", records.size());
+			}
+			case "report" -> {
+				expectArgs(args, 4, 5, "report <from-date> <to-date> <file.csv|file.json> [total|hour|day|week]");
+				UtilizationReport report = schedulerSystem.utilizationReport(
+					requireUser(),
+					parseDate(args.get(1)),
+					parseDate(args.get(2)),
+					LocalTime.MIDNIGHT,
+					LocalTime.MIDNIGHT
+				);
+				Granularity granularity = args.size() > 4
+					? Main.parseGranularity(args.get(4))
+					: Granularity.TOTAL;
+				try (Writer writer = Files.newBufferedWriter(Path.of(args.get(3)), StandardCharsets.UTF_8)) {
+					ReportWriter.write(report, granularity, ReportWriter.forFileName(args.get(3)), writer);
+				} catch (IOException ex) {
+					throw new IllegalStateException("Unable to write " + args.get(3) + ": " + ex.getMessage(), ex);
+				}
+				result.put("file", args.get(3));
+				result.put("rooms", report.getRooms().size());
+				result.put("idleRooms", report.getIdleRooms().size());
+			}
+			default -> throw new IllegalArgumentException("Unknown command: " + command);
+		}
+		return result;
+	}
+
+	private void commit() {
+		if (uncommitted == 0) {
+			return;
+		}
+		schedulerSystem.commitBatch();
+		schedulerSystem.beginBatch();
+		uncommitted = 0;
+		commits++;
+	}
+
+	private User requireUser() {
+		if (user == null) {
+			throw new SecurityException("Not logged in; use 'login <username> <password>' first");
+		}
+		return user;
+	}
+
+	private void report(int lineNumber, String command, Map<String, Object> result, RuntimeException error) {
+		StringBuilder json = new StringBuilder("{\"line\":").append(lineNumber);
+		json.append(",\"command\":").append(quote(command));
+		json.append(",\"status\":").append(error == null ? "\"ok\"" : "\"error\"");
+		if (error != null) {
+			failed++;
+			json.append(",\"error\":").append(quote(String.valueOf(error.getMessage())));
+		} else {
+			result.forEach((key, value) -> json.append(',').append(quote(key)).append(':').append(quote(value.toString())));
+		}
+		out.println(json.append('}'));
+	}
+
+	private static void putBooking(Map<String, Object> result, Booking booking) {
+		result.put("id", booking.getId());
+		result.put("room", booking.getRoom().getName());
+		result.put("start", booking.getStart().format(DATE_TIME_FORMAT));
+		result.put("end", booking.getEnd().format(DATE_TIME_FORMAT));
+		result.put("bookedBy", booking.getBookedBy());
+	}
+
+	private static void expectArgs(List<String> args, int count, String usage) {
+		expectArgs(args, count, count, usage);
+	}
+
+	private static void expectArgs(List<String> args, int min, int max, String usage) {
+		if (args.size() < min || args.size() > max) {
+			throw new IllegalArgumentException("Usage: " + usage);
+		}
+	}
+
+	/**
+	 * Splits a line on whitespace, keeping double-quoted runs together; a
+	 * backslash escapes the next character inside quotes.
+	 */
+	static List<String> tokenize(String line) {
+		List<String> tokens = new ArrayList<>();
+		StringBuilder current = new StringBuilder();
+		boolean inQuotes = false;
+		boolean inToken = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (inQuotes) {
+				if (c == '\\' && i + 1 < line.length()) {
+					current.append(line.charAt(++i));
+				} else if (c == '"') {
+					inQuotes = false;
+				} else {
+					current.append(c);
+				}
+			} else if (c == '"') {
+				inQuotes = true;
+				inToken = true;
+			} else if (Character.isWhitespace(c)) {
+				if (inToken) {
+					tokens.add(current.toString());
+					current.setLength(0);
+					inToken = false;
+				}
+			} else {
+				current.append(c);
+				inToken = true;
+			}
+		}
+		if (inQuotes) {
+			throw new IllegalArgumentException("Unterminated quote");
+		}
+		if (inToken) {
+			tokens.add(current.toString());
+		}
+		return tokens;
+	}
+
+	private static String quote(String value) {
+		StringBuilder json = new StringBuilder("\"");
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"' -> json.append("\\\"");
+				case '\\' -> json.append("\\\\");
+				case '\n' -> json.append("\\n");
+				case '\r' -> json.append("\\r");
+				case '\t' -> json.append("\\t");
+				default -> {
+					if (c < 0x20) {
+						json.append(String.format("\\u%04x", (int) c));
+					} else {
+						json.append(c);
+					}
+				}
+			}
+		}
+		return json.append('"').toString();
+	}
+
+	private static void putPlan(Map<String, Object> result, AssignmentPlan plan) {
+		result.put("requests", plan.requestCount());
+		result.put("assigned", plan.assignments().size());
+		result.put("unassigned", plan.unassigned().size());
+	}
+
+	/**
+	 * Reads room requests, one per line in the form
+	 * {@code <label> <owner> <room search> <days> <start-time> <end-time> <from-date> [to-date]},
+	 * quoted like script commands. Days are comma-separated such as
+	 * {@code TUE,THU}, or {@code *} for every day; blank lines and lines starting
+	 * with {@code #} are skipped.
+	 */
+	static List<RoomRequest> readRequests(SchedulerSystem schedulerSystem, Path file) {
+		List<String> lines;
+		try {
+			lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+		} catch (IOException ex) {
+			throw new IllegalArgumentException("Unable to read " + file + ": " + ex.getMessage(), ex);
+		}
+		List<RoomRequest> requests = new ArrayList<>();
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i).trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+			try {
+				List<String> fields = tokenize(line);
+				if (fields.size() < 7 || fields.size() > 8) {
+					throw new IllegalArgumentException(
+						"Expected <label> <owner> <room search> <days> <start-time> <end-time> <from-date> [to-date]"
+					);
+				}
+				LocalDate from = parseDate(fields.get(6));
+				LocalDate to = fields.size() > 7 ? parseDate(fields.get(7)) : from;
+				requests.add(
+					new RoomRequest(
+						fields.get(0),
+						fields.get(1),
+						RoomQuery.parse(fields.get(2)),
+						schedulerSystem.generateRecurringSlots(
+							from,
+							to,
+							parseTime(fields.get(4)),
+							parseTime(fields.get(5)),
+							parseDays(fields.get(3))
+						)
+					)
+				);
+			} catch (IllegalArgumentException ex) {
+				throw new IllegalArgumentException(file + " line " + (i + 1) + ": " + ex.getMessage(), ex);
+			}
+		}
+		return requests;
+	}
+
+	/**
+	 * Writes one CSV row per slot of every request in {@code plan}, with an empty
+	 * room for requests that could not be placed.
+	 */
+	static void writePlan(AssignmentPlan plan, Path file) {
+		try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			writer.write("request,owner,room,start,end\n");
+			for (AssignmentPlan.Assignment assignment : plan.assignments()) {
+				writePlanRows(writer, assignment.request(), assignment.roomName());
+			}
+			for (RoomRequest request : plan.unassigned()) {
+				writePlanRows(writer, request, "");
+			}
+		} catch (IOException ex) {
+			throw new IllegalStateException("Unable to write " + file + ": " + ex.getMessage(), ex);
+		}
+	}
+
+	private static void writePlanRows(Writer writer, RoomRequest request, String room) throws IOException {
+		for (TimeSlot slot : request.slots()) {
+			writer.write(
+				ReportWriter.csv(request.label()) + "," +
+				ReportWriter.csv(request.requestedBy()) + "," +
+				ReportWriter.csv(room) + "," +
+				slot.start().format(DATE_TIME_FORMAT) + "," +
+				slot.end().format(DATE_TIME_FORMAT) + "\n"
+			);
+		}
+	}
+
+	static List<String> parseRoomList(String text) {
+		List<String> rooms = new ArrayList<>();
+		for (String name : text.split(",")) {
+			if (!name.isBlank()) {
+				rooms.add(name.trim());
+			}
+		}
+		if (rooms.isEmpty()) {
+			throw new IllegalArgumentException("At least one room name is required");
+		}
+		return rooms;
+	}
+
+	private static Set<DayOfWeek> parseDays(String text) {
+		if (text.equals("*")) {
+			return EnumSet.allOf(DayOfWeek.class);
+		}
+		Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+		for (String day : text.split(",")) {
+			String name = day.trim().toUpperCase(Locale.ROOT);
+			DayOfWeek match = null;
+			for (DayOfWeek candidate : DayOfWeek.values()) {
+				if (name.length() >= 3 && candidate.name().startsWith(name)) {
+					match = candidate;
+				}
+			}
+			if (match == null) {
+				throw new IllegalArgumentException("Unknown day '" + day + "'. Use MON..SUN, comma-separated, or *");
+			}
+			days.add(match);
+		}
+		return days;
+	}
+
+	private static LocalTime parseTime(String text) {
+		try {
+			return LocalTime.parse(text);
+		} catch (DateTimeParseException ex) {
+			throw new IllegalArgumentException("Invalid time '" + text + "'. Expected format HH:mm");
+		}
+	}
+
+	/**
+	 * Reads {@code key=value} filters from {@code args}, starting at {@code from}:
+	 * {@code id=} (repeatable), {@code room=} (repeatable), {@code rooms=} (a room
+	 * search), {@code owner=}, and start-time bounds {@code from=} and {@code to=}.
+	 */
+	private BookingSelection parseSelection(List<String> args, int from) {
+		Set<UUID> ids = new LinkedHashSet<>();
+		Set<String> rooms = new LinkedHashSet<>();
+		String owner = null;
+		LocalDateTime start = null;
+		LocalDateTime end = null;
+		for (String arg : args.subList(from, args.size())) {
+			int equals = arg.indexOf('=');
+			if (equals <= 0) {
+				throw new IllegalArgumentException("Expected key=value filter but got '" + arg + "'");
+			}
+			String value = arg.substring(equals + 1);
+			switch (arg.substring(0, equals).toLowerCase(Locale.ROOT)) {
+				case "id" -> ids.add(parseUuid(value));
+				case "room" -> rooms.add(value);
+				case "rooms" -> {
+					List<Room> found = schedulerSystem.searchRooms(RoomQuery.parse(value), Integer.MAX_VALUE);
+					if (found.isEmpty()) {
+						throw new IllegalArgumentException("No rooms match '" + value + "'");
+					}
+					found.forEach(room -> rooms.add(room.getName()));
+				}
+				case "owner" -> owner = value;
+				case "from" -> start = parseDateTime(value);
+				case "to" -> end = parseDateTime(value);
+				default -> throw new IllegalArgumentException(
+					"Unknown filter '" + arg + "'. Use id=, room=, rooms=, owner=, from= or to="
+				);
+			}
+		}
+		return new BookingSelection(ids, rooms, owner, start, end);
+	}
+
+	private static LocalDate parseDate(String text) {
+		try {
+			return LocalDate.parse(text);
+		} catch (DateTimeParseException ex) {
+			throw new IllegalArgumentException("Invalid date '" + text + "'. Expected format yyyy-MM-dd");
+		}
+	}
+
+	private static LocalDateTime parseDateTime(String text) {
+		try {
+			return text.indexOf('T') >= 0
+				? LocalDateTime.parse(text)
+				: LocalDateTime.parse(text, DATE_TIME_FORMAT);
+		} catch (DateTimeParseException ex) {
+			throw new IllegalArgumentException("Invalid date/time '" + text + "'. Expected format yyyy-MM-dd HH:mm");
+		}
+	}
+
+	private static UUID parseUuid(String input) {
+		try {
+			return UUID.fromString(input);
+		} catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Invalid UUID format");
+		}
+	}
+
+	private static int parseInteger(String input) {
+		try {
+			return Integer.parseInt(input);
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid integer value");
+		}
+	}
+
+	private static Role parseRole(String input) {
+		try {
+			return Role.valueOf(input.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Unknown role: " + input);
+		}
+	}
+}
@@ -1,20 +1,46 @@
 package scheduler;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Scanner;
 import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import scheduler.audit.AuditRecord;
 import scheduler.model.Booking;
+import scheduler.model.BookingQuota;
 import scheduler.model.Room;
+import scheduler.model.RoomOccupancy;
 import scheduler.model.TimeSlot;
+import scheduler.model.WaitlistEntry;
 import scheduler.persistence.FileManager;
+import scheduler.report.ReportWriter;
+import scheduler.report.UtilizationReport;
+import scheduler.report.UtilizationReport.Granularity;
+import scheduler.service.AssignmentPlan;
+import scheduler.service.Availability;
+import scheduler.service.BookingQuery;
+import scheduler.service.BookingSelection;
+import scheduler.service.RoomQuery;
+import scheduler.service.RoomRequest;
 import scheduler.service.SchedulerSystem;
 import scheduler.user.User;
 
@@ -28,6 +54,9 @@ public final class Main {
 	private static final DateTimeFormatter TIME_FORMAT =
 		DateTimeFormatter.ofPattern("HH:mm");
 	private static final int DEFAULT_RECURRING_WEEKS = 26;
+	private static final int DEFAULT_COMMIT_EVERY = 100;
+	private static final int DEFAULT_PAGE_SIZE = 20;
+	private static final Pattern OFFSET = Pattern.compile("([+-]?\\d+)([dhmDHM])");
 
 	private final SchedulerSystem schedulerSystem;
 	private final Scanner scanner;
@@ -39,11 +68,104 @@ public final class Main {
 	}
 
 	public static void main(String[] args) {
+		if (args.length > 0) {
+			System.exit(runBatch(args));
+		}
 		new Main().run();
 	}
 
+	/**
+	 * Runs a command script without prompts; see {@link BatchRunner} for the
+	 * script format.
+	 *
+	 * <pre>
+	 * --batch &lt;file|-&gt;    script to run, '-' for stdin
+	 * --user &lt;name&gt;       acting user; password from --password or SCHEDULER_PASSWORD
+	 * --commit-every &lt;n&gt;  write after every n successful commands (default 100, 0 = at end)
+	 * --stop-on-error      stop at the first failing command
+	 * </pre>
+	 *
+	 * @return the process exit code: 0 if every command succeeded, 1 if any
+	 *         failed, 2 for invalid arguments
+	 */
+	private static int runBatch(String[] args) {
+		String script = null;
+		String username = null;
+		String password = System.getenv("SCHEDULER_PASSWORD");
+		int commitEvery = DEFAULT_COMMIT_EVERY;
+		boolean stopOnError = false;
+		try {
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+					case "--batch" -> script = requireValue(args, ++i);
+					case "--user" -> username = requireValue(args, ++i);
+					case "--password" -> password = requireValue(args, ++i);
+					case "--commit-every" -> commitEvery = Integer.parseInt(requireValue(args, ++i));
+					case "--stop-on-error" -> stopOnError = true;
+					default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+				}
+			}
+			if (script == null) {
+				throw new IllegalArgumentException("--batch <file|-> is required");
+			}
+			if (commitEvery < 0) {
+				throw new IllegalArgumentException("--commit-every must not be negative");
+			}
+		} catch (IllegalArgumentException ex) {
+			System.err.println("Error: " + ex.getMessage());
+			System.err.println(
+				"Usage: scheduler.Main --batch <file|-> [--user <name> [--password <pw>]] " +
+				"[--commit-every <n>] [--stop-on-error]"
+			);
+			return 2;
+		}
+
+		SchedulerSystem schedulerSystem = new SchedulerSystem(new FileManager());
+		User user = null;
+		if (username != null) {
+			user = schedulerSystem
+				.authenticate(username, password == null ? "" : password)
+				.orElse(null);
+			if (user == null) {
+				System.err.println("Error: invalid credentials for " + username);
+				return 2;
+			}
+		}
+		BatchRunner runner = new BatchRunner(
+			schedulerSystem,
+			System.out,
+			user,
+			commitEvery,
+			stopOnError
+		);
+		try (
+			BufferedReader reader = script.equals("-")
+				? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+				: Files.newBufferedReader(Path.of(script), StandardCharsets.UTF_8)
+		) {
+			return runner.run(reader) ? 0 : 1;
+		} catch (IOException ex) {
+			System.err.println("Error: unable to read " + script + ": " + ex.getMessage());
+			return 2;
+		}
+	}
+
+	private static String requireValue(String[] args, int index) {
+		if (index >= args.length) {
+			throw new IllegalArgumentException(args[index - 1] + " requires a value");
+		}
+		return args[index];
+	}
+
 	private void run() {
 		System.out.println("Welcome to the Scheduler System");
+		int archived = schedulerSystem.applyRetention();
+		if (archived > 0) {
+			System.out.println(
+				"Archived " + archived + " booking(s) that ended more than " +
+				schedulerSystem.retentionPolicy().days() + " days ago."
+			);
+		}
 		while (running) {
 			User user = promptLogin();
 			if (user == null) {
@@ -89,6 +211,7 @@ public final class Main {
 					case "5" -> cancelBooking(user);
 					case "6" -> manageRooms(user);
 					case "7" -> manageUsers(user);
+					case "8" -> utilizationReport(user);
 					case "0" -> loggedIn = false;
 					case "9" -> {
 						running = false;
@@ -130,17 +253,28 @@ public final class Main {
 		} else {
 			System.out.println("7. Manage users (not permitted)");
 		}
+		if (user.getRole().canManageRooms()) {
+			System.out.println("8. Utilization report");
+		} else {
+			System.out.println("8. Utilization report (not permitted)");
+		}
 		System.out.println("0. Logout");
 		System.out.println("9. Exit application");
 	}
 
 	private void viewRooms() {
-		List<Room> rooms = schedulerSystem.listRooms();
+		System.out.print("Search (Enter for all, e.g. 40+ #projector @north): ");
+		String search = scanner.nextLine().trim();
+		List<Room> rooms = search.isEmpty()
+			? schedulerSystem.listRooms()
+			: schedulerSystem.searchRooms(RoomQuery.parse(search), Integer.MAX_VALUE);
 		if (rooms.isEmpty()) {
-			System.out.println("No rooms configured.");
+			System.out.println(search.isEmpty() ? "No rooms configured." : "No matching rooms.");
 			return;
 		}
-		rooms.forEach(room ->
+		LocalDate today = LocalDate.now();
+		rooms.forEach(room -> {
+			RoomOccupancy occupancy = schedulerSystem.occupancy(room.getName(), today);
 			System.out.println(
 				"- " +
 				room.getName() +
@@ -148,26 +282,157 @@ public final class Main {
 				room.getCapacity() +
 				(room.getDescription().isBlank()
 						? ""
-						: " | " + room.getDescription())
-			)
-		);
+						: " | " + room.getDescription()) +
+				(room.getLocation().isBlank() ? "" : " | " + room.getLocation()) +
+				(room.getTags().isEmpty() ? "" : " | #" + String.join(" #", room.getTags())) +
+				" | today: " +
+				occupancy.bookings() +
+				" booking(s), " +
+				occupancy.bookedMinutes() / 60 +
+				"h" +
+				String.format("%02d", occupancy.bookedMinutes() % 60) +
+				" booked"
+			);
+		});
 	}
 
+	/**
+	 * Prompts for optional filters, then prints matching bookings one page at a
+	 * time, fetching each page from the service only when it is shown.
+	 */
 	private void viewBookings(User user) {
-		List<Booking> bookings = schedulerSystem.listBookings(user);
-		if (bookings.isEmpty()) {
+		LocalDate from = promptOptionalDate("From date (yyyy-MM-dd, Enter for any): ");
+		LocalDate to = promptOptionalDate("To date, inclusive (yyyy-MM-dd, Enter for any): ");
+		if (from != null && to != null && to.isBefore(from)) {
+			throw new IllegalArgumentException("To date cannot be before from date");
+		}
+		System.out.print("Room (Enter for all): ");
+		String room = scanner.nextLine().trim();
+		System.out.print("Booked by (Enter for all): ");
+		String owner = scanner.nextLine().trim();
+		boolean descending = promptYesNo("Newest first? (y/n): ");
+		int pageSize = promptPageSize();
+		BookingQuery query = new BookingQuery(
+			from == null ? null : from.atStartOfDay(),
+			to == null ? null : to.plusDays(1).atStartOfDay(),
+			room.isEmpty() ? null : room,
+			owner.isEmpty() ? null : owner,
+			descending
+		);
+
+		List<WaitlistEntry> waitlisted = schedulerSystem.listWaitlist(user);
+		if (!waitlisted.isEmpty()) {
+			System.out.println("Waitlisted requests:");
+			waitlisted.forEach(entry ->
+				System.out.println(
+					"  - " +
+					entry.id() +
+					" | " +
+					entry.roomName() +
+					" | " +
+					entry.start().format(DATE_TIME_FORMAT) +
+					" -> " +
+					entry.end().format(DATE_TIME_FORMAT) +
+					" | " +
+					entry.requestedBy()
+				)
+			);
+		}
+
+		int total = schedulerSystem.countBookings(user, query);
+		if (total == 0) {
 			System.out.println("No bookings available.");
 			return;
 		}
-		bookings.forEach(this::printBookingSummary);
+		for (int offset = 0; offset < total; offset += pageSize) {
+			schedulerSystem
+				.findBookings(user, query, offset, pageSize)
+				.forEach(this::printBookingSummary);
+			int shown = Math.min(total, offset + pageSize);
+			System.out.println("(" + shown + " of " + total + ")");
+			if (shown < total) {
+				System.out.print("Enter for next page, 'q' to stop: ");
+				if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+					return;
+				}
+			}
+		}
+	}
+
+	private void utilizationReport(User user) {
+		LocalDate from = promptDate("From date (yyyy-MM-dd): ");
+		LocalDate to = promptDate("To date, inclusive (yyyy-MM-dd): ");
+		LocalTime opens = promptTime("Opening time (HH:mm): ");
+		LocalTime closes = promptTime("Closing time (HH:mm, 00:00 for midnight): ");
+		UtilizationReport report = schedulerSystem.utilizationReport(user, from, to, opens, closes);
+
+		System.out.printf(
+			Locale.ROOT,
+			"Utilization across %d rooms: %.1f%%%n",
+			report.getRooms().size(),
+			report.getUtilization()
+		);
+		int peak = report.getPeakHour();
+		if (peak >= 0) {
+			System.out.printf(
+				Locale.ROOT,
+				"Peak hour: %02d:00 (%.1f%%)%n",
+				peak,
+				report.getUtilizationInHour(peak)
+			);
+		}
+		List<String> idle = report.getIdleRooms();
+		System.out.println(
+			"Idle rooms: " + (idle.isEmpty() ? "none" : String.join(", ", idle))
+		);
+
+		System.out.print("Export to file (.csv or .json, Enter to skip): ");
+		String file = scanner.nextLine().trim();
+		if (file.isEmpty()) {
+			return;
+		}
+		System.out.print("Breakdown (total/hour/day/week) [total]: ");
+		String breakdown = scanner.nextLine().trim();
+		Granularity granularity = breakdown.isEmpty()
+			? Granularity.TOTAL
+			: parseGranularity(breakdown);
+		try (Writer out = Files.newBufferedWriter(Path.of(file), StandardCharsets.UTF_8)) {
+			ReportWriter.write(report, granularity, ReportWriter.forFileName(file), out);
+			System.out.println("Report written to " + file + ".");
+		} catch (IOException ex) {
+			System.out.println("Error: unable to write " + file + ": " + ex.getMessage());
+		}
+	}
+
+	static Granularity parseGranularity(String text) {
+		try {
+			return Granularity.valueOf(text.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Unknown breakdown: " + text);
+		}
+	}
+
+	/** Parses a signed offset such as {@code +1d}, {@code -2h} or {@code 30m}. */
+	static Duration parseOffset(String text) {
+		Matcher matcher = OFFSET.matcher(text.trim());
+		if (!matcher.matches()) {
+			throw new IllegalArgumentException("Invalid offset '" + text + "'. Expected e.g. +1d, -2h or 30m");
+		}
+		long amount = Long.parseLong(matcher.group(1));
+		return switch (matcher.group(2).toLowerCase(Locale.ROOT)) {
+			case "d" -> Duration.ofDays(amount);
+			case "h" -> Duration.ofHours(amount);
+			default -> Duration.ofMinutes(amount);
+		};
 	}
 
 	private void createBooking(User user) {
 		if (user.getRole() == Role.GUEST) {
 			throw new SecurityException("Guests cannot create bookings");
 		}
-		System.out.print("Room name: ");
-		String room = scanner.nextLine().trim();
+		System.out.print("Room name (comma-separated to book several together): ");
+		List<String> rooms = BatchRunner.parseRoomList(scanner.nextLine().trim());
+		String room = rooms.get(0);
 		boolean recurring = promptYesNo("Make this booking recurring? (y/n): ");
 		List<TimeSlot> slots;
 		if (recurring) {
@@ -177,6 +442,12 @@ public final class Main {
 			LocalDateTime end = promptDateTime("End (yyyy-MM-dd HH:mm): ");
 			slots = List.of(new TimeSlot(start, end));
 		}
+		if (rooms.size() > 1) {
+			List<Booking> created = schedulerSystem.createMultiRoomBookings(user, rooms, slots);
+			System.out.println("Created " + created.size() + " bookings:");
+			created.forEach(this::printBookingSummary);
+			return;
+		}
 		attemptCreateBookings(user, room, slots);
 	}
 
@@ -184,25 +455,35 @@ public final class Main {
 		if (user.getRole() == Role.GUEST) {
 			throw new SecurityException("Guests cannot update bookings");
 		}
-		System.out.print("Booking id: ");
+		System.out.print("Booking id (Enter to shift several by filter): ");
 		String idInput = scanner.nextLine().trim();
+		if (idInput.isEmpty()) {
+			shiftBookings(user);
+			return;
+		}
 		UUID id = parseUuid(idInput);
 		LocalDateTime start = promptDateTime("New start (yyyy-MM-dd HH:mm): ");
 		LocalDateTime end = promptDateTime("New end (yyyy-MM-dd HH:mm): ");
 		Booking target = requireAccessibleBooking(user, id);
 		List<TimeSlot> requested = List.of(new TimeSlot(start, end));
 		while (true) {
-			List<Booking> conflicts = schedulerSystem.findConflicts(
+			Availability availability = schedulerSystem.checkAvailability(
 				target.getRoom().getName(),
 				requested,
 				target.getId()
 			);
-			if (conflicts.isEmpty()) {
-				schedulerSystem.updateBooking(user, id, start, end);
+			if (availability.isAvailable()) {
+				TimeSlot slot = requested.get(0);
+				schedulerSystem.updateBooking(user, id, slot.start(), slot.end());
 				System.out.println("Booking updated.");
 				return;
 			}
-			if (!resolveConflicts(user, conflicts, requested, false)) {
+			Availability.Alternative alternative = promptAlternative(availability);
+			if (alternative != null) {
+				requested = alternative.slots();
+				continue;
+			}
+			if (!resolveConflicts(user, availability.conflicts(), requested, false)) {
 				System.out.println("Update cancelled.");
 				return;
 			}
@@ -213,13 +494,79 @@ public final class Main {
 		if (user.getRole() == Role.GUEST) {
 			throw new SecurityException("Guests cannot cancel bookings");
 		}
-		System.out.print("Booking id: ");
+		System.out.print("Booking id (Enter to cancel several by filter): ");
 		String idInput = scanner.nextLine().trim();
+		if (idInput.isEmpty()) {
+			BookingSelection selection = promptSelection(user);
+			if (confirmSelection(user, selection, "Cancel")) {
+				int cancelled = schedulerSystem.cancelBookings(user, selection).size();
+				System.out.println("Cancelled " + cancelled + " booking(s).");
+			}
+			return;
+		}
 		UUID id = parseUuid(idInput);
 		schedulerSystem.cancelBooking(user, id);
 		System.out.println("Booking cancelled.");
 	}
 
+	private void shiftBookings(User user) {
+		BookingSelection selection = promptSelection(user);
+		System.out.print("Shift by (e.g. +1d, -2h, 30m): ");
+		Duration offset = parseOffset(scanner.nextLine());
+		if (confirmSelection(user, selection, "Shift")) {
+			int moved = schedulerSystem.shiftBookings(user, selection, offset).size();
+			System.out.println("Moved " + moved + " booking(s).");
+		}
+	}
+
+	/**
+	 * Asks for the filters of a bulk change. Leaving every prompt blank selects
+	 * nothing, which the scheduler rejects.
+	 */
+	private BookingSelection promptSelection(User user) {
+		System.out.print("Rooms (search such as '@north', Enter for all): ");
+		String roomSearch = scanner.nextLine().trim();
+		Set<String> rooms = new LinkedHashSet<>();
+		if (!roomSearch.isEmpty()) {
+			for (Room room : schedulerSystem.searchRooms(RoomQuery.parse(roomSearch), Integer.MAX_VALUE)) {
+				rooms.add(room.getName());
+			}
+			if (rooms.isEmpty()) {
+				throw new IllegalArgumentException("No rooms match '" + roomSearch + "'");
+			}
+		}
+		String owner = null;
+		if (user.getRole().canManageAllBookings()) {
+			System.out.print("Booked by (Enter for anyone): ");
+			owner = scanner.nextLine().trim();
+		}
+		LocalDate from = promptOptionalDate("From date (yyyy-MM-dd, Enter for no limit): ");
+		LocalDate to = promptOptionalDate("To date inclusive (yyyy-MM-dd, Enter for no limit): ");
+		return new BookingSelection(
+			Set.of(),
+			rooms,
+			owner,
+			from == null ? null : from.atStartOfDay(),
+			to == null ? null : to.plusDays(1).atStartOfDay()
+		);
+	}
+
+	private boolean confirmSelection(User user, BookingSelection selection, String action) {
+		List<Booking> selected = schedulerSystem.selectBookings(user, selection);
+		if (selected.isEmpty()) {
+			System.out.println("No bookings match.");
+			return false;
+		}
+		int shown = Math.min(selected.size(), DEFAULT_PAGE_SIZE);
+		for (Booking booking : selected.subList(0, shown)) {
+			printBookingSummary(booking);
+		}
+		if (shown < selected.size()) {
+			System.out.println("... and " + (selected.size() - shown) + " more");
+		}
+		return promptYesNo(action + " these " + selected.size() + " booking(s)? (y/n): ");
+	}
+
 	private void manageRooms(User user) {
 		if (!user.getRole().canManageRooms()) {
 			throw new SecurityException("Insufficient permissions");
@@ -231,6 +578,7 @@ public final class Main {
 			System.out.println("1. Create room");
 			System.out.println("2. Update room");
 			System.out.println("3. Delete room");
+			System.out.println("4. Assign rooms from request file");
 			System.out.println("0. Back");
 			System.out.print("Choice: ");
 			String choice = scanner.nextLine().trim();
@@ -239,6 +587,7 @@ public final class Main {
 					case "1" -> createRoom(user);
 					case "2" -> updateRoom(user);
 					case "3" -> deleteRoom(user);
+					case "4" -> assignRooms(user);
 					case "0" -> managing = false;
 					default -> System.out.println("Unknown option.");
 				}
@@ -248,6 +597,49 @@ public final class Main {
 		}
 	}
 
+	/**
+	 * Plans rooms for every request in a file, shows the outcome, and books the
+	 * plan only after confirmation.
+	 */
+	private void assignRooms(User actingUser) {
+		System.out.print("Request file: ");
+		Path file = Path.of(scanner.nextLine().trim());
+		AssignmentPlan plan = schedulerSystem.planAssignments(
+			actingUser,
+			BatchRunner.readRequests(schedulerSystem, file)
+		);
+		System.out.println(
+			"Planned " + plan.assignments().size() + " of " + plan.requestCount() +
+			" request(s), " + plan.slotCount() + " booking(s)."
+		);
+		for (AssignmentPlan.Assignment assignment : plan.assignments()) {
+			RoomRequest request = assignment.request();
+			System.out.println(
+				"  - " + request.label() + " (" + request.requestedBy() + ") -> " +
+				assignment.roomName() + ", " + request.slots().size() + " slot(s) from " +
+				formatSlot(request.first())
+			);
+		}
+		if (!plan.unassigned().isEmpty()) {
+			System.out.println("No room found for:");
+			plan.unassigned().forEach(request ->
+				System.out.println("  - " + request.label() + " (" + request.requestedBy() + ")")
+			);
+		}
+		System.out.print("Export plan to CSV (Enter to skip): ");
+		String export = scanner.nextLine().trim();
+		if (!export.isEmpty()) {
+			BatchRunner.writePlan(plan, Path.of(export));
+			System.out.println("Plan written to " + export + ".");
+		}
+		if (plan.assignments().isEmpty() || !promptYesNo("Book this plan? (y/n): ")) {
+			System.out.println("Nothing booked.");
+			return;
+		}
+		List<Booking> created = schedulerSystem.commitAssignments(actingUser, plan);
+		System.out.println("Created " + created.size() + " booking(s).");
+	}
+
 	private void manageUsers(User user) {
 		if (!user.getRole().canManageUsers()) {
 			throw new SecurityException("Insufficient permissions");
@@ -259,6 +651,8 @@ public final class Main {
 			System.out.println("1. List users");
 			System.out.println("2. Create user");
 			System.out.println("3. Delete user");
+			System.out.println("4. Set booking quota");
+			System.out.println("5. View audit trail");
 			System.out.println("0. Back");
 			System.out.print("Choice: ");
 			String choice = scanner.nextLine().trim();
@@ -267,6 +661,8 @@ public final class Main {
 					case "1" -> listUsers(user);
 					case "2" -> createUser(user);
 					case "3" -> deleteUser(user);
+					case "4" -> setQuota(user);
+					case "5" -> viewAuditTrail(user);
 					case "0" -> managing = false;
 					default -> System.out.println("Unknown option.");
 				}
@@ -283,7 +679,11 @@ public final class Main {
 		int capacity = parseInteger(scanner.nextLine().trim());
 		System.out.print("Description: ");
 		String description = scanner.nextLine().trim();
-		schedulerSystem.createRoom(actingUser, name, capacity, description);
+		System.out.print("Location: ");
+		String location = scanner.nextLine().trim();
+		System.out.print("Tags (comma-separated): ");
+		List<String> tags = List.of(scanner.nextLine().split(","));
+		schedulerSystem.createRoom(actingUser, name, capacity, description, location, tags);
 		System.out.println("Room created.");
 	}
 
@@ -294,7 +694,11 @@ public final class Main {
 		int capacity = parseInteger(scanner.nextLine().trim());
 		System.out.print("New description: ");
 		String description = scanner.nextLine().trim();
-		schedulerSystem.updateRoom(actingUser, name, capacity, description);
+		System.out.print("New location: ");
+		String location = scanner.nextLine().trim();
+		System.out.print("New tags (comma-separated): ");
+		List<String> tags = List.of(scanner.nextLine().split(","));
+		schedulerSystem.updateRoom(actingUser, name, capacity, description, location, tags);
 		System.out.println("Room updated.");
 	}
 
@@ -330,17 +734,74 @@ public final class Main {
 		System.out.println("User deleted.");
 	}
 
+	private void viewAuditTrail(User actingUser) {
+		LocalDate from = promptOptionalDate("From date (yyyy-MM-dd, Enter for any): ");
+		LocalDate to = promptOptionalDate("To date, inclusive (yyyy-MM-dd, Enter for any): ");
+		System.out.print("Booking id, room, username or quota (Enter for everything): ");
+		String subject = scanner.nextLine().trim();
+		List<AuditRecord> records = schedulerSystem.auditTrail(
+			actingUser,
+			from == null ? null : from.atStartOfDay(ZoneId.systemDefault()).toInstant(),
+			to == null ? null : to.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant(),
+			subject
+		);
+		if (records.isEmpty()) {
+			System.out.println("No changes recorded.");
+			return;
+		}
+		for (AuditRecord record : records) {
+			System.out.println(
+				LocalDateTime.ofInstant(record.timestamp(), ZoneId.systemDefault()).format(DATE_TIME_FORMAT) +
+				" " + record.actor() + " " + record.operation() + " " + record.subject()
+			);
+			if (record.before() != null) {
+				System.out.println("    before: " + record.before());
+			}
+			if (record.after() != null) {
+				System.out.println("    after:  " + record.after());
+			}
+		}
+	}
+
+	private void setQuota(User actingUser) {
+		System.out.print("Apply to a role or a user? (role/user): ");
+		String scope = scanner.nextLine().trim().toLowerCase(Locale.ROOT);
+		if (!scope.equals("role") && !scope.equals("user")) {
+			throw new IllegalArgumentException("Expected 'role' or 'user'");
+		}
+		Role role = null;
+		String username = null;
+		if (scope.equals("role")) {
+			role = promptRole();
+		} else {
+			System.out.print("Username: ");
+			username = scanner.nextLine().trim();
+		}
+		System.out.print("Max active bookings (0 for unlimited): ");
+		int maxActive = parseInteger(scanner.nextLine().trim());
+		System.out.print("Max booked hours per week (0 for unlimited): ");
+		int maxHours = parseInteger(scanner.nextLine().trim());
+		BookingQuota quota = new BookingQuota(maxActive, maxHours);
+		if (role != null) {
+			schedulerSystem.setRoleQuota(actingUser, role, quota);
+		} else {
+			schedulerSystem.setUserQuota(actingUser, username, quota);
+		}
+		System.out.println("Quota updated.");
+	}
+
 	private void attemptCreateBookings(
 		User user,
 		String room,
 		List<TimeSlot> slots
 	) {
 		while (true) {
-			List<Booking> conflicts = schedulerSystem.findConflicts(
+			Availability availability = schedulerSystem.checkAvailability(
 				room,
 				slots,
 				null
 			);
+			List<Booking> conflicts = availability.conflicts();
 			if (conflicts.isEmpty()) {
 				List<Booking> created = schedulerSystem.createBookings(
 					user,
@@ -359,13 +820,68 @@ public final class Main {
 				}
 				return;
 			}
+			Availability.Alternative alternative = promptAlternative(availability);
+			if (alternative != null) {
+				room = alternative.roomName();
+				slots = alternative.slots();
+				continue;
+			}
 			if (!resolveConflicts(user, conflicts, slots, true)) {
+				if (
+					slots.size() == 1 &&
+					promptYesNo("Join the waitlist for this slot? (y/n): ")
+				) {
+					TimeSlot slot = slots.get(0);
+					WaitlistEntry entry = schedulerSystem.joinWaitlist(user, room, slot.start(), slot.end());
+					System.out.println(
+						"Waitlisted with id " + entry.id() + "; it will be booked if the slot frees up."
+					);
+					return;
+				}
 				System.out.println("Booking request cancelled.");
 				return;
 			}
 		}
 	}
 
+	/**
+	 * Lists the alternatives for a conflicting request and lets the user pick
+	 * one.
+	 *
+	 * @return the chosen alternative, or null to deal with the conflict instead
+	 */
+	private Availability.Alternative promptAlternative(Availability availability) {
+		List<Availability.Alternative> alternatives = availability.alternatives();
+		if (alternatives.isEmpty()) {
+			return null;
+		}
+		System.out.println("The requested time is taken. Free alternatives:");
+		for (int i = 0; i < alternatives.size(); i++) {
+			Availability.Alternative alternative = alternatives.get(i);
+			List<TimeSlot> slots = alternative.slots();
+			System.out.println(
+				"  " + (i + 1) + ". " + alternative.roomName() + " | " + formatSlot(slots.get(0)) +
+				(slots.size() > 1 ? " and " + (slots.size() - 1) + " more" : "")
+			);
+		}
+		while (true) {
+			System.out.print("Use an alternative (number), or Enter to see the conflicts: ");
+			String choice = scanner.nextLine().trim();
+			if (choice.isEmpty()) {
+				return null;
+			}
+			try {
+				int index = Integer.parseInt(choice) - 1;
+				if (index >= 0 && index < alternatives.size()) {
+					return alternatives.get(index);
+				}
+			} catch (NumberFormatException ex) {
+				// Fall through to the message below.
+			}
+			System.out.println("Enter a number from 1 to " + alternatives.size() + ".");
+		}
+	}
+
 	private boolean resolveConflicts(
 		User user,
 		List<Booking> conflicts,
@@ -591,6 +1107,40 @@ public final class Main {
 		}
 	}
 
+	private LocalDate promptOptionalDate(String prompt) {
+		while (true) {
+			System.out.print(prompt);
+			String input = scanner.nextLine().trim();
+			if (input.isEmpty()) {
+				return null;
+			}
+			try {
+				return LocalDate.parse(input);
+			} catch (DateTimeParseException ex) {
+				System.out.println("Invalid date. Expected format yyyy-MM-dd");
+			}
+		}
+	}
+
+	private int promptPageSize() {
+		while (true) {
+			System.out.print("Page size (Enter for " + DEFAULT_PAGE_SIZE + "): ");
+			String input = scanner.nextLine().trim();
+			if (input.isEmpty()) {
+				return DEFAULT_PAGE_SIZE;
+			}
+			try {
+				int size = Integer.parseInt(input);
+				if (size > 0) {
+					return size;
+				}
+			} catch (NumberFormatException ex) {
+				// fall through to the retry message
+			}
+			System.out.println("Page size must be a positive number.");
+		}
+	}
+
 	private LocalDate promptOptionalEndDate(LocalDate startDate) {
 		while (true) {
 			System.out.print(
@@ -615,10 +1165,7 @@ public final class Main {
 
 	private Booking requireAccessibleBooking(User user, UUID id) {
 		return schedulerSystem
-			.listBookings(user)
-			.stream()
-			.filter(booking -> booking.getId().equals(id))
-			.findFirst()
+			.findVisibleBooking(user, id)
 			.orElseThrow(() ->
 				new IllegalArgumentException(
 					"Booking not found or access denied"
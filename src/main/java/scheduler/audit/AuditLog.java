@@ -0,0 +1,390 @@
+package scheduler.audit;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of scheduler changes, kept in binary segment files under one
+ * directory.
+ *
+ * <p>{@link #append} only queues the record; a background thread drains the
+ * queue in batches, writes each batch with one call and forces it to disk. A
+ * new segment starts when the current one reaches its size or age limit, and
+ * on every start so a torn tail is never appended to. Each segment is named
+ * after the timestamp of its first record, which lets {@link #read} skip
+ * segments outside the requested range.
+ *
+ * <p>Each record is framed as its length, the payload and a CRC-32 of the
+ * payload; a reader stops at the first frame that is incomplete or fails its
+ * check. The payload holds the timestamp in epoch milliseconds followed by the
+ * actor, operation, subject, before and after strings in modified UTF-8, the
+ * last two preceded by a presence flag.
+ */
+public final class AuditLog implements AutoCloseable {
+
+	public static final String SYSTEM_ACTOR = "system";
+
+	private static final int MAGIC = 0x53434155;
+	private static final int VERSION = 1;
+	private static final int HEADER_BYTES = 8;
+	private static final int MAX_PAYLOAD_BYTES = 8 + 5 * (2 + 65_535) + 2;
+	private static final long DEFAULT_SEGMENT_BYTES = 8L << 20;
+	private static final Duration DEFAULT_SEGMENT_AGE = Duration.ofDays(1);
+	private static final int QUEUE_CAPACITY = 65_536;
+	private static final int MAX_BATCH = 4096;
+	private static final String SEGMENT_PREFIX = "audit-";
+	private static final String SEGMENT_SUFFIX = ".seg";
+	private static final Object STOP = new Object();
+	// writeUTF takes at most 65,535 encoded bytes and a char encodes to at most
+	// three, so longer fields are cut to this many chars.
+	private static final int MAX_FIELD_CHARS = 65_535 / 3;
+	private static final long FLUSH_POLL_MILLIS = 100;
+
+	private final Path directory;
+	private final long maxSegmentBytes;
+	private final Duration maxSegmentAge;
+	private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	private final Thread writer;
+	private final Thread shutdownHook = new Thread(this::close, "scheduler-audit-shutdown");
+	private volatile boolean closed;
+
+	// Owned by the writer thread.
+	private FileChannel segment;
+	private long segmentBytes;
+	private Instant segmentOpened;
+
+	public AuditLog(Path directory) {
+		this(directory, DEFAULT_SEGMENT_BYTES, DEFAULT_SEGMENT_AGE);
+	}
+
+	/**
+	 * @param maxSegmentBytes size after which the next batch starts a new segment
+	 * @param maxSegmentAge age after which the next batch starts a new segment
+	 */
+	public AuditLog(Path directory, long maxSegmentBytes, Duration maxSegmentAge) {
+		if (maxSegmentBytes <= HEADER_BYTES) {
+			throw new IllegalArgumentException("Segment size must exceed the header");
+		}
+		this.directory = directory;
+		this.maxSegmentBytes = maxSegmentBytes;
+		this.maxSegmentAge = maxSegmentAge;
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to create audit directory " + directory, e);
+		}
+		this.writer = new Thread(this::drain, "scheduler-audit");
+		this.writer.setDaemon(true);
+		this.writer.start();
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+	}
+
+	/**
+	 * Queues {@code record} for writing. Blocks only if the writer has fallen a
+	 * full queue behind.
+	 */
+	public void append(AuditRecord record) {
+		if (closed) {
+			throw new IllegalStateException("Audit log is closed");
+		}
+		if (!writer.isAlive()) {
+			System.err.println("Audit writer has stopped; dropping record " + record.operation());
+			return;
+		}
+		try {
+			queue.put(record);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while queueing audit record", e);
+		}
+	}
+
+	/**
+	 * Waits until every record appended before this call is on disk, or returns
+	 * early if the writer has stopped.
+	 */
+	public void flush() {
+		if (closed || !writer.isAlive()) {
+			return;
+		}
+		CountDownLatch written = new CountDownLatch(1);
+		try {
+			queue.put(written);
+			while (!written.await(FLUSH_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+				if (!writer.isAlive()) {
+					return;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while flushing the audit log", e);
+		}
+	}
+
+	/**
+	 * Returns the records stamped within {@code [from, to)}, oldest first, after
+	 * flushing pending ones. Either bound may be null.
+	 */
+	public List<AuditRecord> read(Instant from, Instant to) {
+		flush();
+		List<Path> segments = segments();
+		List<AuditRecord> results = new ArrayList<>();
+		for (int i = 0; i < segments.size(); i++) {
+			long first = firstMillis(segments.get(i));
+			if (to != null && first >= to.toEpochMilli()) {
+				break;
+			}
+			if (
+				from != null &&
+				i + 1 < segments.size() &&
+				firstMillis(segments.get(i + 1)) <= from.toEpochMilli()
+			) {
+				continue;
+			}
+			readSegment(segments.get(i), from, to, results);
+		}
+		return results;
+	}
+
+	/**
+	 * Writes everything queued so far and stops the writer. Later appends fail.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		if (Thread.currentThread() != shutdownHook) {
+			try {
+				Runtime.getRuntime().removeShutdownHook(shutdownHook);
+			} catch (IllegalStateException e) {
+				// Already shutting down; the hook is running or about to.
+			}
+		}
+		try {
+			while (writer.isAlive() && !queue.offer(STOP, FLUSH_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+				// A live writer keeps draining, so the queue makes room.
+			}
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void drain() {
+		List<Object> batch = new ArrayList<>(MAX_BATCH);
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		boolean stopping = false;
+		while (!stopping) {
+			try {
+				batch.add(queue.take());
+			} catch (InterruptedException e) {
+				break;
+			}
+			queue.drainTo(batch, MAX_BATCH - 1);
+			buffer.reset();
+			Instant firstTimestamp = null;
+			for (Object item : batch) {
+				if (item instanceof AuditRecord record) {
+					try {
+						encode(record, buffer);
+					} catch (RuntimeException e) {
+						// One bad record must not stop the writer that every later
+						// append and flush depends on.
+						System.err.println("Skipping audit record " + record.operation() + ": " + e.getMessage());
+						continue;
+					}
+					if (firstTimestamp == null) {
+						firstTimestamp = record.timestamp();
+					}
+				} else if (item == STOP) {
+					stopping = true;
+				}
+			}
+			if (buffer.size() > 0) {
+				try {
+					write(buffer, firstTimestamp);
+				} catch (IOException e) {
+					// Start a fresh segment next time rather than append after a
+					// partial write.
+					System.err.println("Unable to write audit records: " + e.getMessage());
+					closeSegment();
+				}
+			}
+			for (Object item : batch) {
+				if (item instanceof CountDownLatch written) {
+					written.countDown();
+				}
+			}
+			batch.clear();
+		}
+		closeSegment();
+	}
+
+	private void write(ByteArrayOutputStream buffer, Instant firstTimestamp) throws IOException {
+		if (
+			segment == null ||
+			segmentBytes >= maxSegmentBytes ||
+			Instant.now().isAfter(segmentOpened.plus(maxSegmentAge))
+		) {
+			closeSegment();
+			openSegment(firstTimestamp);
+		}
+		ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+		while (bytes.hasRemaining()) {
+			segmentBytes += segment.write(bytes);
+		}
+		segment.force(false);
+	}
+
+	private void openSegment(Instant firstTimestamp) throws IOException {
+		long millis = firstTimestamp.toEpochMilli();
+		Path path = directory.resolve(segmentName(millis));
+		while (Files.exists(path)) {
+			path = directory.resolve(segmentName(++millis));
+		}
+		segment = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION).flip();
+		while (header.hasRemaining()) {
+			segment.write(header);
+		}
+		segmentBytes = HEADER_BYTES;
+		segmentOpened = Instant.now();
+	}
+
+	private void closeSegment() {
+		if (segment == null) {
+			return;
+		}
+		try {
+			segment.close();
+		} catch (IOException e) {
+			System.err.println("Unable to close audit segment: " + e.getMessage());
+		}
+		segment = null;
+	}
+
+	private static void encode(AuditRecord record, ByteArrayOutputStream buffer) {
+		ByteArrayOutputStream payload = new ByteArrayOutputStream(128);
+		try (DataOutputStream out = new DataOutputStream(payload)) {
+			out.writeLong(record.timestamp().toEpochMilli());
+			out.writeUTF(truncate(record.actor()));
+			out.writeUTF(truncate(record.operation()));
+			out.writeUTF(truncate(record.subject()));
+			writeOptional(out, record.before());
+			writeOptional(out, record.after());
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to encode audit record", e);
+		}
+		byte[] bytes = payload.toByteArray();
+		CRC32 crc = new CRC32();
+		crc.update(bytes);
+		ByteBuffer frame = ByteBuffer.allocate(bytes.length + 8);
+		frame.putInt(bytes.length).put(bytes).putInt((int) crc.getValue());
+		buffer.writeBytes(frame.array());
+	}
+
+	private static void writeOptional(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(truncate(value));
+		}
+	}
+
+	private static String truncate(String value) {
+		return value.length() <= MAX_FIELD_CHARS ? value : value.substring(0, MAX_FIELD_CHARS - 1) + "\u2026";
+	}
+
+	private static void readSegment(Path path, Instant from, Instant to, List<AuditRecord> results) {
+		try (
+			InputStream file = Files.newInputStream(path);
+			DataInputStream in = new DataInputStream(new BufferedInputStream(file))
+		) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				return;
+			}
+			while (true) {
+				int length = in.readInt();
+				if (length <= 0 || length > MAX_PAYLOAD_BYTES) {
+					return;
+				}
+				byte[] bytes = new byte[length];
+				in.readFully(bytes);
+				CRC32 crc = new CRC32();
+				crc.update(bytes);
+				if (in.readInt() != (int) crc.getValue()) {
+					return;
+				}
+				AuditRecord record = decode(bytes);
+				if (
+					(from == null || !record.timestamp().isBefore(from)) &&
+					(to == null || record.timestamp().isBefore(to))
+				) {
+					results.add(record);
+				}
+			}
+		} catch (EOFException e) {
+			// End of segment, or a batch cut short by a crash.
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to read audit segment " + path, e);
+		}
+	}
+
+	private static AuditRecord decode(byte[] bytes) throws IOException {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+			return new AuditRecord(
+				Instant.ofEpochMilli(in.readLong()),
+				in.readUTF(),
+				in.readUTF(),
+				in.readUTF(),
+				in.readBoolean() ? in.readUTF() : null,
+				in.readBoolean() ? in.readUTF() : null
+			);
+		}
+	}
+
+	private List<Path> segments() {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files
+				.filter(path -> {
+					String name = path.getFileName().toString();
+					return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+				})
+				.sorted()
+				.toList();
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to list audit segments in " + directory, e);
+		}
+	}
+
+	private static String segmentName(long firstMillis) {
+		return String.format("%s%015d%s", SEGMENT_PREFIX, firstMillis, SEGMENT_SUFFIX);
+	}
+
+	private static long firstMillis(Path segment) {
+		String name = segment.getFileName().toString();
+		return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+	}
+}
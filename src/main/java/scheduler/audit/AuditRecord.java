@@ -0,0 +1,31 @@
+package scheduler.audit;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * One change made through the scheduler.
+ *
+ * @param timestamp when the change was made
+ * @param actor user who made it, or {@code system} for scheduled jobs
+ * @param operation what was done, such as {@code booking.update}
+ * @param subject what was changed: a booking id, room name, username or quota subject
+ * @param before the subject's state before the change, or null if it was created
+ * @param after the subject's state after the change, or null if it was removed
+ */
+public record AuditRecord(
+	Instant timestamp,
+	String actor,
+	String operation,
+	String subject,
+	String before,
+	String after
+) {
+
+	public AuditRecord {
+		Objects.requireNonNull(timestamp, "timestamp");
+		Objects.requireNonNull(actor, "actor");
+		Objects.requireNonNull(operation, "operation");
+		Objects.requireNonNull(subject, "subject");
+	}
+}
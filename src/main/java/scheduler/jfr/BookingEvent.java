@@ -0,0 +1,50 @@
+package scheduler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted around each booking mutation in the scheduler service.
+ */
+@Name("scheduler.Booking")
+@Label("Booking Operation")
+@Category("Scheduler")
+@Description("Booking created, updated or cancelled")
+public final class BookingEvent extends Event {
+
+	@Label("Operation")
+	@Description("create, createSeries, createMulti, update, cancel, cancelMany, shiftMany or assign")
+	public String operation;
+
+	@Label("Room")
+	public String room;
+
+	@Label("Slot Count")
+	@Description("Number of time slots requested or bookings selected")
+	public int slotCount;
+
+	@Label("User")
+	public String user;
+
+	@Label("Succeeded")
+	public boolean succeeded;
+
+	/**
+	 * Creates an event and starts its clock. Setting the fields costs a few
+	 * stores, so callers do it unconditionally; commit is a no-op when the event
+	 * is disabled or under its threshold.
+	 */
+	public static BookingEvent start(String operation, String room, int slotCount, String user) {
+		BookingEvent event = new BookingEvent();
+		event.operation = operation;
+		event.room = room;
+		event.slotCount = slotCount;
+		event.user = user;
+		event.succeeded = true;
+		event.begin();
+		return event;
+	}
+}
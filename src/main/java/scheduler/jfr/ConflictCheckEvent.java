@@ -0,0 +1,28 @@
+package scheduler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted for each conflict scan over a candidate list.
+ */
+@Name("scheduler.ConflictCheck")
+@Label("Conflict Check")
+@Category("Scheduler")
+@Description("Scan of candidate bookings for a requested time slot")
+@StackTrace(false)
+public final class ConflictCheckEvent extends Event {
+
+	@Label("Room")
+	public String room;
+
+	@Label("Candidates Scanned")
+	public int candidatesScanned;
+
+	@Label("Conflicts Found")
+	public int conflictsFound;
+}
@@ -0,0 +1,27 @@
+package scheduler.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Emitted around each database transaction in the file manager.
+ */
+@Name("scheduler.Persist")
+@Label("Persistence Transaction")
+@Category("Scheduler")
+@Description("Database read or write issued by the file manager")
+public final class PersistEvent extends Event {
+
+	@Label("Operation")
+	@Description("persistAll or loadBookings")
+	public String operation;
+
+	@Label("Rows Affected")
+	public long rowsAffected;
+
+	@Label("Succeeded")
+	public boolean succeeded;
+}
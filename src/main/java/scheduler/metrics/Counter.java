@@ -0,0 +1,11 @@
+package scheduler.metrics;
+
+/**
+ * Monotonic event counter.
+ */
+public interface Counter {
+
+	void increment();
+
+	void add(long amount);
+}
@@ -0,0 +1,162 @@
+package scheduler.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry that keeps metrics in memory and exposes each one as an MXBean
+ * named {@code <domain>:type=Timer|Counter|Gauge,name=<metric>} on the
+ * platform MBean server, so jconsole or any JMX client can read them.
+ */
+public final class JmxMetricsRegistry implements MetricsRegistry {
+
+	public interface TimerMXBean {
+		long getCount();
+
+		double getMeanNanos();
+
+		long getP50Nanos();
+
+		long getP99Nanos();
+
+		long getP999Nanos();
+
+		long getMaxNanos();
+	}
+
+	public interface CounterMXBean {
+		long getCount();
+	}
+
+	public interface GaugeMXBean {
+		long getValue();
+	}
+
+	private final String domain;
+	private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+	private final Map<String, HistogramTimer> timers = new ConcurrentHashMap<>();
+	private final Map<String, AdderCounter> counters = new ConcurrentHashMap<>();
+	private final Map<String, SuppliedGauge> gauges = new ConcurrentHashMap<>();
+
+	public JmxMetricsRegistry(String domain) {
+		this.domain = domain;
+	}
+
+	@Override
+	public Timer timer(String name) {
+		return timers.computeIfAbsent(name, key -> register("Timer", key, new HistogramTimer()));
+	}
+
+	@Override
+	public Counter counter(String name) {
+		return counters.computeIfAbsent(name, key -> register("Counter", key, new AdderCounter()));
+	}
+
+	@Override
+	public void gauge(String name, LongSupplier value) {
+		gauges.computeIfAbsent(name, key -> register("Gauge", key, new SuppliedGauge())).supplier = value;
+	}
+
+	private <T> T register(String type, String name, T bean) {
+		try {
+			ObjectName objectName = new ObjectName(domain + ":type=" + type + ",name=" + ObjectName.quote(name));
+			try {
+				server.registerMBean(bean, objectName);
+			} catch (InstanceAlreadyExistsException ex) {
+				// Left over from another registry in this JVM; the newest one wins.
+				server.unregisterMBean(objectName);
+				server.registerMBean(bean, objectName);
+			}
+			return bean;
+		} catch (JMException ex) {
+			throw new IllegalStateException("Unable to register metric " + name, ex);
+		}
+	}
+
+	private static final class HistogramTimer implements Timer, TimerMXBean {
+
+		private final LatencyHistogram histogram = new LatencyHistogram();
+
+		@Override
+		public long start() {
+			return System.nanoTime();
+		}
+
+		@Override
+		public void stop(long startNanos) {
+			histogram.record(System.nanoTime() - startNanos);
+		}
+
+		@Override
+		public void record(long nanos) {
+			histogram.record(nanos);
+		}
+
+		@Override
+		public long getCount() {
+			return histogram.count();
+		}
+
+		@Override
+		public double getMeanNanos() {
+			return histogram.mean();
+		}
+
+		@Override
+		public long getP50Nanos() {
+			return histogram.percentile(50);
+		}
+
+		@Override
+		public long getP99Nanos() {
+			return histogram.percentile(99);
+		}
+
+		@Override
+		public long getP999Nanos() {
+			return histogram.percentile(99.9);
+		}
+
+		@Override
+		public long getMaxNanos() {
+			return histogram.max();
+		}
+	}
+
+	private static final class AdderCounter implements Counter, CounterMXBean {
+
+		private final LongAdder count = new LongAdder();
+
+		@Override
+		public void increment() {
+			count.increment();
+		}
+
+		@Override
+		public void add(long amount) {
+			count.add(amount);
+		}
+
+		@Override
+		public long getCount() {
+			return count.sum();
+		}
+	}
+
+	private static final class SuppliedGauge implements GaugeMXBean {
+
+		private volatile LongSupplier supplier = () -> 0;
+
+		@Override
+		public long getValue() {
+			return supplier.getAsLong();
+		}
+	}
+}
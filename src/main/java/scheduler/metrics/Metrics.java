@@ -0,0 +1,50 @@
+package scheduler.metrics;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Process-wide metrics registry used by components that are not handed one.
+ *
+ * <p>Defaults to {@link MetricsRegistry#noop()}; start the JVM with
+ * {@code -Dscheduler.metrics=jmx} to export through {@link JmxMetricsRegistry},
+ * or install another registry with {@link #setRegistry} before the scheduler
+ * is created.
+ */
+public final class Metrics {
+
+	public static final String PROPERTY = "scheduler.metrics";
+
+	private static volatile MetricsRegistry registry;
+
+	private Metrics() {}
+
+	public static MetricsRegistry registry() {
+		MetricsRegistry current = registry;
+		if (current == null) {
+			synchronized (Metrics.class) {
+				current = registry;
+				if (current == null) {
+					current = fromSystemProperty();
+					registry = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	public static void setRegistry(MetricsRegistry newRegistry) {
+		registry = Objects.requireNonNull(newRegistry, "newRegistry");
+	}
+
+	private static MetricsRegistry fromSystemProperty() {
+		String mode = System.getProperty(PROPERTY, "none").trim().toLowerCase(Locale.ROOT);
+		return switch (mode) {
+			case "jmx" -> new JmxMetricsRegistry("scheduler");
+			case "none", "" -> MetricsRegistry.noop();
+			default -> throw new IllegalArgumentException(
+				"Unknown " + PROPERTY + " value: " + mode
+			);
+		};
+	}
+}
@@ -0,0 +1,67 @@
+package scheduler.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Source of named metrics. Implementations may export them anywhere; the
+ * {@link #noop() no-op} registry hands out shared instances that do nothing.
+ *
+ * <p>Metrics are looked up once, typically at construction, and recorded into
+ * many times, so recording must not allocate.
+ */
+public interface MetricsRegistry {
+
+	Timer timer(String name);
+
+	Counter counter(String name);
+
+	/**
+	 * Registers a value read on demand, such as a collection size. Registering
+	 * the same name again replaces the supplier.
+	 */
+	void gauge(String name, LongSupplier value);
+
+	static MetricsRegistry noop() {
+		return Noop.REGISTRY;
+	}
+
+	/**
+	 * Shared no-op instances.
+	 */
+	final class Noop implements MetricsRegistry, Timer, Counter {
+
+		private static final Noop REGISTRY = new Noop();
+
+		private Noop() {}
+
+		@Override
+		public Timer timer(String name) {
+			return this;
+		}
+
+		@Override
+		public Counter counter(String name) {
+			return this;
+		}
+
+		@Override
+		public void gauge(String name, LongSupplier value) {}
+
+		@Override
+		public long start() {
+			return 0;
+		}
+
+		@Override
+		public void stop(long startNanos) {}
+
+		@Override
+		public void record(long nanos) {}
+
+		@Override
+		public void increment() {}
+
+		@Override
+		public void add(long amount) {}
+	}
+}
@@ -0,0 +1,28 @@
+package scheduler.metrics;
+
+/**
+ * Records operation latencies.
+ *
+ * <pre>
+ * long started = timer.start();
+ * try {
+ *     ...
+ * } finally {
+ *     timer.stop(started);
+ * }
+ * </pre>
+ *
+ * <p>A disabled timer returns 0 from {@link #start()} without reading the clock
+ * and ignores {@link #stop(long)}.
+ */
+public interface Timer {
+
+	/**
+	 * @return a start timestamp to pass to {@link #stop(long)}
+	 */
+	long start();
+
+	void stop(long startNanos);
+
+	void record(long nanos);
+}
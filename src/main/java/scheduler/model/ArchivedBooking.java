@@ -0,0 +1,40 @@
+package scheduler.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A booking moved out of the live schedule by the retention policy. It keeps
+ * the room's name rather than the room, which may since have been deleted.
+ */
+public record ArchivedBooking(
+	UUID id,
+	String roomName,
+	LocalDateTime start,
+	LocalDateTime end,
+	String bookedBy
+) {
+
+	public ArchivedBooking {
+		Objects.requireNonNull(id, "id");
+		Objects.requireNonNull(roomName, "roomName");
+		Objects.requireNonNull(start, "start");
+		Objects.requireNonNull(end, "end");
+		Objects.requireNonNull(bookedBy, "bookedBy");
+	}
+
+	public static ArchivedBooking of(Booking booking) {
+		return new ArchivedBooking(
+			booking.getId(),
+			booking.getRoom().getName(),
+			booking.getStart(),
+			booking.getEnd(),
+			booking.getBookedBy()
+		);
+	}
+
+	public boolean overlaps(LocalDateTime from, LocalDateTime to) {
+		return start.isBefore(to) && end.isAfter(from);
+	}
+}
@@ -0,0 +1,22 @@
+package scheduler.model;
+
+/**
+ * Limits on how much one user may book. A limit of 0 means unlimited.
+ *
+ * @param maxActiveBookings bookings that have not ended yet
+ * @param maxHoursPerWeek booked hours in any Monday-to-Sunday week
+ */
+public record BookingQuota(int maxActiveBookings, int maxHoursPerWeek) {
+
+	public static final BookingQuota UNLIMITED = new BookingQuota(0, 0);
+
+	public BookingQuota {
+		if (maxActiveBookings < 0 || maxHoursPerWeek < 0) {
+			throw new IllegalArgumentException("Quota limits must not be negative");
+		}
+	}
+
+	public boolean isUnlimited() {
+		return maxActiveBookings == 0 && maxHoursPerWeek == 0;
+	}
+}
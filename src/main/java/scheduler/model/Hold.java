@@ -0,0 +1,40 @@
+package scheduler.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Tentative reservation of a room that blocks conflicting requests until it is
+ * confirmed into a {@link Booking}, released, or expires.
+ */
+public record Hold(
+	UUID id,
+	Room room,
+	LocalDateTime start,
+	LocalDateTime end,
+	String heldBy,
+	Instant expiresAt
+) {
+
+	public Hold {
+		Objects.requireNonNull(id, "id");
+		Objects.requireNonNull(room, "room");
+		Objects.requireNonNull(start, "start");
+		Objects.requireNonNull(end, "end");
+		Objects.requireNonNull(heldBy, "heldBy");
+		Objects.requireNonNull(expiresAt, "expiresAt");
+		if (!start.isBefore(end)) {
+			throw new IllegalArgumentException("Start must be before end");
+		}
+	}
+
+	public boolean isHeldBy(String username) {
+		return heldBy.equalsIgnoreCase(username);
+	}
+
+	public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+		return start.isBefore(otherEnd) && otherStart.isBefore(end);
+	}
+}
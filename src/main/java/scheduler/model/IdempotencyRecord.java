@@ -0,0 +1,35 @@
+package scheduler.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Remembers the outcome of a booking mutation submitted under an idempotency key.
+ */
+public record IdempotencyRecord(
+	String key,
+	Operation operation,
+	String actor,
+	List<UUID> bookingIds,
+	Instant createdAt
+) {
+
+	/**
+	 * Booking mutations that accept an idempotency key.
+	 */
+	public enum Operation {
+		CREATE_BOOKING,
+		CREATE_BOOKINGS,
+		CANCEL_BOOKING
+	}
+
+	public IdempotencyRecord {
+		Objects.requireNonNull(key, "key");
+		Objects.requireNonNull(operation, "operation");
+		Objects.requireNonNull(actor, "actor");
+		Objects.requireNonNull(createdAt, "createdAt");
+		bookingIds = List.copyOf(Objects.requireNonNull(bookingIds, "bookingIds"));
+	}
+}
@@ -2,7 +2,12 @@ package scheduler.model;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Represents a schedulable room.
@@ -15,6 +20,8 @@ public final class Room implements Serializable {
 	private final String name;
 	private int capacity;
 	private String description;
+	private String location = "";
+	private Set<String> tags = Set.of();
 
 	public Room(String name, int capacity, String description) {
 		this.name = Objects.requireNonNull(name, "name").trim();
@@ -22,6 +29,18 @@ public final class Room implements Serializable {
 		this.description = description == null ? "" : description.trim();
 	}
 
+	public Room(
+		String name,
+		int capacity,
+		String description,
+		String location,
+		Collection<String> tags
+	) {
+		this(name, capacity, description);
+		setLocation(location);
+		setTags(tags);
+	}
+
 	public String getName() {
 		return name;
 	}
@@ -42,6 +61,34 @@ public final class Room implements Serializable {
 		this.description = description == null ? "" : description.trim();
 	}
 
+	public String getLocation() {
+		return location;
+	}
+
+	public void setLocation(String location) {
+		this.location = location == null ? "" : location.trim();
+	}
+
+	/**
+	 * @return equipment and feature tags, lower-cased and sorted
+	 */
+	public Set<String> getTags() {
+		return tags;
+	}
+
+	public void setTags(Collection<String> tags) {
+		Set<String> normalized = new TreeSet<>();
+		if (tags != null) {
+			for (String tag : tags) {
+				String trimmed = tag == null ? "" : tag.trim().toLowerCase(Locale.ROOT);
+				if (!trimmed.isEmpty()) {
+					normalized.add(trimmed);
+				}
+			}
+		}
+		this.tags = Collections.unmodifiableSet(normalized);
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (this == obj) {
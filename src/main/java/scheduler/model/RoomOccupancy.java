@@ -0,0 +1,31 @@
+package scheduler.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Booked time in one room on one day. Bookings that cross midnight count
+ * towards each day they touch, clipped to that day.
+ *
+ * @param firstStart start of the earliest booking that day, or null if none
+ * @param lastEnd end of the latest booking that day, or null if none
+ */
+public record RoomOccupancy(
+	String roomName,
+	LocalDate day,
+	long bookedMinutes,
+	int bookings,
+	LocalDateTime firstStart,
+	LocalDateTime lastEnd
+) {
+
+	public RoomOccupancy {
+		Objects.requireNonNull(roomName, "roomName");
+		Objects.requireNonNull(day, "day");
+	}
+
+	public static RoomOccupancy empty(String roomName, LocalDate day) {
+		return new RoomOccupancy(roomName, day, 0, 0, null, null);
+	}
+}
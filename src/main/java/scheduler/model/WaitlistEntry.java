@@ -0,0 +1,44 @@
+package scheduler.model;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A request for a room and time window that was taken, booked automatically for
+ * {@code requestedBy} once the window frees up.
+ *
+ * @param priority higher goes first; requests of equal priority go in
+ *     {@code requestedAt} order
+ */
+public record WaitlistEntry(
+	UUID id,
+	String roomName,
+	LocalDateTime start,
+	LocalDateTime end,
+	String requestedBy,
+	int priority,
+	Instant requestedAt
+) {
+
+	public WaitlistEntry {
+		Objects.requireNonNull(id, "id");
+		Objects.requireNonNull(roomName, "roomName");
+		Objects.requireNonNull(start, "start");
+		Objects.requireNonNull(end, "end");
+		Objects.requireNonNull(requestedBy, "requestedBy");
+		Objects.requireNonNull(requestedAt, "requestedAt");
+		if (!start.isBefore(end)) {
+			throw new IllegalArgumentException("Start must be before end");
+		}
+	}
+
+	public boolean isRequestedBy(String username) {
+		return requestedBy.equalsIgnoreCase(username);
+	}
+
+	public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+		return start.isBefore(otherEnd) && otherStart.isBefore(end);
+	}
+}
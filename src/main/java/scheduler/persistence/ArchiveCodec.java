@@ -0,0 +1,110 @@
+package scheduler.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import scheduler.model.ArchivedBooking;
+
+/**
+ * Packs a run of archived bookings, ordered by start, into one gzip-compressed
+ * blob. Room and user names are written once each and referenced by position,
+ * and each start is stored as seconds after the previous one, so a chunk costs
+ * a few bytes per booking beyond its id.
+ */
+final class ArchiveCodec {
+
+	private static final int VERSION = 1;
+
+	private ArchiveCodec() {
+	}
+
+	static byte[] encode(List<ArchivedBooking> bookings) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes))) {
+			List<String> names = new ArrayList<>();
+			Map<String, Integer> positions = new HashMap<>();
+			for (ArchivedBooking booking : bookings) {
+				intern(booking.roomName(), names, positions);
+				intern(booking.bookedBy(), names, positions);
+			}
+			out.writeByte(VERSION);
+			out.writeInt(names.size());
+			for (String name : names) {
+				out.writeUTF(name);
+			}
+			out.writeInt(bookings.size());
+			long previous = 0;
+			for (ArchivedBooking booking : bookings) {
+				long start = booking.start().toEpochSecond(ZoneOffset.UTC);
+				out.writeLong(booking.id().getMostSignificantBits());
+				out.writeLong(booking.id().getLeastSignificantBits());
+				out.writeInt(positions.get(booking.roomName()));
+				out.writeInt(positions.get(booking.bookedBy()));
+				out.writeLong(start - previous);
+				out.writeInt(booking.start().getNano());
+				out.writeLong(booking.end().toEpochSecond(ZoneOffset.UTC) - start);
+				out.writeInt(booking.end().getNano());
+				previous = start;
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to encode archived bookings", e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static void intern(String name, List<String> names, Map<String, Integer> positions) {
+		if (!positions.containsKey(name)) {
+			positions.put(name, names.size());
+			names.add(name);
+		}
+	}
+
+	static List<ArchivedBooking> decode(byte[] data) {
+		try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(data)))) {
+			int version = in.readUnsignedByte();
+			if (version != VERSION) {
+				throw new IllegalStateException("Unsupported archive chunk version " + version);
+			}
+			String[] names = new String[in.readInt()];
+			for (int i = 0; i < names.length; i++) {
+				names[i] = in.readUTF();
+			}
+			int count = in.readInt();
+			List<ArchivedBooking> bookings = new ArrayList<>(count);
+			long previous = 0;
+			for (int i = 0; i < count; i++) {
+				UUID id = new UUID(in.readLong(), in.readLong());
+				String roomName = names[in.readInt()];
+				String bookedBy = names[in.readInt()];
+				long start = previous + in.readLong();
+				int startNano = in.readInt();
+				long end = start + in.readLong();
+				int endNano = in.readInt();
+				bookings.add(
+					new ArchivedBooking(
+						id,
+						roomName,
+						LocalDateTime.ofEpochSecond(start, startNano, ZoneOffset.UTC),
+						LocalDateTime.ofEpochSecond(end, endNano, ZoneOffset.UTC),
+						bookedBy
+					)
+				);
+				previous = start;
+			}
+			return bookings;
+		} catch (IOException e) {
+			throw new IllegalStateException("Unable to decode archived bookings", e);
+		}
+	}
+}
@@ -1,7 +1,6 @@
 package scheduler.persistence;
 
 import java.io.IOException;
-import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -11,21 +10,37 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
 import scheduler.Role;
+import scheduler.jfr.PersistEvent;
+import scheduler.metrics.Counter;
+import scheduler.metrics.Metrics;
+import scheduler.metrics.MetricsRegistry;
+import scheduler.metrics.Timer;
+import scheduler.model.ArchivedBooking;
 import scheduler.model.Booking;
+import scheduler.model.BookingQuota;
+import scheduler.model.IdempotencyRecord;
 import scheduler.model.Room;
+import scheduler.model.RoomOccupancy;
+import scheduler.model.WaitlistEntry;
 import scheduler.user.Admin;
 import scheduler.user.Guest;
 import scheduler.user.RegularUser;
 import scheduler.user.Scheduler;
 import scheduler.user.User;
+import scheduler.util.PasswordHasher;
 
 /**
  * Persists users, rooms, and bookings using an embedded SQLite database.
@@ -33,25 +48,47 @@ import scheduler.user.User;
 public final class FileManager {
 
 	private static final String DATABASE_NAME = "scheduler.db";
+	private static final int ARCHIVE_CHUNK_SIZE = 1024;
 
 	private final Path dataDirectory;
 	private final Path databaseFile;
 	private final String jdbcUrl;
+	private final Timer persistTimer;
+	private final Timer loadBookingsTimer;
+	private final Counter persistRows;
+	private volatile long lastPersistRows;
 
 	public FileManager() {
 		this(Paths.get("data"));
 	}
 
 	public FileManager(Path dataDirectory) {
+		this(dataDirectory, Metrics.registry());
+	}
+
+	/**
+	 * Creates a store that records persist and load timings and the number of
+	 * rows written into {@code metrics}.
+	 */
+	public FileManager(Path dataDirectory, MetricsRegistry metrics) {
 		this.dataDirectory = dataDirectory;
+		this.persistTimer = metrics.timer("persist.all");
+		this.loadBookingsTimer = metrics.timer("persist.loadBookings");
+		this.persistRows = metrics.counter("persist.rowsWritten");
+		metrics.gauge("persist.lastRowsWritten", () -> lastPersistRows);
 		ensureDirectory();
 		this.databaseFile = dataDirectory.resolve(DATABASE_NAME);
 		this.jdbcUrl = "jdbc:sqlite:" + databaseFile.toAbsolutePath();
 		initializeSchema();
 	}
 
+	public Path getDataDirectory() {
+		return dataDirectory;
+	}
+
 	public List<User> loadUsers() {
 		List<User> results = new ArrayList<>();
+		List<User> legacy = new ArrayList<>();
 		String sql = "SELECT username, password, role FROM users ORDER BY username";
 		try (Connection conn = getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
 			enableForeignKeys(conn);
@@ -60,9 +97,18 @@ public final class FileManager {
 					String username = rs.getString("username");
 					String password = rs.getString("password");
 					Role role = Role.valueOf(rs.getString("role"));
-					results.add(instantiateUser(role, username, password));
+					if (PasswordHasher.isHash(password)) {
+						results.add(User.fromStoredHash(role, username, password));
+					} else {
+						User user = instantiateUser(role, username, password);
+						results.add(user);
+						legacy.add(user);
+					}
 				}
 			}
+			if (!legacy.isEmpty()) {
+				rehashLegacyPasswords(conn, legacy);
+			}
 		} catch (SQLException e) {
 			throw new IllegalStateException("Unable to load users from database", e);
 		}
@@ -71,7 +117,7 @@ public final class FileManager {
 
 	public List<Room> loadRooms() {
 		List<Room> results = new ArrayList<>();
-		String sql = "SELECT name, capacity, description FROM rooms ORDER BY name";
+		String sql = "SELECT name, capacity, description, location, tags FROM rooms ORDER BY name";
 		try (Connection conn = getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
 			enableForeignKeys(conn);
 			try (ResultSet rs = ps.executeQuery()) {
@@ -79,7 +125,9 @@ public final class FileManager {
 					String name = rs.getString("name");
 					int capacity = rs.getInt("capacity");
 					String description = rs.getString("description");
-					results.add(new Room(name, capacity, description));
+					results.add(
+						new Room(name, capacity, description, rs.getString("location"), splitTags(rs.getString("tags")))
+					);
 				}
 			}
 		} catch (SQLException e) {
@@ -89,47 +137,363 @@ public final class FileManager {
 	}
 
 	public List<Booking> loadBookings() {
+		PersistEvent event = new PersistEvent();
+		event.succeeded = true;
+		event.begin();
+		long started = loadBookingsTimer.start();
+		try {
+			String sql =
+				"SELECT b.id, b.room_name, b.start, b.end, b.booked_by, " +
+				"r.capacity, r.description, r.location, r.tags " +
+				"FROM bookings b " +
+				"JOIN rooms r ON r.name = b.room_name " +
+				"ORDER BY b.start";
+			Map<String, Room> roomCache = new HashMap<>();
+			List<Booking> results = new ArrayList<>();
+			try (Connection conn = getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+				enableForeignKeys(conn);
+				try (ResultSet rs = ps.executeQuery()) {
+					while (rs.next()) {
+						String roomName = rs.getString("room_name");
+						int capacity = rs.getInt("capacity");
+						String description = rs.getString("description");
+						String cacheKey = roomName.toLowerCase(Locale.ROOT);
+						Room room = roomCache.get(cacheKey);
+						if (room == null) {
+							room = new Room(
+								roomName,
+								capacity,
+								description,
+								rs.getString("location"),
+								splitTags(rs.getString("tags"))
+							);
+							roomCache.put(cacheKey, room);
+						}
+						LocalDateTime start = LocalDateTime.parse(rs.getString("start"));
+						LocalDateTime end = LocalDateTime.parse(rs.getString("end"));
+						String bookedBy = rs.getString("booked_by");
+						results.add(
+							new Booking(
+								UUID.fromString(rs.getString("id")),
+								room,
+								start,
+								end,
+								bookedBy
+							)
+						);
+					}
+				}
+			} catch (SQLException e) {
+				throw new IllegalStateException("Unable to load bookings from database", e);
+			}
+			event.rowsAffected = results.size();
+			return results;
+		} catch (RuntimeException ex) {
+			event.succeeded = false;
+			throw ex;
+		} finally {
+			loadBookingsTimer.stop(started);
+			event.operation = "loadBookings";
+			event.commit();
+		}
+	}
+
+	public List<IdempotencyRecord> loadIdempotencyRecords() {
+		List<IdempotencyRecord> results = new ArrayList<>();
 		String sql =
-			"SELECT b.id, b.room_name, b.start, b.end, b.booked_by, " +
-			"r.capacity, r.description " +
-			"FROM bookings b " +
-			"JOIN rooms r ON r.name = b.room_name " +
-			"ORDER BY b.start";
-		Map<String, Room> roomCache = new HashMap<>();
-		List<Booking> results = new ArrayList<>();
+			"SELECT idem_key, operation, actor, booking_ids, created_at " +
+			"FROM idempotency_keys ORDER BY created_at";
 		try (Connection conn = getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
 			enableForeignKeys(conn);
 			try (ResultSet rs = ps.executeQuery()) {
 				while (rs.next()) {
-					String roomName = rs.getString("room_name");
-					int capacity = rs.getInt("capacity");
-					String description = rs.getString("description");
-					String cacheKey = roomName.toLowerCase(Locale.ROOT);
-					Room room = roomCache.get(cacheKey);
-					if (room == null) {
-						room = new Room(roomName, capacity, description);
-						roomCache.put(cacheKey, room);
+					List<UUID> bookingIds = new ArrayList<>();
+					String ids = rs.getString("booking_ids");
+					if (!ids.isEmpty()) {
+						for (String id : ids.split(",")) {
+							bookingIds.add(UUID.fromString(id));
+						}
+					}
+					results.add(
+						new IdempotencyRecord(
+							rs.getString("idem_key"),
+							IdempotencyRecord.Operation.valueOf(rs.getString("operation")),
+							rs.getString("actor"),
+							bookingIds,
+							Instant.parse(rs.getString("created_at"))
+						)
+					);
+				}
+			}
+		} catch (SQLException e) {
+			throw new IllegalStateException("Unable to load idempotency keys from database", e);
+		}
+		return results;
+	}
+
+	public List<RoomOccupancy> loadOccupancy() {
+		List<RoomOccupancy> results = new ArrayList<>();
+		String sql =
+			"SELECT room_name, day, booked_minutes, bookings, first_start, last_end " +
+			"FROM room_occupancy";
+		try (Connection conn = getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+			enableForeignKeys(conn);
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					String firstStart = rs.getString("first_start");
+					String lastEnd = rs.getString("last_end");
+					results.add(
+						new RoomOccupancy(
+							rs.getString("room_name"),
+							LocalDate.parse(rs.getString("day")),
+							rs.getLong("booked_minutes"),
+							rs.getInt("bookings"),
+							firstStart == null ? null : LocalDateTime.parse(firstStart),
+							lastEnd == null ? null : LocalDateTime.parse(lastEnd)
+						)
+					);
+				}
+			}
+		} catch (SQLException e) {
+			throw new IllegalStateException("Unable to load occupancy rollups from database", e);
+		}
+		return results;
+	}
+
+	/**
+	 * Loads booking quotas keyed by subject: {@code role:<ROLE>} for role-wide
+	 * limits and {@code user:<username>} for per-user overrides.
+	 */
+	public Map<String, BookingQuota> loadQuotas() {
+		Map<String, BookingQuota> results = new LinkedHashMap<>();
+		String sql = "SELECT subject, max_active, max_hours_per_week FROM quotas ORDER BY subject";
+		try (Connection conn = getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+			enableForeignKeys(conn);
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					results.put(
+						rs.getString("subject"),
+						new BookingQuota(rs.getInt("max_active"), rs.getInt("max_hours_per_week"))
+					);
+				}
+			}
+		} catch (SQLException e) {
+			throw new IllegalStateException("Unable to load quotas from database", e);
+		}
+		return results;
+	}
+
+	/**
+	 * Replaces the stored booking quotas; keys as in {@link #loadQuotas()}.
+	 */
+	public void saveQuotas(Map<String, BookingQuota> quotas) {
+		Objects.requireNonNull(quotas, "quotas");
+		String sql = "INSERT INTO quotas (subject, max_active, max_hours_per_week) VALUES (?, ?, ?)";
+		try (Connection conn = getConnection()) {
+			enableForeignKeys(conn);
+			conn.setAutoCommit(false);
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				clearTable(conn, "quotas");
+				for (Map.Entry<String, BookingQuota> entry : quotas.entrySet()) {
+					ps.setString(1, entry.getKey());
+					ps.setInt(2, entry.getValue().maxActiveBookings());
+					ps.setInt(3, entry.getValue().maxHoursPerWeek());
+					ps.addBatch();
+				}
+				ps.executeBatch();
+				conn.commit();
+			} catch (SQLException e) {
+				rollbackQuietly(conn);
+				throw e;
+			}
+		} catch (SQLException e) {
+			throw new IllegalStateException("Unable to persist quotas", e);
+		}
+	}
+
+	/**
+	 * Moves {@code bookings} from the live table into the archive in one
+	 * transaction. They are stored in compressed chunks of up to
+	 * {@value #ARCHIVE_CHUNK_SIZE} bookings, ordered by start, each tagged with
+	 * the time range it covers so reads only decompress chunks they need.
+	 */
+	public void archiveBookings(List<Booking> bookings) {
+		Objects.requireNonNull(bookings, "bookings");
+		if (bookings.isEmpty()) {
+			return;
+		}
+		PersistEvent event = new PersistEvent();
+		event.succeeded = true;
+		event.begin();
+		try {
+			List<ArchivedBooking> archived = new ArrayList<>(bookings.size());
+			bookings.forEach(booking -> archived.add(ArchivedBooking.of(booking)));
+			archived.sort(Comparator.comparing(ArchivedBooking::start));
+			String insert = "INSERT INTO booking_archive (first_start, last_end, bookings, data) VALUES (?, ?, ?, ?)";
+			String delete = "DELETE FROM bookings WHERE id = ?";
+			try (Connection conn = getConnection()) {
+				enableForeignKeys(conn);
+				conn.setAutoCommit(false);
+				try (
+					PreparedStatement insertChunk = conn.prepareStatement(insert);
+					PreparedStatement deleteLive = conn.prepareStatement(delete)
+				) {
+					for (int from = 0; from < archived.size(); from += ARCHIVE_CHUNK_SIZE) {
+						List<ArchivedBooking> chunk = archived.subList(
+							from,
+							Math.min(archived.size(), from + ARCHIVE_CHUNK_SIZE)
+						);
+						LocalDateTime lastEnd = chunk.get(0).end();
+						for (ArchivedBooking booking : chunk) {
+							if (booking.end().isAfter(lastEnd)) {
+								lastEnd = booking.end();
+							}
+							deleteLive.setString(1, booking.id().toString());
+							deleteLive.addBatch();
+						}
+						insertChunk.setString(1, chunk.get(0).start().toString());
+						insertChunk.setString(2, lastEnd.toString());
+						insertChunk.setInt(3, chunk.size());
+						insertChunk.setBytes(4, ArchiveCodec.encode(chunk));
+						insertChunk.addBatch();
+					}
+					insertChunk.executeBatch();
+					deleteLive.executeBatch();
+					conn.commit();
+					event.rowsAffected = archived.size();
+				} catch (SQLException e) {
+					rollbackQuietly(conn);
+					throw e;
+				}
+			} catch (SQLException e) {
+				throw new IllegalStateException("Unable to archive bookings", e);
+			}
+		} catch (RuntimeException ex) {
+			event.succeeded = false;
+			throw ex;
+		} finally {
+			event.operation = "archiveBookings";
+			event.commit();
+		}
+	}
+
+	/**
+	 * Returns archived bookings overlapping {@code [from, to)}, ordered by start.
+	 * Either bound may be null.
+	 */
+	public List<ArchivedBooking> loadArchivedBookings(LocalDateTime from, LocalDateTime to) {
+		// ISO-8601 strings of the same era sort like the times they hold.
+		String sql =
+			"SELECT data FROM booking_archive " +
+			"WHERE (? IS NULL OR first_start < ?) AND (? IS NULL OR last_end > ?) " +
+			"ORDER BY first_start";
+		List<ArchivedBooking> results = new ArrayList<>();
+		try (Connection conn = getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+			enableForeignKeys(conn);
+			String upper = to == null ? null : to.toString();
+			String lower = from == null ? null : from.toString();
+			ps.setString(1, upper);
+			ps.setString(2, upper);
+			ps.setString(3, lower);
+			ps.setString(4, lower);
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
+					for (ArchivedBooking booking : ArchiveCodec.decode(rs.getBytes("data"))) {
+						if (
+							(from == null || booking.end().isAfter(from)) &&
+							(to == null || booking.start().isBefore(to))
+						) {
+							results.add(booking);
+						}
 					}
-					LocalDateTime start = LocalDateTime.parse(rs.getString("start"));
-					LocalDateTime end = LocalDateTime.parse(rs.getString("end"));
-					String bookedBy = rs.getString("booked_by");
+				}
+			}
+		} catch (SQLException e) {
+			throw new IllegalStateException("Unable to load archived bookings from database", e);
+		}
+		results.sort(Comparator.comparing(ArchivedBooking::start));
+		return results;
+	}
+
+	/**
+	 * Returns the latest end time of any archived booking, or null if the
+	 * archive is empty.
+	 */
+	public LocalDateTime loadArchiveHorizon() {
+		String sql = "SELECT MAX(last_end) AS horizon FROM booking_archive";
+		try (Connection conn = getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+			enableForeignKeys(conn);
+			try (ResultSet rs = ps.executeQuery()) {
+				String horizon = rs.next() ? rs.getString("horizon") : null;
+				return horizon == null ? null : LocalDateTime.parse(horizon);
+			}
+		} catch (SQLException e) {
+			throw new IllegalStateException("Unable to read the booking archive", e);
+		}
+	}
+
+	public List<WaitlistEntry> loadWaitlist() {
+		List<WaitlistEntry> results = new ArrayList<>();
+		String sql =
+			"SELECT id, room_name, start, end, requested_by, priority, requested_at " +
+			"FROM waitlist ORDER BY requested_at";
+		try (Connection conn = getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+			enableForeignKeys(conn);
+			try (ResultSet rs = ps.executeQuery()) {
+				while (rs.next()) {
 					results.add(
-						new Booking(
-							java.util.UUID.fromString(rs.getString("id")),
-							room,
-							start,
-							end,
-							bookedBy
+						new WaitlistEntry(
+							UUID.fromString(rs.getString("id")),
+							rs.getString("room_name"),
+							LocalDateTime.parse(rs.getString("start")),
+							LocalDateTime.parse(rs.getString("end")),
+							rs.getString("requested_by"),
+							rs.getInt("priority"),
+							Instant.parse(rs.getString("requested_at"))
 						)
 					);
 				}
 			}
 		} catch (SQLException e) {
-			throw new IllegalStateException("Unable to load bookings from database", e);
+			throw new IllegalStateException("Unable to load the waitlist from database", e);
 		}
 		return results;
 	}
 
+	/**
+	 * Replaces the stored waitlist.
+	 */
+	public void saveWaitlist(List<WaitlistEntry> entries) {
+		Objects.requireNonNull(entries, "entries");
+		String sql =
+			"INSERT INTO waitlist (id, room_name, start, end, requested_by, priority, requested_at) " +
+			"VALUES (?, ?, ?, ?, ?, ?, ?)";
+		try (Connection conn = getConnection()) {
+			enableForeignKeys(conn);
+			conn.setAutoCommit(false);
+			try (PreparedStatement ps = conn.prepareStatement(sql)) {
+				clearTable(conn, "waitlist");
+				for (WaitlistEntry entry : entries) {
+					ps.setString(1, entry.id().toString());
+					ps.setString(2, entry.roomName());
+					ps.setString(3, entry.start().toString());
+					ps.setString(4, entry.end().toString());
+					ps.setString(5, entry.requestedBy());
+					ps.setInt(6, entry.priority());
+					ps.setString(7, entry.requestedAt().toString());
+					ps.addBatch();
+				}
+				ps.executeBatch();
+				conn.commit();
+			} catch (SQLException e) {
+				rollbackQuietly(conn);
+				throw e;
+			}
+		} catch (SQLException e) {
+			throw new IllegalStateException("Unable to persist the waitlist", e);
+		}
+	}
+
 	public void saveUsers(List<User> users) {
 		persistAll(users, loadRooms(), loadBookings());
 	}
@@ -147,26 +511,77 @@ public final class FileManager {
 		List<Room> rooms,
 		List<Booking> bookings
 	) {
-		Objects.requireNonNull(users, "users");
-		Objects.requireNonNull(rooms, "rooms");
-		Objects.requireNonNull(bookings, "bookings");
-		try (Connection conn = getConnection()) {
-			enableForeignKeys(conn);
-			conn.setAutoCommit(false);
-			try {
-				clearTable(conn, "bookings");
-				clearTable(conn, "rooms");
-				clearTable(conn, "users");
-				insertUsers(conn, users);
-				insertRooms(conn, rooms);
-				insertBookings(conn, bookings);
-				conn.commit();
+		persistAll(users, rooms, bookings, null);
+	}
+
+	public void persistAll(
+		List<User> users,
+		List<Room> rooms,
+		List<Booking> bookings,
+		List<IdempotencyRecord> idempotencyRecords
+	) {
+		persistAll(users, rooms, bookings, idempotencyRecords, null);
+	}
+
+	/**
+	 * Persists the full scheduler state, replacing the stored idempotency keys
+	 * and occupancy rollups when {@code idempotencyRecords} or {@code occupancy}
+	 * is non-null.
+	 */
+	public void persistAll(
+		List<User> users,
+		List<Room> rooms,
+		List<Booking> bookings,
+		List<IdempotencyRecord> idempotencyRecords,
+		List<RoomOccupancy> occupancy
+	) {
+		PersistEvent event = new PersistEvent();
+		event.succeeded = true;
+		event.begin();
+		long started = persistTimer.start();
+		try {
+			Objects.requireNonNull(users, "users");
+			Objects.requireNonNull(rooms, "rooms");
+			Objects.requireNonNull(bookings, "bookings");
+			try (Connection conn = getConnection()) {
+				enableForeignKeys(conn);
+				conn.setAutoCommit(false);
+				try {
+					clearTable(conn, "bookings");
+					clearTable(conn, "rooms");
+					clearTable(conn, "users");
+					insertUsers(conn, users);
+					insertRooms(conn, rooms);
+					insertBookings(conn, bookings);
+					if (idempotencyRecords != null) {
+						clearTable(conn, "idempotency_keys");
+						insertIdempotencyRecords(conn, idempotencyRecords);
+					}
+					if (occupancy != null) {
+						clearTable(conn, "room_occupancy");
+						insertOccupancy(conn, occupancy);
+					}
+					conn.commit();
+					long rows = (long) users.size() + rooms.size() + bookings.size() +
+						(idempotencyRecords == null ? 0 : idempotencyRecords.size()) +
+						(occupancy == null ? 0 : occupancy.size());
+					persistRows.add(rows);
+					lastPersistRows = rows;
+					event.rowsAffected = rows;
+				} catch (SQLException e) {
+					rollbackQuietly(conn);
+					throw e;
+				}
 			} catch (SQLException e) {
-				rollbackQuietly(conn);
-				throw e;
+				throw new IllegalStateException("Unable to persist scheduler data", e);
 			}
-		} catch (SQLException e) {
-			throw new IllegalStateException("Unable to persist scheduler data", e);
+		} catch (RuntimeException ex) {
+			event.succeeded = false;
+			throw ex;
+		} finally {
+			persistTimer.stop(started);
+			event.operation = "persistAll";
+			event.commit();
 		}
 	}
 
@@ -198,9 +613,13 @@ public final class FileManager {
 				"CREATE TABLE IF NOT EXISTS rooms (" +
 				"name TEXT PRIMARY KEY," +
 				"capacity INTEGER NOT NULL," +
-				"description TEXT NOT NULL" +
+				"description TEXT NOT NULL," +
+				"location TEXT NOT NULL DEFAULT ''," +
+				"tags TEXT NOT NULL DEFAULT ''" +
 				")"
 			);
+			addColumnIfMissing(conn, "rooms", "location", "TEXT NOT NULL DEFAULT ''");
+			addColumnIfMissing(conn, "rooms", "tags", "TEXT NOT NULL DEFAULT ''");
 			stmt.executeUpdate(
 				"CREATE TABLE IF NOT EXISTS bookings (" +
 				"id TEXT PRIMARY KEY," +
@@ -212,11 +631,118 @@ public final class FileManager {
 				"FOREIGN KEY(booked_by) REFERENCES users(username) ON DELETE CASCADE" +
 				")"
 			);
+			boolean rekeyIdempotency = renameUnscopedIdempotencyKeys(conn);
+			stmt.executeUpdate(
+				"CREATE TABLE IF NOT EXISTS idempotency_keys (" +
+				"idem_key TEXT NOT NULL," +
+				"operation TEXT NOT NULL," +
+				"actor TEXT NOT NULL," +
+				"booking_ids TEXT NOT NULL," +
+				"created_at TEXT NOT NULL," +
+				"PRIMARY KEY(actor, idem_key)" +
+				")"
+			);
+			if (rekeyIdempotency) {
+				stmt.executeUpdate(
+					"INSERT INTO idempotency_keys (idem_key, operation, actor, booking_ids, created_at) " +
+					"SELECT idem_key, operation, actor, booking_ids, created_at FROM idempotency_keys_unscoped"
+				);
+				stmt.executeUpdate("DROP TABLE idempotency_keys_unscoped");
+			}
+			stmt.executeUpdate(
+				"CREATE TABLE IF NOT EXISTS quotas (" +
+				"subject TEXT PRIMARY KEY," +
+				"max_active INTEGER NOT NULL," +
+				"max_hours_per_week INTEGER NOT NULL" +
+				")"
+			);
+			stmt.executeUpdate(
+				"CREATE TABLE IF NOT EXISTS room_occupancy (" +
+				"room_name TEXT NOT NULL," +
+				"day TEXT NOT NULL," +
+				"booked_minutes INTEGER NOT NULL," +
+				"bookings INTEGER NOT NULL," +
+				"first_start TEXT," +
+				"last_end TEXT," +
+				"PRIMARY KEY(room_name, day)" +
+				")"
+			);
+			stmt.executeUpdate(
+				"CREATE TABLE IF NOT EXISTS waitlist (" +
+				"id TEXT PRIMARY KEY," +
+				"room_name TEXT NOT NULL," +
+				"start TEXT NOT NULL," +
+				"end TEXT NOT NULL," +
+				"requested_by TEXT NOT NULL," +
+				"priority INTEGER NOT NULL," +
+				"requested_at TEXT NOT NULL" +
+				")"
+			);
+			stmt.executeUpdate(
+				"CREATE TABLE IF NOT EXISTS booking_archive (" +
+				"chunk INTEGER PRIMARY KEY AUTOINCREMENT," +
+				"first_start TEXT NOT NULL," +
+				"last_end TEXT NOT NULL," +
+				"bookings INTEGER NOT NULL," +
+				"data BLOB NOT NULL" +
+				")"
+			);
+			stmt.executeUpdate(
+				"CREATE INDEX IF NOT EXISTS booking_archive_first_start ON booking_archive(first_start)"
+			);
 		} catch (SQLException e) {
 			throw new IllegalStateException("Unable to initialize database schema", e);
 		}
 	}
 
+	/**
+	 * Brings a table created by an older version up to date.
+	 */
+	private void addColumnIfMissing(
+		Connection conn,
+		String table,
+		String column,
+		String definition
+	) throws SQLException {
+		try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("PRAGMA table_info(" + table + ")")) {
+			while (rs.next()) {
+				if (rs.getString("name").equalsIgnoreCase(column)) {
+					return;
+				}
+			}
+		}
+		try (Statement stmt = conn.createStatement()) {
+			stmt.executeUpdate("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+		}
+	}
+
+	/**
+	 * Moves aside an idempotency table from before keys were scoped by user,
+	 * whose primary key is the key alone, so it can be recreated and refilled.
+	 *
+	 * @return whether the table was moved aside
+	 */
+	private boolean renameUnscopedIdempotencyKeys(Connection conn) throws SQLException {
+		boolean unscoped = false;
+		try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("PRAGMA table_info(idempotency_keys)")) {
+			while (rs.next()) {
+				if (rs.getString("name").equalsIgnoreCase("actor")) {
+					unscoped = rs.getInt("pk") == 0;
+				}
+			}
+		}
+		if (unscoped) {
+			try (Statement stmt = conn.createStatement()) {
+				stmt.executeUpdate("ALTER TABLE idempotency_keys RENAME TO idempotency_keys_unscoped");
+			}
+		}
+		return unscoped;
+	}
+
+	private static List<String> splitTags(String tags) {
+		return tags == null || tags.isEmpty() ? List.of() : List.of(tags.split(","));
+	}
+
 	private void ensureDirectory() {
 		try {
 			Files.createDirectories(dataDirectory);
@@ -256,7 +782,7 @@ public final class FileManager {
 		try (PreparedStatement ps = conn.prepareStatement(sql)) {
 			for (User user : users) {
 				ps.setString(1, user.getUsername());
-				ps.setString(2, extractPassword(user));
+				ps.setString(2, user.getPasswordHash());
 				ps.setString(3, user.getRole().name());
 				ps.addBatch();
 			}
@@ -264,13 +790,28 @@ public final class FileManager {
 		}
 	}
 
+	private void rehashLegacyPasswords(Connection conn, List<User> users) throws SQLException {
+		String sql = "UPDATE users SET password = ? WHERE username = ?";
+		try (PreparedStatement ps = conn.prepareStatement(sql)) {
+			for (User user : users) {
+				ps.setString(1, user.getPasswordHash());
+				ps.setString(2, user.getUsername());
+				ps.addBatch();
+			}
+			ps.executeBatch();
+		}
+	}
+
 	private void insertRooms(Connection conn, List<Room> rooms) throws SQLException {
-		String sql = "INSERT INTO rooms (name, capacity, description) VALUES (?, ?, ?)";
+		String sql =
+			"INSERT INTO rooms (name, capacity, description, location, tags) VALUES (?, ?, ?, ?, ?)";
 		try (PreparedStatement ps = conn.prepareStatement(sql)) {
 			for (Room room : rooms) {
 				ps.setString(1, room.getName());
 				ps.setInt(2, room.getCapacity());
 				ps.setString(3, room.getDescription());
+				ps.setString(4, room.getLocation());
+				ps.setString(5, String.join(",", room.getTags()));
 				ps.addBatch();
 			}
 			ps.executeBatch();
@@ -293,6 +834,50 @@ public final class FileManager {
 		}
 	}
 
+	private void insertIdempotencyRecords(
+		Connection conn,
+		List<IdempotencyRecord> records
+	) throws SQLException {
+		String sql =
+			"INSERT INTO idempotency_keys (idem_key, operation, actor, booking_ids, created_at) " +
+			"VALUES (?, ?, ?, ?, ?)";
+		try (PreparedStatement ps = conn.prepareStatement(sql)) {
+			for (IdempotencyRecord record : records) {
+				ps.setString(1, record.key());
+				ps.setString(2, record.operation().name());
+				ps.setString(3, record.actor());
+				ps.setString(
+					4,
+					String.join(
+						",",
+						record.bookingIds().stream().map(UUID::toString).toList()
+					)
+				);
+				ps.setString(5, record.createdAt().toString());
+				ps.addBatch();
+			}
+			ps.executeBatch();
+		}
+	}
+
+	private void insertOccupancy(Connection conn, List<RoomOccupancy> occupancy) throws SQLException {
+		String sql =
+			"INSERT INTO room_occupancy (room_name, day, booked_minutes, bookings, first_start, last_end) " +
+			"VALUES (?, ?, ?, ?, ?, ?)";
+		try (PreparedStatement ps = conn.prepareStatement(sql)) {
+			for (RoomOccupancy day : occupancy) {
+				ps.setString(1, day.roomName());
+				ps.setString(2, day.day().toString());
+				ps.setLong(3, day.bookedMinutes());
+				ps.setInt(4, day.bookings());
+				ps.setString(5, day.firstStart() == null ? null : day.firstStart().toString());
+				ps.setString(6, day.lastEnd() == null ? null : day.lastEnd().toString());
+				ps.addBatch();
+			}
+			ps.executeBatch();
+		}
+	}
+
 	private User instantiateUser(Role role, String username, String password) {
 		return switch (role) {
 			case ADMIN -> new Admin(username, password);
@@ -301,14 +886,4 @@ public final class FileManager {
 			case GUEST -> new Guest(username, password);
 		};
 	}
-
-	private String extractPassword(User user) {
-		try {
-			Field field = User.class.getDeclaredField("password");
-			field.setAccessible(true);
-			return (String) field.get(user);
-		} catch (ReflectiveOperationException e) {
-			throw new IllegalStateException("Unable to access user password for persistence", e);
-		}
-	}
 }
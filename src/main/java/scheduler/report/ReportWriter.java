@@ -0,0 +1,197 @@
+package scheduler.report;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+import scheduler.report.UtilizationReport.Granularity;
+
+/**
+ * Writes a {@link UtilizationReport} as CSV or JSON, one room at a time, so the
+ * output is never held in memory as a whole.
+ */
+public final class ReportWriter {
+
+	/** Output format, chosen from a file extension by {@link #forFileName}. */
+	public enum Format {
+		CSV,
+		JSON
+	}
+
+	private ReportWriter() {
+	}
+
+	public static Format forFileName(String fileName) {
+		return fileName.toLowerCase(Locale.ROOT).endsWith(".json") ? Format.JSON : Format.CSV;
+	}
+
+	public static void write(
+		UtilizationReport report,
+		Granularity granularity,
+		Format format,
+		Writer out
+	) throws IOException {
+		if (format == Format.JSON) {
+			writeJson(report, granularity, out);
+		} else {
+			writeCsv(report, granularity, out);
+		}
+		out.flush();
+	}
+
+	/**
+	 * Writes one row per room, or per room and period for finer granularities.
+	 * Only {@link Granularity#TOTAL} rows carry the booking count, peak hour and
+	 * idle flag.
+	 */
+	public static void writeCsv(
+		UtilizationReport report,
+		Granularity granularity,
+		Writer out
+	) throws IOException {
+		boolean total = granularity == Granularity.TOTAL;
+		out.write(
+			total
+				? "room,capacity,bookings,booked_minutes,open_minutes,utilization_pct,peak_hour,idle\n"
+				: "room,capacity,period,booked_minutes,open_minutes,utilization_pct\n"
+		);
+		StringBuilder line = new StringBuilder();
+		for (RoomUtilization room : report.getRooms()) {
+			if (total) {
+				line.setLength(0);
+				line.append(csv(room.getRoom())).append(',').append(room.getCapacity());
+				line.append(',').append(room.getBookings());
+				line.append(',').append(room.getBookedMinutes());
+				line.append(',').append(room.getOpenMinutes());
+				line.append(',').append(percent(room.getUtilization()));
+				line.append(',').append(room.getPeakHour() < 0 ? "" : hour(room.getPeakHour()));
+				line.append(',').append(room.isIdle()).append('\n');
+				out.append(line);
+				continue;
+			}
+			String prefix = csv(room.getRoom()) + "," + room.getCapacity() + ",";
+			IOException[] failure = new IOException[1];
+			report.forEachPeriod(room, granularity, (period, booked, open) -> {
+				if (failure[0] != null) {
+					return;
+				}
+				line.setLength(0);
+				line.append(prefix).append(period);
+				line.append(',').append(booked);
+				line.append(',').append(open);
+				line.append(',').append(percent(RoomUtilization.percent(booked, open))).append('\n');
+				try {
+					out.append(line);
+				} catch (IOException ex) {
+					failure[0] = ex;
+				}
+			});
+			if (failure[0] != null) {
+				throw failure[0];
+			}
+		}
+	}
+
+	/**
+	 * Writes a summary (overall and hourly utilization, peak hour, idle rooms)
+	 * followed by every room, with its periods unless the granularity is
+	 * {@link Granularity#TOTAL}.
+	 */
+	public static void writeJson(
+		UtilizationReport report,
+		Granularity granularity,
+		Writer out
+	) throws IOException {
+		StringBuilder json = new StringBuilder("{");
+		json.append("\"from\":").append(quote(report.getFrom().toString()));
+		json.append(",\"to\":").append(quote(report.getTo().toString()));
+		json.append(",\"opens\":").append(quote(report.getOpens().toString()));
+		json.append(",\"closes\":").append(quote(report.getCloses().toString()));
+		json.append(",\"granularity\":").append(quote(granularity.name().toLowerCase(Locale.ROOT)));
+		json.append(",\"summary\":{\"rooms\":").append(report.getRooms().size());
+		json.append(",\"utilizationPct\":").append(percent(report.getUtilization()));
+		int peak = report.getPeakHour();
+		json.append(",\"peakHour\":").append(peak < 0 ? "null" : quote(hour(peak)));
+		json.append(",\"hourly\":[");
+		boolean first = true;
+		for (int hour = 0; hour < UtilizationReport.HOURS_PER_DAY; hour++) {
+			json.append(first ? "" : ",").append("{\"hour\":").append(quote(hour(hour)));
+			json.append(",\"utilizationPct\":").append(percent(report.getUtilizationInHour(hour))).append('}');
+			first = false;
+		}
+		json.append("],\"idleRooms\":[");
+		List<String> idle = report.getIdleRooms();
+		for (int i = 0; i < idle.size(); i++) {
+			json.append(i == 0 ? "" : ",").append(quote(idle.get(i)));
+		}
+		json.append("]},\"rooms\":[");
+		out.append(json);
+
+		first = true;
+		for (RoomUtilization room : report.getRooms()) {
+			json.setLength(0);
+			json.append(first ? "\n" : ",\n").append("{\"room\":").append(quote(room.getRoom()));
+			json.append(",\"capacity\":").append(room.getCapacity());
+			json.append(",\"bookings\":").append(room.getBookings());
+			json.append(",\"bookedMinutes\":").append(room.getBookedMinutes());
+			json.append(",\"openMinutes\":").append(room.getOpenMinutes());
+			json.append(",\"utilizationPct\":").append(percent(room.getUtilization()));
+			json.append(",\"peakHour\":").append(room.getPeakHour() < 0 ? "null" : quote(hour(room.getPeakHour())));
+			json.append(",\"idle\":").append(room.isIdle());
+			if (granularity != Granularity.TOTAL) {
+				json.append(",\"periods\":[");
+				boolean[] firstPeriod = {true};
+				report.forEachPeriod(room, granularity, (period, booked, open) -> {
+					json.append(firstPeriod[0] ? "" : ",").append("{\"period\":").append(quote(period));
+					json.append(",\"bookedMinutes\":").append(booked);
+					json.append(",\"openMinutes\":").append(open);
+					json.append(",\"utilizationPct\":").append(percent(RoomUtilization.percent(booked, open)));
+					json.append('}');
+					firstPeriod[0] = false;
+				});
+				json.append(']');
+			}
+			out.append(json.append('}'));
+			first = false;
+		}
+		out.write("\n]}\n");
+	}
+
+	private static String percent(double value) {
+		return String.format(Locale.ROOT, "%.2f", value);
+	}
+
+	private static String hour(int hour) {
+		return String.format(Locale.ROOT, "%02d:00", hour);
+	}
+
+	/** Quotes {@code value} for a CSV field when it holds a comma, quote or newline. */
+	public static String csv(String value) {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+			return value;
+		}
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+
+	private static String quote(String value) {
+		StringBuilder json = new StringBuilder("\"");
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"' -> json.append("\\\"");
+				case '\\' -> json.append("\\\\");
+				case '\n' -> json.append("\\n");
+				case '\r' -> json.append("\\r");
+				case '\t' -> json.append("\\t");
+				default -> {
+					if (c < 0x20) {
+						json.append(String.format("\\u%04x", (int) c));
+					} else {
+						json.append(c);
+					}
+				}
+			}
+		}
+		return json.append('"').toString();
+	}
+}
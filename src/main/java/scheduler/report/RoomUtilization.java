@@ -0,0 +1,105 @@
+package scheduler.report;
+
+/**
+ * Booked minutes for one room over a report range, bucketed by day and by hour
+ * of day. Only minutes inside the report's opening hours are counted.
+ */
+public final class RoomUtilization {
+
+	private final String room;
+	private final int capacity;
+	private final int bookings;
+	private final int[] minutesByDay;
+	private final long[] minutesByHour;
+	private final int openMinutesPerDay;
+	private final int[] openMinutesByHour;
+
+	RoomUtilization(
+		String room,
+		int capacity,
+		int bookings,
+		int[] minutesByDay,
+		long[] minutesByHour,
+		int openMinutesPerDay,
+		int[] openMinutesByHour
+	) {
+		this.room = room;
+		this.capacity = capacity;
+		this.bookings = bookings;
+		this.minutesByDay = minutesByDay;
+		this.minutesByHour = minutesByHour;
+		this.openMinutesPerDay = openMinutesPerDay;
+		this.openMinutesByHour = openMinutesByHour;
+	}
+
+	public String getRoom() {
+		return room;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/** @return bookings that overlap the range's opening hours */
+	public int getBookings() {
+		return bookings;
+	}
+
+	public boolean isIdle() {
+		return bookings == 0;
+	}
+
+	public long getBookedMinutes() {
+		long total = 0;
+		for (int minutes : minutesByDay) {
+			total += minutes;
+		}
+		return total;
+	}
+
+	public long getOpenMinutes() {
+		return (long) openMinutesPerDay * minutesByDay.length;
+	}
+
+	/** @return booked share of open minutes, 0-100 */
+	public double getUtilization() {
+		return percent(getBookedMinutes(), getOpenMinutes());
+	}
+
+	/** @return the hour of day (0-23) with the most booked minutes, or -1 if idle */
+	public int getPeakHour() {
+		int peak = -1;
+		long most = 0;
+		for (int hour = 0; hour < minutesByHour.length; hour++) {
+			if (minutesByHour[hour] > most) {
+				most = minutesByHour[hour];
+				peak = hour;
+			}
+		}
+		return peak;
+	}
+
+	int days() {
+		return minutesByDay.length;
+	}
+
+	long bookedMinutesOnDay(int day) {
+		return minutesByDay[day];
+	}
+
+	long bookedMinutesInHour(int hour) {
+		return minutesByHour[hour];
+	}
+
+	long openMinutesInHour(int hour) {
+		return (long) openMinutesByHour[hour] * minutesByDay.length;
+	}
+
+	long openMinutesPerDay() {
+		return openMinutesPerDay;
+	}
+
+	static double percent(long part, long whole) {
+		return whole == 0 ? 0 : 100.0 * part / whole;
+	}
+}
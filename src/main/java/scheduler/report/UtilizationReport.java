@@ -0,0 +1,285 @@
+package scheduler.report;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Function;
+import scheduler.model.Booking;
+import scheduler.model.Room;
+
+/**
+ * Room occupancy over a date range: booked share of opening hours per room and
+ * across all rooms, peak hours and idle rooms.
+ *
+ * <p>{@link #compute} makes one pass over each room's bookings, in parallel
+ * across rooms, adding clipped minutes straight into per-day and per-hour
+ * counters; nothing is allocated per booking.
+ */
+public final class UtilizationReport {
+
+	/** Period a report row covers. */
+	public enum Granularity {
+		/** One row per room for the whole range. */
+		TOTAL,
+		/** One row per hour of day, summed over the range. */
+		HOUR,
+		DAY,
+		/** Seven-day periods counted from the first day of the range. */
+		WEEK
+	}
+
+	/** Receives one period of a room's series. */
+	@FunctionalInterface
+	public interface PeriodConsumer {
+		void accept(String period, long bookedMinutes, long openMinutes);
+	}
+
+	static final int HOURS_PER_DAY = 24;
+	private static final int MINUTES_PER_HOUR = 60;
+	private static final int MINUTES_PER_DAY = HOURS_PER_DAY * MINUTES_PER_HOUR;
+
+	private final LocalDate from;
+	private final LocalDate to;
+	private final LocalTime opens;
+	private final LocalTime closes;
+	private final List<RoomUtilization> rooms;
+
+	private UtilizationReport(
+		LocalDate from,
+		LocalDate to,
+		LocalTime opens,
+		LocalTime closes,
+		List<RoomUtilization> rooms
+	) {
+		this.from = from;
+		this.to = to;
+		this.opens = opens;
+		this.closes = closes;
+		this.rooms = rooms;
+	}
+
+	/**
+	 * Measures each room over the days {@code from} to {@code to} inclusive,
+	 * counting only time between {@code opens} and {@code closes} each day
+	 * ({@code closes} of midnight means the end of the day).
+	 *
+	 * @param bookingsFor returns bookings in a room ordered by start that cover
+	 *     every booking overlapping the range; extra ones are clipped away. It is
+	 *     called from several threads at once, so it must only read.
+	 */
+	public static UtilizationReport compute(
+		LocalDate from,
+		LocalDate to,
+		LocalTime opens,
+		LocalTime closes,
+		List<Room> rooms,
+		Function<String, List<Booking>> bookingsFor
+	) {
+		Objects.requireNonNull(from, "from");
+		Objects.requireNonNull(to, "to");
+		Objects.requireNonNull(opens, "opens");
+		Objects.requireNonNull(closes, "closes");
+		Objects.requireNonNull(bookingsFor, "bookingsFor");
+		if (to.isBefore(from)) {
+			throw new IllegalArgumentException("Report end date must not be before its start date");
+		}
+		int openMinute = opens.toSecondOfDay() / MINUTES_PER_HOUR;
+		int closeMinute = closes.equals(LocalTime.MIDNIGHT)
+			? MINUTES_PER_DAY
+			: closes.toSecondOfDay() / MINUTES_PER_HOUR;
+		if (closeMinute <= openMinute) {
+			throw new IllegalArgumentException("Closing time must be after opening time");
+		}
+		long days = ChronoUnit.DAYS.between(from, to) + 1;
+		if (days > 3660) {
+			throw new IllegalArgumentException("Report range must not exceed ten years");
+		}
+		int[] openByHour = new int[HOURS_PER_DAY];
+		for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+			int start = Math.max(openMinute, hour * MINUTES_PER_HOUR);
+			int end = Math.min(closeMinute, (hour + 1) * MINUTES_PER_HOUR);
+			openByHour[hour] = Math.max(0, end - start);
+		}
+		long origin = minuteOf(from.atStartOfDay());
+		List<RoomUtilization> measured = rooms
+			.parallelStream()
+			.map(room ->
+				measure(
+					room,
+					bookingsFor.apply(room.getName()),
+					origin,
+					(int) days,
+					openMinute,
+					closeMinute,
+					openByHour
+				)
+			)
+			.toList();
+		return new UtilizationReport(from, to, opens, closes, measured);
+	}
+
+	private static RoomUtilization measure(
+		Room room,
+		List<Booking> bookings,
+		long origin,
+		int days,
+		int openMinute,
+		int closeMinute,
+		int[] openByHour
+	) {
+		int[] byDay = new int[days];
+		long[] byHour = new long[HOURS_PER_DAY];
+		long limit = (long) days * MINUTES_PER_DAY;
+		int count = 0;
+		for (Booking booking : bookings) {
+			long start = Math.max(0, minuteOf(booking.getStart()) - origin);
+			long end = Math.min(limit, minuteOf(booking.getEnd()) - origin);
+			boolean counted = false;
+			while (start < end) {
+				int day = (int) (start / MINUTES_PER_DAY);
+				long dayStart = (long) day * MINUTES_PER_DAY;
+				long windowStart = Math.max(start, dayStart + openMinute);
+				long windowEnd = Math.min(end, dayStart + closeMinute);
+				for (long minute = windowStart; minute < windowEnd;) {
+					long hourEnd = Math.min(windowEnd, (minute / MINUTES_PER_HOUR + 1) * MINUTES_PER_HOUR);
+					byHour[(int) (minute / MINUTES_PER_HOUR % HOURS_PER_DAY)] += hourEnd - minute;
+					minute = hourEnd;
+				}
+				if (windowEnd > windowStart) {
+					byDay[day] += (int) (windowEnd - windowStart);
+					counted = true;
+				}
+				start = dayStart + MINUTES_PER_DAY;
+			}
+			if (counted) {
+				count++;
+			}
+		}
+		return new RoomUtilization(
+			room.getName(),
+			room.getCapacity(),
+			count,
+			byDay,
+			byHour,
+			closeMinute - openMinute,
+			openByHour
+		);
+	}
+
+	private static long minuteOf(LocalDateTime time) {
+		return time.toEpochSecond(ZoneOffset.UTC) / MINUTES_PER_HOUR;
+	}
+
+	public LocalDate getFrom() {
+		return from;
+	}
+
+	public LocalDate getTo() {
+		return to;
+	}
+
+	public LocalTime getOpens() {
+		return opens;
+	}
+
+	public LocalTime getCloses() {
+		return closes;
+	}
+
+	/** @return rooms in the order they were given to {@link #compute} */
+	public List<RoomUtilization> getRooms() {
+		return rooms;
+	}
+
+	public List<String> getIdleRooms() {
+		List<String> idle = new ArrayList<>();
+		for (RoomUtilization room : rooms) {
+			if (room.isIdle()) {
+				idle.add(room.getRoom());
+			}
+		}
+		return idle;
+	}
+
+	/** @return booked share of open minutes across all rooms, 0-100 */
+	public double getUtilization() {
+		long booked = 0;
+		long open = 0;
+		for (RoomUtilization room : rooms) {
+			booked += room.getBookedMinutes();
+			open += room.getOpenMinutes();
+		}
+		return RoomUtilization.percent(booked, open);
+	}
+
+	/** @return booked share of the hour across all rooms, 0-100 */
+	public double getUtilizationInHour(int hour) {
+		long booked = 0;
+		long open = 0;
+		for (RoomUtilization room : rooms) {
+			booked += room.bookedMinutesInHour(hour);
+			open += room.openMinutesInHour(hour);
+		}
+		return RoomUtilization.percent(booked, open);
+	}
+
+	/** @return the busiest hour of day (0-23) across all rooms, or -1 if nothing is booked */
+	public int getPeakHour() {
+		int peak = -1;
+		long most = 0;
+		for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+			long booked = 0;
+			for (RoomUtilization room : rooms) {
+				booked += room.bookedMinutesInHour(hour);
+			}
+			if (booked > most) {
+				most = booked;
+				peak = hour;
+			}
+		}
+		return peak;
+	}
+
+	/**
+	 * Feeds {@code room}'s series at {@code granularity} to {@code consumer},
+	 * skipping hours that are outside opening hours.
+	 */
+	public void forEachPeriod(RoomUtilization room, Granularity granularity, PeriodConsumer consumer) {
+		switch (granularity) {
+			case TOTAL -> consumer.accept(from + "/" + to, room.getBookedMinutes(), room.getOpenMinutes());
+			case HOUR -> {
+				for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+					long open = room.openMinutesInHour(hour);
+					if (open > 0) {
+						consumer.accept(String.format(Locale.ROOT, "%02d:00", hour), room.bookedMinutesInHour(hour), open);
+					}
+				}
+			}
+			case DAY -> {
+				for (int day = 0; day < room.days(); day++) {
+					consumer.accept(from.plusDays(day).toString(), room.bookedMinutesOnDay(day), room.openMinutesPerDay());
+				}
+			}
+			case WEEK -> {
+				for (int week = 0; week * 7 < room.days(); week++) {
+					long booked = 0;
+					int end = Math.min(room.days(), week * 7 + 7);
+					for (int day = week * 7; day < end; day++) {
+						booked += room.bookedMinutesOnDay(day);
+					}
+					consumer.accept(
+						from.plusWeeks(week).toString(),
+						booked,
+						room.openMinutesPerDay() * (end - week * 7)
+					);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package scheduler.service;
+
+import java.util.List;
+
+/**
+ * Proposed rooms for a batch of {@link RoomRequest}s, produced by
+ * {@link SchedulerSystem#planAssignments} and applied as a whole by
+ * {@link SchedulerSystem#commitAssignments}. Nothing is reserved until then.
+ *
+ * @param assignments requests that fit, each with its room, in request order
+ * @param unassigned requests no eligible room could take, in request order
+ */
+public record AssignmentPlan(List<Assignment> assignments, List<RoomRequest> unassigned) {
+
+	public record Assignment(RoomRequest request, String roomName) {}
+
+	public AssignmentPlan {
+		assignments = List.copyOf(assignments);
+		unassigned = List.copyOf(unassigned);
+	}
+
+	public int requestCount() {
+		return assignments.size() + unassigned.size();
+	}
+
+	public int slotCount() {
+		return assignments.stream().mapToInt(assignment -> assignment.request().slots().size()).sum();
+	}
+}
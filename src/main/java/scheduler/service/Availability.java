@@ -0,0 +1,35 @@
+package scheduler.service;
+
+import java.util.List;
+import scheduler.model.Booking;
+import scheduler.model.TimeSlot;
+
+/**
+ * Result of {@link SchedulerSystem#checkAvailability}: the bookings a request
+ * conflicts with and, if there are any, free alternatives, best first.
+ *
+ * @param conflicts bookings overlapping the requested slots
+ * @param alternatives free slots to offer instead; empty when there is no conflict
+ */
+public record Availability(List<Booking> conflicts, List<Alternative> alternatives) {
+
+	/**
+	 * The requested slots in another room, or one slot of the same length at
+	 * another time in the requested room.
+	 */
+	public record Alternative(String roomName, List<TimeSlot> slots) {
+
+		public Alternative {
+			slots = List.copyOf(slots);
+		}
+	}
+
+	public Availability {
+		conflicts = List.copyOf(conflicts);
+		alternatives = List.copyOf(alternatives);
+	}
+
+	public boolean isAvailable() {
+		return conflicts.isEmpty();
+	}
+}
@@ -0,0 +1,12 @@
+package scheduler.service;
+
+/**
+ * Thrown when a requested slot overlaps an existing booking or an active hold,
+ * as opposed to other reasons a booking is refused, such as quotas.
+ */
+public class BookingConflictException extends IllegalStateException {
+
+	public BookingConflictException(String message) {
+		super(message);
+	}
+}
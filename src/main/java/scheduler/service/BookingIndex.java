@@ -0,0 +1,369 @@
+package scheduler.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import scheduler.model.Booking;
+
+/**
+ * In-memory indexes over the booking set: by id, and ordered by start time
+ * overall, per room, and per owner.
+ *
+ * <p>Each ordered index is an array sorted by start then id, so a time range
+ * resolves with two binary searches into a random-access sublist. Start is part
+ * of the sort key, so callers must remove a booking before changing its times
+ * and add it back afterwards.
+ */
+final class BookingIndex {
+
+	static final Comparator<Booking> BY_START = Comparator
+		.comparing(Booking::getStart)
+		.thenComparing(Booking::getId);
+
+	private final Map<UUID, Booking> byId = new HashMap<>();
+	private final SortedBookings all = new SortedBookings();
+	private final Map<String, SortedBookings> byRoom = new HashMap<>();
+	private final Map<String, SortedBookings> byOwner = new HashMap<>();
+
+	BookingIndex(Collection<Booking> initial) {
+		addAll(initial);
+	}
+
+	void add(Booking booking) {
+		if (byId.putIfAbsent(booking.getId(), booking) != null) {
+			return;
+		}
+		all.add(booking);
+		byRoom.computeIfAbsent(roomKey(booking), key -> new SortedBookings()).add(booking);
+		byOwner.computeIfAbsent(ownerKey(booking), key -> new SortedBookings()).add(booking);
+	}
+
+	void addAll(Collection<Booking> bookings) {
+		List<Booking> fresh = new ArrayList<>(bookings.size());
+		Map<String, List<Booking>> perRoom = new HashMap<>();
+		Map<String, List<Booking>> perOwner = new HashMap<>();
+		for (Booking booking : bookings) {
+			if (byId.putIfAbsent(booking.getId(), booking) != null) {
+				continue;
+			}
+			fresh.add(booking);
+			perRoom.computeIfAbsent(roomKey(booking), key -> new ArrayList<>()).add(booking);
+			perOwner.computeIfAbsent(ownerKey(booking), key -> new ArrayList<>()).add(booking);
+		}
+		all.addAll(fresh);
+		perRoom.forEach((key, group) ->
+			byRoom.computeIfAbsent(key, k -> new SortedBookings()).addAll(group)
+		);
+		perOwner.forEach((key, group) ->
+			byOwner.computeIfAbsent(key, k -> new SortedBookings()).addAll(group)
+		);
+	}
+
+	boolean remove(Booking booking) {
+		if (byId.remove(booking.getId()) == null) {
+			return false;
+		}
+		all.remove(booking);
+		removeFrom(byRoom, roomKey(booking), booking);
+		removeFrom(byOwner, ownerKey(booking), booking);
+		return true;
+	}
+
+	Optional<Booking> find(UUID id) {
+		return Optional.ofNullable(byId.get(id));
+	}
+
+	int size() {
+		return byId.size();
+	}
+
+	/**
+	 * @return every booking ordered by start; a live, unmodifiable view
+	 */
+	List<Booking> all() {
+		return all.view();
+	}
+
+	List<Booking> forRoom(String roomName) {
+		SortedBookings sorted = byRoom.get(key(roomName));
+		return sorted == null ? List.of() : sorted.view();
+	}
+
+	/**
+	 * @return the owner's bookings ordered by start; a live, unmodifiable view
+	 */
+	List<Booking> forOwner(String owner) {
+		SortedBookings sorted = byOwner.get(key(owner));
+		return sorted == null ? List.of() : sorted.view();
+	}
+
+	/**
+	 * Returns bookings in the room that overlap {@code [start, end)}, visiting only
+	 * those that start less than the room's longest booking before {@code start}.
+	 */
+	List<Booking> overlapping(String roomName, LocalDateTime start, LocalDateTime end) {
+		SortedBookings sorted = byRoom.get(key(roomName));
+		return sorted == null ? List.of() : sorted.overlapping(start, end);
+	}
+
+	/**
+	 * Returns a live view of the room's bookings, ordered by start, that may
+	 * overlap {@code [start, end)}: every overlapping booking plus any that start
+	 * within the room's longest booking before {@code start} but end earlier.
+	 * Nothing is copied, so callers must clip and must not hold on to the view.
+	 */
+	List<Booking> overlapCandidates(String roomName, LocalDateTime start, LocalDateTime end) {
+		SortedBookings sorted = byRoom.get(key(roomName));
+		return sorted == null ? List.of() : sorted.overlapCandidates(start, end);
+	}
+
+	/**
+	 * Returns the earliest start at or after {@code from} where {@code length} fits
+	 * in the room without overlapping a booking other than {@code excludeId}, or
+	 * empty if that start would be after {@code horizon}.
+	 */
+	Optional<LocalDateTime> firstFreeStart(
+		String roomName,
+		LocalDateTime from,
+		Duration length,
+		UUID excludeId,
+		LocalDateTime horizon
+	) {
+		SortedBookings sorted = byRoom.get(key(roomName));
+		LocalDateTime start = sorted == null
+			? from
+			: sorted.firstFreeStart(from, length, excludeId, horizon);
+		return start == null || start.isAfter(horizon)
+			? Optional.empty()
+			: Optional.of(start);
+	}
+
+	/**
+	 * Returns the latest start at or before {@code before} where {@code length}
+	 * fits in the room without overlapping a booking other than {@code excludeId},
+	 * or empty if that start would be before {@code notBefore}.
+	 */
+	Optional<LocalDateTime> lastFreeStart(
+		String roomName,
+		LocalDateTime before,
+		Duration length,
+		UUID excludeId,
+		LocalDateTime notBefore
+	) {
+		SortedBookings sorted = byRoom.get(key(roomName));
+		LocalDateTime start = sorted == null
+			? before
+			: sorted.lastFreeStart(before, length, excludeId, notBefore);
+		return start == null || start.isBefore(notBefore)
+			? Optional.empty()
+			: Optional.of(start);
+	}
+
+	/**
+	 * Returns bookings starting in {@code [from, to)} (either bound may be null),
+	 * optionally restricted to a room and/or owner, ordered by start. The result
+	 * is random-access so callers can page through it by offset.
+	 */
+	List<Booking> startingBetween(
+		String roomName,
+		String owner,
+		LocalDateTime from,
+		LocalDateTime to
+	) {
+		if (roomName != null && owner != null) {
+			SortedBookings room = byRoom.get(key(roomName));
+			SortedBookings mine = byOwner.get(key(owner));
+			if (room == null || mine == null) {
+				return List.of();
+			}
+			boolean scanRoom = room.view().size() <= mine.view().size();
+			String ownerKey = key(owner);
+			String roomKey = key(roomName);
+			return (scanRoom ? room : mine)
+				.startingBetween(from, to)
+				.stream()
+				.filter(booking ->
+					scanRoom
+						? ownerKey(booking).equals(ownerKey)
+						: roomKey(booking).equals(roomKey)
+				)
+				.toList();
+		}
+		SortedBookings source = roomName != null
+			? byRoom.get(key(roomName))
+			: owner != null ? byOwner.get(key(owner)) : all;
+		return source == null ? List.of() : source.startingBetween(from, to);
+	}
+
+	static String key(String name) {
+		return name.toLowerCase(Locale.ROOT);
+	}
+
+	private static String roomKey(Booking booking) {
+		return key(booking.getRoom().getName());
+	}
+
+	private static String ownerKey(Booking booking) {
+		return key(booking.getBookedBy());
+	}
+
+	private static void removeFrom(
+		Map<String, SortedBookings> index,
+		String key,
+		Booking booking
+	) {
+		SortedBookings sorted = index.get(key);
+		if (sorted != null) {
+			sorted.remove(booking);
+			if (sorted.view().isEmpty()) {
+				index.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Array of bookings kept sorted by {@link #BY_START}.
+	 */
+	private static final class SortedBookings {
+
+		private final ArrayList<Booking> items = new ArrayList<>();
+		private final List<Booking> view = Collections.unmodifiableList(items);
+		private long longestSeconds;
+
+		List<Booking> view() {
+			return view;
+		}
+
+		void add(Booking booking) {
+			int index = Collections.binarySearch(items, booking, BY_START);
+			if (index < 0) {
+				items.add(-index - 1, booking);
+				track(booking);
+			}
+		}
+
+		void addAll(List<Booking> bookings) {
+			if (bookings.size() <= 8) {
+				bookings.forEach(this::add);
+				return;
+			}
+			items.addAll(bookings);
+			items.sort(BY_START);
+			bookings.forEach(this::track);
+		}
+
+		void remove(Booking booking) {
+			int index = Collections.binarySearch(items, booking, BY_START);
+			if (index >= 0) {
+				items.remove(index);
+			}
+		}
+
+		List<Booking> startingBetween(LocalDateTime from, LocalDateTime to) {
+			int low = from == null ? 0 : lowerBound(from);
+			int high = to == null ? items.size() : lowerBound(to);
+			return view.subList(low, Math.max(low, high));
+		}
+
+		List<Booking> overlapCandidates(LocalDateTime start, LocalDateTime end) {
+			int low = lowerBound(start.minusSeconds(longestSeconds));
+			return view.subList(low, Math.max(low, lowerBound(end)));
+		}
+
+		List<Booking> overlapping(LocalDateTime start, LocalDateTime end) {
+			int low = lowerBound(start.minusSeconds(longestSeconds));
+			int high = lowerBound(end);
+			List<Booking> matches = new ArrayList<>();
+			for (int i = low; i < high; i++) {
+				Booking booking = items.get(i);
+				if (booking.getEnd().isAfter(start)) {
+					matches.add(booking);
+				}
+			}
+			return matches;
+		}
+
+		LocalDateTime firstFreeStart(
+			LocalDateTime from,
+			Duration length,
+			UUID excludeId,
+			LocalDateTime horizon
+		) {
+			LocalDateTime cursor = from;
+			for (int i = lowerBound(from.minusSeconds(longestSeconds)); i < items.size(); i++) {
+				Booking booking = items.get(i);
+				if (!booking.getStart().isBefore(cursor.plus(length))) {
+					break;
+				}
+				if (booking.getId().equals(excludeId) || !booking.getEnd().isAfter(cursor)) {
+					continue;
+				}
+				cursor = booking.getEnd();
+				if (cursor.isAfter(horizon)) {
+					return null;
+				}
+			}
+			return cursor;
+		}
+
+		LocalDateTime lastFreeStart(
+			LocalDateTime before,
+			Duration length,
+			UUID excludeId,
+			LocalDateTime notBefore
+		) {
+			LocalDateTime slotEnd = before.plus(length);
+			while (true) {
+				LocalDateTime slotStart = slotEnd.minus(length);
+				if (slotStart.isBefore(notBefore)) {
+					return null;
+				}
+				LocalDateTime earliestBlocker = null;
+				int high = lowerBound(slotEnd);
+				for (int i = lowerBound(slotStart.minusSeconds(longestSeconds)); i < high; i++) {
+					Booking booking = items.get(i);
+					if (booking.getId().equals(excludeId) || !booking.getEnd().isAfter(slotStart)) {
+						continue;
+					}
+					if (earliestBlocker == null || booking.getStart().isBefore(earliestBlocker)) {
+						earliestBlocker = booking.getStart();
+					}
+				}
+				if (earliestBlocker == null) {
+					return slotStart;
+				}
+				slotEnd = earliestBlocker;
+			}
+		}
+
+		private int lowerBound(LocalDateTime time) {
+			int low = 0;
+			int high = items.size();
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (items.get(mid).getStart().isBefore(time)) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+		private void track(Booking booking) {
+			long seconds = Duration
+				.between(booking.getStart(), booking.getEnd())
+				.toSeconds();
+			longestSeconds = Math.max(longestSeconds, seconds);
+		}
+	}
+}
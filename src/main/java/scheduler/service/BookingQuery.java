@@ -0,0 +1,29 @@
+package scheduler.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filter and sort order for paged booking listings.
+ *
+ * @param from inclusive lower bound on start time, or null for no bound
+ * @param to exclusive upper bound on start time, or null for no bound
+ * @param roomName restricts results to one room, or null for all rooms
+ * @param owner restricts results to one user's bookings, or null for everyone visible
+ * @param descending true to order by start time, latest first
+ */
+public record BookingQuery(
+	LocalDateTime from,
+	LocalDateTime to,
+	String roomName,
+	String owner,
+	boolean descending
+) {
+
+	public static BookingQuery all() {
+		return new BookingQuery(null, null, null, null, false);
+	}
+
+	public BookingQuery withDescending(boolean descending) {
+		return new BookingQuery(from, to, roomName, owner, descending);
+	}
+}
@@ -0,0 +1,52 @@
+package scheduler.service;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Chooses the bookings a bulk cancel or shift applies to. Given ids select
+ * exactly those bookings, such as the ones a recurring booking created; otherwise
+ * every booking whose start falls in the range and that matches the rooms and
+ * owner is selected.
+ *
+ * @param ids bookings to select by id; when non-empty the other criteria are ignored
+ * @param roomNames rooms to select from, or empty for every room
+ * @param owner restricts the selection to one user's bookings, or null for everyone
+ * @param from inclusive lower bound on start time, or null for no bound
+ * @param to exclusive upper bound on start time, or null for no bound
+ */
+public record BookingSelection(
+	Set<UUID> ids,
+	Set<String> roomNames,
+	String owner,
+	LocalDateTime from,
+	LocalDateTime to
+) {
+
+	public BookingSelection {
+		ids = ids == null ? Set.of() : Set.copyOf(ids);
+		if (roomNames == null) {
+			roomNames = Set.of();
+		} else {
+			// Room names are case-insensitive, so keep one spelling of each.
+			Set<String> distinct = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+			roomNames.forEach(name -> distinct.add(name.trim()));
+			roomNames = Set.copyOf(distinct);
+		}
+		owner = owner == null || owner.isBlank() ? null : owner.trim();
+		if (from != null && to != null && !from.isBefore(to)) {
+			throw new IllegalArgumentException("Selection start must be before its end");
+		}
+	}
+
+	public static BookingSelection ofIds(Set<UUID> ids) {
+		return new BookingSelection(ids, Set.of(), null, null, null);
+	}
+
+	/** @return true if no criterion is set, which would select every booking */
+	public boolean isUnbounded() {
+		return ids.isEmpty() && roomNames.isEmpty() && owner == null && from == null && to == null;
+	}
+}
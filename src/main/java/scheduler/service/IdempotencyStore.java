@@ -0,0 +1,116 @@
+package scheduler.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import scheduler.model.IdempotencyRecord;
+
+/**
+ * Bounded, time-expiring memory of idempotency keys and the results they produced.
+ *
+ * <p>Keys are scoped to the user who submitted them, so two users may pick the
+ * same key without seeing each other's results. Records are kept in creation
+ * order, so both expiry and capacity eviction only ever touch the oldest entries.
+ */
+final class IdempotencyStore {
+
+	static final Duration DEFAULT_TTL = Duration.ofHours(24);
+	static final int DEFAULT_CAPACITY = 10_000;
+
+	private record Scope(String actor, String key) {
+
+		Scope {
+			actor = actor.toLowerCase(Locale.ROOT);
+		}
+	}
+
+	private final Map<Scope, IdempotencyRecord> records = new LinkedHashMap<>();
+	private final Duration ttl;
+	private final int capacity;
+	private final Clock clock;
+
+	IdempotencyStore() {
+		this(DEFAULT_TTL, DEFAULT_CAPACITY, Clock.systemUTC());
+	}
+
+	IdempotencyStore(Duration ttl, int capacity, Clock clock) {
+		this.ttl = Objects.requireNonNull(ttl, "ttl");
+		this.clock = Objects.requireNonNull(clock, "clock");
+		if (ttl.isNegative() || ttl.isZero()) {
+			throw new IllegalArgumentException("TTL must be positive");
+		}
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be at least 1");
+		}
+		this.capacity = capacity;
+	}
+
+	void load(Collection<IdempotencyRecord> persisted) {
+		persisted
+			.stream()
+			.sorted(Comparator.comparing(IdempotencyRecord::createdAt))
+			.forEach(record -> records.put(new Scope(record.actor(), record.key()), record));
+		evict();
+	}
+
+	Optional<IdempotencyRecord> find(String actor, String key) {
+		evict();
+		return Optional.ofNullable(records.get(new Scope(actor, key)));
+	}
+
+	IdempotencyRecord remember(
+		String key,
+		IdempotencyRecord.Operation operation,
+		String actor,
+		List<UUID> bookingIds
+	) {
+		IdempotencyRecord record = new IdempotencyRecord(
+			key,
+			operation,
+			actor,
+			bookingIds,
+			clock.instant()
+		);
+		Scope scope = new Scope(actor, key);
+		records.remove(scope);
+		records.put(scope, record);
+		evict();
+		return record;
+	}
+
+	List<IdempotencyRecord> snapshot() {
+		evict();
+		return List.copyOf(records.values());
+	}
+
+	/**
+	 * @return the number of retained entries, including expired ones not yet evicted
+	 */
+	int size() {
+		return records.size();
+	}
+
+	private void evict() {
+		Instant cutoff = clock.instant().minus(ttl);
+		Iterator<IdempotencyRecord> iterator = records.values().iterator();
+		int excess = records.size() - capacity;
+		while (iterator.hasNext()) {
+			IdempotencyRecord oldest = iterator.next();
+			if (excess <= 0 && oldest.createdAt().isAfter(cutoff)) {
+				break;
+			}
+			iterator.remove();
+			excess--;
+		}
+	}
+}
@@ -0,0 +1,181 @@
+package scheduler.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import scheduler.model.Booking;
+import scheduler.model.RoomOccupancy;
+
+/**
+ * Per-room, per-day totals of booked minutes and bookings, plus the first start
+ * and last end, kept up to date as bookings are added and removed so reads never
+ * visit individual bookings.
+ *
+ * <p>Adding is constant time per day a booking touches. Removing is too, unless
+ * the booking was the first or last of its day; then that day's bounds are
+ * recomputed from the room index, which must already have dropped it.
+ */
+final class OccupancyRollups {
+
+	private final Map<String, Map<LocalDate, Tally>> byRoom = new HashMap<>();
+	private int size;
+
+	void load(Collection<RoomOccupancy> persisted) {
+		for (RoomOccupancy occupancy : persisted) {
+			if (occupancy.bookings() <= 0) {
+				continue;
+			}
+			Tally tally = tally(occupancy.roomName(), occupancy.day());
+			tally.minutes = occupancy.bookedMinutes();
+			tally.bookings = occupancy.bookings();
+			tally.firstStart = occupancy.firstStart();
+			tally.lastEnd = occupancy.lastEnd();
+		}
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	/** @return the number of room-days with at least one booking */
+	int size() {
+		return size;
+	}
+
+	void add(Booking booking) {
+		String roomName = booking.getRoom().getName();
+		LocalDate day = booking.getStart().toLocalDate();
+		while (day.atStartOfDay().isBefore(booking.getEnd())) {
+			LocalDateTime start = clipStart(booking, day);
+			LocalDateTime end = clipEnd(booking, day);
+			Tally tally = tally(roomName, day);
+			tally.minutes += Duration.between(start, end).toMinutes();
+			tally.bookings++;
+			if (tally.firstStart == null || start.isBefore(tally.firstStart)) {
+				tally.firstStart = start;
+			}
+			if (tally.lastEnd == null || end.isAfter(tally.lastEnd)) {
+				tally.lastEnd = end;
+			}
+			day = day.plusDays(1);
+		}
+	}
+
+	/**
+	 * Takes {@code booking} back out of its days' totals. Call after removing it
+	 * from {@code index} and before changing its times.
+	 */
+	void remove(Booking booking, BookingIndex index) {
+		String roomName = booking.getRoom().getName();
+		Map<LocalDate, Tally> days = byRoom.get(BookingIndex.key(roomName));
+		if (days == null) {
+			return;
+		}
+		LocalDate day = booking.getStart().toLocalDate();
+		while (day.atStartOfDay().isBefore(booking.getEnd())) {
+			Tally tally = days.get(day);
+			if (tally != null) {
+				LocalDateTime start = clipStart(booking, day);
+				LocalDateTime end = clipEnd(booking, day);
+				tally.minutes -= Duration.between(start, end).toMinutes();
+				tally.bookings--;
+				if (tally.bookings <= 0) {
+					days.remove(day);
+					size--;
+				} else if (start.equals(tally.firstStart) || end.equals(tally.lastEnd)) {
+					recomputeBounds(tally, roomName, day, index);
+				}
+			}
+			day = day.plusDays(1);
+		}
+		if (days.isEmpty()) {
+			byRoom.remove(BookingIndex.key(roomName));
+		}
+	}
+
+	RoomOccupancy get(String roomName, LocalDate day) {
+		Map<LocalDate, Tally> days = byRoom.get(BookingIndex.key(roomName));
+		Tally tally = days == null ? null : days.get(day);
+		return tally == null ? RoomOccupancy.empty(roomName, day) : tally.toOccupancy(day);
+	}
+
+	/** @return every non-empty room-day, in no particular order */
+	List<RoomOccupancy> snapshot() {
+		List<RoomOccupancy> snapshot = new ArrayList<>(size);
+		byRoom.values().forEach(days ->
+			days.forEach((day, tally) -> snapshot.add(tally.toOccupancy(day)))
+		);
+		return snapshot;
+	}
+
+	private Tally tally(String roomName, LocalDate day) {
+		Map<LocalDate, Tally> days = byRoom.computeIfAbsent(
+			BookingIndex.key(roomName),
+			key -> new HashMap<>()
+		);
+		Tally tally = days.get(day);
+		if (tally == null) {
+			tally = new Tally(roomName);
+			days.put(day, tally);
+			size++;
+		}
+		return tally;
+	}
+
+	private static void recomputeBounds(
+		Tally tally,
+		String roomName,
+		LocalDate day,
+		BookingIndex index
+	) {
+		LocalDateTime dayStart = day.atStartOfDay();
+		LocalDateTime dayEnd = dayStart.plusDays(1);
+		tally.firstStart = null;
+		tally.lastEnd = null;
+		for (Booking other : index.overlapCandidates(roomName, dayStart, dayEnd)) {
+			if (!other.getEnd().isAfter(dayStart)) {
+				continue;
+			}
+			LocalDateTime start = clipStart(other, day);
+			LocalDateTime end = clipEnd(other, day);
+			if (tally.firstStart == null || start.isBefore(tally.firstStart)) {
+				tally.firstStart = start;
+			}
+			if (tally.lastEnd == null || end.isAfter(tally.lastEnd)) {
+				tally.lastEnd = end;
+			}
+		}
+	}
+
+	private static LocalDateTime clipStart(Booking booking, LocalDate day) {
+		LocalDateTime dayStart = day.atStartOfDay();
+		return booking.getStart().isBefore(dayStart) ? dayStart : booking.getStart();
+	}
+
+	private static LocalDateTime clipEnd(Booking booking, LocalDate day) {
+		LocalDateTime dayEnd = day.plusDays(1).atStartOfDay();
+		return booking.getEnd().isAfter(dayEnd) ? dayEnd : booking.getEnd();
+	}
+
+	private static final class Tally {
+
+		private final String roomName;
+		private long minutes;
+		private int bookings;
+		private LocalDateTime firstStart;
+		private LocalDateTime lastEnd;
+
+		Tally(String roomName) {
+			this.roomName = roomName;
+		}
+
+		RoomOccupancy toOccupancy(LocalDate day) {
+			return new RoomOccupancy(roomName, day, minutes, bookings, firstStart, lastEnd);
+		}
+	}
+}
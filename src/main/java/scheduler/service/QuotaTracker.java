@@ -0,0 +1,206 @@
+package scheduler.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import scheduler.model.ArchivedBooking;
+import scheduler.model.Booking;
+import scheduler.model.BookingQuota;
+import scheduler.model.TimeSlot;
+import scheduler.util.TimingWheel;
+
+/**
+ * Per-owner counters behind booking quotas: bookings that have not ended yet
+ * and booked minutes per week.
+ *
+ * <p>Each booking that has not ended is scheduled on a timing wheel at its end
+ * time, so the active count drops as bookings finish without rescanning them.
+ * Every update and check is constant time per week a booking touches. Times
+ * are local wall-clock times, like the bookings themselves.
+ */
+final class QuotaTracker {
+
+	private static final long TICK_MILLIS = 60_000;
+	private static final int WHEEL_SIZE = 4096;
+
+	private final Map<String, Tally> byOwner = new HashMap<>();
+	private final Map<UUID, TimingWheel.Timeout<Booking>> endings = new HashMap<>();
+	private final TimingWheel<Booking> endWheel;
+	private long nowMillis;
+
+	QuotaTracker(LocalDateTime now) {
+		this.nowMillis = millis(now);
+		this.endWheel = new TimingWheel<>(TICK_MILLIS, WHEEL_SIZE, nowMillis);
+	}
+
+	void add(Booking booking) {
+		Tally tally = byOwner.computeIfAbsent(BookingIndex.key(booking.getBookedBy()), key -> new Tally());
+		long endMillis = millis(booking.getEnd());
+		if (endMillis > nowMillis) {
+			tally.active++;
+			endings.put(booking.getId(), endWheel.schedule(booking, endMillis));
+		}
+		addWeeks(tally.minutesByWeek, booking.getStart(), booking.getEnd(), 1);
+	}
+
+	/** Call before changing the booking's times. */
+	void remove(Booking booking) {
+		Tally tally = byOwner.get(BookingIndex.key(booking.getBookedBy()));
+		if (tally == null) {
+			return;
+		}
+		TimingWheel.Timeout<Booking> ending = endings.remove(booking.getId());
+		if (ending != null && ending.cancel()) {
+			tally.active--;
+		}
+		addWeeks(tally.minutesByWeek, booking.getStart(), booking.getEnd(), -1);
+	}
+
+	/**
+	 * Drops an archived booking, except for its minutes in the week of
+	 * {@code cutoff} and later, so that archiving part of a week does not free
+	 * up hours in it.
+	 */
+	void archive(Booking booking, LocalDateTime cutoff) {
+		Tally tally = byOwner.get(BookingIndex.key(booking.getBookedBy()));
+		if (tally == null) {
+			return;
+		}
+		TimingWheel.Timeout<Booking> ending = endings.remove(booking.getId());
+		if (ending != null && ending.cancel()) {
+			tally.active--;
+		}
+		LocalDateTime kept = archivedMinutesFrom(cutoff);
+		if (booking.getStart().isBefore(kept)) {
+			LocalDateTime end = booking.getEnd().isBefore(kept) ? booking.getEnd() : kept;
+			addWeeks(tally.minutesByWeek, booking.getStart(), end, -1);
+		}
+	}
+
+	/**
+	 * Counts the minutes {@link #archive} keeps for a booking archived up to
+	 * {@code horizon}, when loading the archive back.
+	 */
+	void addArchived(ArchivedBooking archived, LocalDateTime horizon) {
+		LocalDateTime kept = archivedMinutesFrom(horizon);
+		if (archived.end().isAfter(kept)) {
+			Tally tally = byOwner.computeIfAbsent(BookingIndex.key(archived.bookedBy()), key -> new Tally());
+			LocalDateTime start = archived.start().isAfter(kept) ? archived.start() : kept;
+			addWeeks(tally.minutesByWeek, start, archived.end(), 1);
+		}
+	}
+
+	/** Start of the first week whose archived minutes still count. */
+	static LocalDateTime archivedMinutesFrom(LocalDateTime cutoff) {
+		return weekOf(cutoff.toLocalDate()).atStartOfDay();
+	}
+
+	/** Counts bookings that ended by {@code now} as no longer active. */
+	void advance(LocalDateTime now) {
+		nowMillis = Math.max(nowMillis, millis(now));
+		for (Booking ended : endWheel.advance(nowMillis)) {
+			endings.remove(ended.getId());
+			Tally tally = byOwner.get(BookingIndex.key(ended.getBookedBy()));
+			if (tally != null) {
+				tally.active--;
+			}
+		}
+	}
+
+	int activeBookings(String owner) {
+		Tally tally = byOwner.get(BookingIndex.key(owner));
+		return tally == null ? 0 : tally.active;
+	}
+
+	long bookedMinutesInWeek(String owner, LocalDate day) {
+		Tally tally = byOwner.get(BookingIndex.key(owner));
+		return tally == null ? 0 : tally.minutesByWeek.getOrDefault(weekOf(day), 0L);
+	}
+
+	/**
+	 * Throws if booking {@code slots} for {@code owner} would exceed {@code quota},
+	 * counting {@code replacing} (a booking being moved, or null) as released.
+	 */
+	void check(String owner, BookingQuota quota, List<TimeSlot> slots, Booking replacing) {
+		if (quota.isUnlimited()) {
+			return;
+		}
+		Tally tally = byOwner.getOrDefault(BookingIndex.key(owner), new Tally());
+		if (quota.maxActiveBookings() > 0) {
+			int added = 0;
+			for (TimeSlot slot : slots) {
+				if (millis(slot.end()) > nowMillis) {
+					added++;
+				}
+			}
+			if (replacing != null && endings.containsKey(replacing.getId())) {
+				added--;
+			}
+			if (added > 0 && tally.active + added > quota.maxActiveBookings()) {
+				throw new IllegalStateException(
+					"Booking quota exceeded: at most " + quota.maxActiveBookings() +
+					" active bookings allowed"
+				);
+			}
+		}
+		if (quota.maxHoursPerWeek() > 0) {
+			Map<LocalDate, Long> requested = new HashMap<>();
+			for (TimeSlot slot : slots) {
+				addWeeks(requested, slot.start(), slot.end(), 1);
+			}
+			if (replacing != null) {
+				addWeeks(requested, replacing.getStart(), replacing.getEnd(), -1);
+			}
+			long limit = quota.maxHoursPerWeek() * 60L;
+			requested.forEach((week, minutes) -> {
+				if (minutes > 0 && tally.minutesByWeek.getOrDefault(week, 0L) + minutes > limit) {
+					throw new IllegalStateException(
+						"Booking quota exceeded: at most " + quota.maxHoursPerWeek() +
+						" hours per week allowed (week of " + week + ")"
+					);
+				}
+			});
+		}
+	}
+
+	private static void addWeeks(
+		Map<LocalDate, Long> minutesByWeek,
+		LocalDateTime start,
+		LocalDateTime end,
+		int sign
+	) {
+		LocalDateTime cursor = start;
+		while (cursor.isBefore(end)) {
+			LocalDate week = weekOf(cursor.toLocalDate());
+			LocalDateTime weekEnd = week.plusWeeks(1).atStartOfDay();
+			LocalDateTime chunkEnd = end.isBefore(weekEnd) ? end : weekEnd;
+			long minutes = sign * Duration.between(cursor, chunkEnd).toMinutes();
+			minutesByWeek.merge(week, minutes, Long::sum);
+			if (minutesByWeek.get(week) == 0) {
+				minutesByWeek.remove(week);
+			}
+			cursor = chunkEnd;
+		}
+	}
+
+	private static LocalDate weekOf(LocalDate day) {
+		return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+	}
+
+	private static long millis(LocalDateTime time) {
+		return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+	}
+
+	private static final class Tally {
+
+		private final Map<LocalDate, Long> minutesByWeek = new HashMap<>();
+		private int active;
+	}
+}
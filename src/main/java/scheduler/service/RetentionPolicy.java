@@ -0,0 +1,47 @@
+package scheduler.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * How long bookings stay in the live schedule after they end before
+ * {@link SchedulerSystem#applyRetention()} moves them to the archive.
+ *
+ * <p>Read from {@code -Dscheduler.retentionDays=N}; the default keeps a year,
+ * and 0 disables archiving.
+ *
+ * @param days whole days a booking stays live after the day it ends
+ */
+public record RetentionPolicy(int days) {
+
+	public static final String PROPERTY = "scheduler.retentionDays";
+	public static final RetentionPolicy DEFAULT = new RetentionPolicy(365);
+	public static final RetentionPolicy DISABLED = new RetentionPolicy(0);
+
+	public RetentionPolicy {
+		if (days < 0) {
+			throw new IllegalArgumentException("Retention days must not be negative");
+		}
+	}
+
+	public static RetentionPolicy fromSystemProperty() {
+		String value = System.getProperty(PROPERTY);
+		if (value == null || value.isBlank()) {
+			return DEFAULT;
+		}
+		try {
+			return new RetentionPolicy(Integer.parseInt(value.trim()));
+		} catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid " + PROPERTY + " value: " + value);
+		}
+	}
+
+	public boolean isEnabled() {
+		return days > 0;
+	}
+
+	/** @return the start of the first day whose bookings stay live on {@code today} */
+	public LocalDateTime cutoff(LocalDate today) {
+		return today.minusDays(days).atStartOfDay();
+	}
+}
@@ -0,0 +1,272 @@
+package scheduler.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import scheduler.model.TimeSlot;
+
+/**
+ * Places a batch of {@link RoomRequest}s into rooms around existing bookings.
+ *
+ * <p>Requests whose slots never overlap, directly or through other requests,
+ * cannot compete for a room, so the batch is split into such time partitions
+ * by a sweep over all slots in start order, and the partitions are solved in
+ * parallel. Within a partition the most constrained requests go first, those
+ * with the fewest eligible rooms and then the most booked time, each into the
+ * smallest eligible room that is free for all its slots. A repair pass then
+ * retries every request left over by moving a single planned request that
+ * blocks it to another of its rooms.
+ *
+ * <p>Instances are single-use and read only the inputs given to the
+ * constructor, so planning needs no lock on the scheduler.
+ */
+final class RoomAssigner {
+
+	private static final int MAX_REPAIR_PASSES = 3;
+
+	private final List<RoomRequest> requests;
+	private final List<List<String>> eligible;
+	private final Map<String, NavigableMap<LocalDateTime, LocalDateTime>> busy = new HashMap<>();
+
+	/**
+	 * @param eligible for each request, the names of rooms it may use, preferred first
+	 * @param busy existing bookings and holds by room name; they may overlap
+	 */
+	RoomAssigner(
+		List<RoomRequest> requests,
+		List<List<String>> eligible,
+		Map<String, List<TimeSlot>> busy
+	) {
+		if (requests.size() != eligible.size()) {
+			throw new IllegalArgumentException("Every request needs its list of eligible rooms");
+		}
+		this.requests = List.copyOf(requests);
+		this.eligible = List.copyOf(eligible);
+		busy.forEach((room, slots) -> this.busy.put(room, coalesce(slots)));
+	}
+
+	AssignmentPlan plan() {
+		String[] rooms = new String[requests.size()];
+		partitions().parallelStream().forEach(members -> new Partition(members, rooms).solve());
+		List<AssignmentPlan.Assignment> assignments = new ArrayList<>();
+		List<RoomRequest> unassigned = new ArrayList<>();
+		for (int i = 0; i < rooms.length; i++) {
+			if (rooms[i] != null) {
+				assignments.add(new AssignmentPlan.Assignment(requests.get(i), rooms[i]));
+			} else {
+				unassigned.add(requests.get(i));
+			}
+		}
+		return new AssignmentPlan(assignments, unassigned);
+	}
+
+	/**
+	 * Groups requests that share overlapping time, transitively, by sweeping
+	 * every slot in start order and joining each one to the run it overlaps.
+	 */
+	List<List<Integer>> partitions() {
+		record Sweep(LocalDateTime start, LocalDateTime end, int request) {}
+		List<Sweep> sweep = new ArrayList<>();
+		for (int i = 0; i < requests.size(); i++) {
+			for (TimeSlot slot : requests.get(i).slots()) {
+				sweep.add(new Sweep(slot.start(), slot.end(), i));
+			}
+		}
+		sweep.sort(Comparator.comparing(Sweep::start));
+		int[] parent = new int[requests.size()];
+		for (int i = 0; i < parent.length; i++) {
+			parent[i] = i;
+		}
+		LocalDateTime reach = null;
+		int anchor = -1;
+		for (Sweep slot : sweep) {
+			if (reach == null || !slot.start().isBefore(reach)) {
+				anchor = slot.request();
+				reach = slot.end();
+				continue;
+			}
+			parent[find(parent, slot.request())] = find(parent, anchor);
+			if (slot.end().isAfter(reach)) {
+				reach = slot.end();
+			}
+		}
+		Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+		for (int i = 0; i < parent.length; i++) {
+			groups.computeIfAbsent(find(parent, i), key -> new ArrayList<>()).add(i);
+		}
+		return List.copyOf(groups.values());
+	}
+
+	private static int find(int[] parent, int i) {
+		while (parent[i] != i) {
+			parent[i] = parent[parent[i]];
+			i = parent[i];
+		}
+		return i;
+	}
+
+	private static NavigableMap<LocalDateTime, LocalDateTime> coalesce(List<TimeSlot> slots) {
+		List<TimeSlot> sorted = new ArrayList<>(slots);
+		sorted.sort(Comparator.comparing(TimeSlot::start));
+		NavigableMap<LocalDateTime, LocalDateTime> merged = new TreeMap<>();
+		Map.Entry<LocalDateTime, LocalDateTime> last = null;
+		for (TimeSlot slot : sorted) {
+			if (last != null && !slot.start().isAfter(last.getValue())) {
+				if (slot.end().isAfter(last.getValue())) {
+					merged.put(last.getKey(), slot.end());
+				}
+			} else {
+				merged.put(slot.start(), slot.end());
+			}
+			last = merged.lastEntry();
+		}
+		return merged;
+	}
+
+	/** Planning state for one partition, confined to the thread solving it. */
+	private final class Partition {
+
+		private record Planned(LocalDateTime end, int request) {}
+
+		private final List<Integer> members;
+		private final String[] rooms;
+		private final Map<String, NavigableMap<LocalDateTime, Planned>> planned = new HashMap<>();
+
+		Partition(List<Integer> members, String[] rooms) {
+			this.members = members;
+			this.rooms = rooms;
+		}
+
+		void solve() {
+			List<Integer> order = new ArrayList<>(members);
+			order.sort(
+				Comparator
+					.comparingInt((Integer i) -> eligible.get(i).size())
+					.thenComparing(Comparator.comparingLong(this::bookedMinutes).reversed())
+					.thenComparing(i -> requests.get(i).first().start())
+					.thenComparingInt(i -> i)
+			);
+			List<Integer> leftOver = new ArrayList<>();
+			for (int request : order) {
+				String room = firstFit(request, null);
+				if (room != null) {
+					place(request, room);
+				} else {
+					leftOver.add(request);
+				}
+			}
+			boolean improved = true;
+			for (int pass = 0; pass < MAX_REPAIR_PASSES && improved && !leftOver.isEmpty(); pass++) {
+				improved = leftOver.removeIf(this::repair);
+			}
+		}
+
+		private long bookedMinutes(int request) {
+			long minutes = 0;
+			for (TimeSlot slot : requests.get(request).slots()) {
+				minutes += Duration.between(slot.start(), slot.end()).toMinutes();
+			}
+			return minutes;
+		}
+
+		private String firstFit(int request, String skipRoom) {
+			for (String room : eligible.get(request)) {
+				if (!room.equals(skipRoom) && fits(request, room)) {
+					return room;
+				}
+			}
+			return null;
+		}
+
+		private boolean fits(int request, String room) {
+			for (TimeSlot slot : requests.get(request).slots()) {
+				if (isBusy(room, slot) || !blockers(room, slot).isEmpty()) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * Tries each eligible room where exactly one planned request stands in the
+		 * way, and moves that request to another of its rooms if one is free.
+		 */
+		private boolean repair(int request) {
+			for (String room : eligible.get(request)) {
+				Set<Integer> blocking = new LinkedHashSet<>();
+				boolean busyRoom = false;
+				for (TimeSlot slot : requests.get(request).slots()) {
+					if (isBusy(room, slot)) {
+						busyRoom = true;
+						break;
+					}
+					blocking.addAll(blockers(room, slot));
+				}
+				if (busyRoom || blocking.size() != 1) {
+					continue;
+				}
+				int blocker = blocking.iterator().next();
+				unplace(blocker, room);
+				String alternative = fits(request, room) ? firstFit(blocker, room) : null;
+				if (alternative != null) {
+					place(request, room);
+					place(blocker, alternative);
+					return true;
+				}
+				place(blocker, room);
+			}
+			return false;
+		}
+
+		private boolean isBusy(String room, TimeSlot slot) {
+			NavigableMap<LocalDateTime, LocalDateTime> existing = busy.get(room);
+			if (existing == null) {
+				return false;
+			}
+			// Existing intervals are disjoint, so only the last one starting before
+			// the slot ends can reach into it.
+			Map.Entry<LocalDateTime, LocalDateTime> before = existing.lowerEntry(slot.end());
+			return before != null && before.getValue().isAfter(slot.start());
+		}
+
+		private List<Integer> blockers(String room, TimeSlot slot) {
+			NavigableMap<LocalDateTime, Planned> roomPlan = planned.get(room);
+			if (roomPlan == null) {
+				return List.of();
+			}
+			List<Integer> found = new ArrayList<>();
+			for (Planned entry : roomPlan.headMap(slot.end(), false).descendingMap().values()) {
+				if (!entry.end().isAfter(slot.start())) {
+					break;
+				}
+				found.add(entry.request());
+			}
+			return found;
+		}
+
+		private void place(int request, String room) {
+			NavigableMap<LocalDateTime, Planned> roomPlan = planned.computeIfAbsent(room, key -> new TreeMap<>());
+			for (TimeSlot slot : requests.get(request).slots()) {
+				roomPlan.put(slot.start(), new Planned(slot.end(), request));
+			}
+			rooms[request] = room;
+		}
+
+		private void unplace(int request, String room) {
+			NavigableMap<LocalDateTime, Planned> roomPlan = planned.get(room);
+			for (TimeSlot slot : requests.get(request).slots()) {
+				roomPlan.remove(slot.start());
+			}
+			rooms[request] = null;
+		}
+	}
+}
@@ -0,0 +1,199 @@
+package scheduler.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import scheduler.model.Room;
+
+/**
+ * Search indexes over the room catalogue: rooms by capacity in a navigable map,
+ * by exact tag, and by word in an ordered inverted index so words also match as
+ * prefixes.
+ *
+ * <p>A search starts from the most selective index its query can use, then
+ * checks the remaining criteria on each candidate. Rooms are mutable, so each
+ * one's indexed values are remembered and {@link #update} must follow any
+ * change to capacity, description, location or tags.
+ */
+final class RoomCatalog {
+
+	static final Comparator<Room> BY_CAPACITY = Comparator
+		.comparingInt(Room::getCapacity)
+		.thenComparing(room -> room.getName().toLowerCase(Locale.ROOT));
+
+	private final NavigableMap<Integer, Set<Room>> byCapacity = new TreeMap<>();
+	private final Map<String, Set<Room>> byTag = new HashMap<>();
+	private final NavigableMap<String, Set<Room>> byTerm = new TreeMap<>();
+	private final Map<Room, Indexed> indexed = new HashMap<>();
+
+	private record Indexed(int capacity, Set<String> tags, Set<String> terms) {}
+
+	RoomCatalog(Collection<Room> rooms) {
+		rooms.forEach(this::add);
+	}
+
+	void add(Room room) {
+		Indexed entry = new Indexed(room.getCapacity(), room.getTags(), terms(room));
+		if (indexed.putIfAbsent(room, entry) != null) {
+			return;
+		}
+		byCapacity.computeIfAbsent(entry.capacity(), key -> new HashSet<>()).add(room);
+		entry.tags().forEach(tag -> byTag.computeIfAbsent(tag, key -> new HashSet<>()).add(room));
+		entry.terms().forEach(term -> byTerm.computeIfAbsent(term, key -> new HashSet<>()).add(room));
+	}
+
+	void remove(Room room) {
+		Indexed entry = indexed.remove(room);
+		if (entry == null) {
+			return;
+		}
+		removeFrom(byCapacity, entry.capacity(), room);
+		entry.tags().forEach(tag -> removeFrom(byTag, tag, room));
+		entry.terms().forEach(term -> removeFrom(byTerm, term, room));
+	}
+
+	void update(Room room) {
+		remove(room);
+		add(room);
+	}
+
+	/**
+	 * Returns up to {@code limit} rooms matching {@code query}, smallest capacity
+	 * first, then by name.
+	 */
+	List<Room> search(RoomQuery query, int limit) {
+		List<String> words = words(query.text());
+		Collection<Room> driver = null;
+		for (String tag : query.tags()) {
+			Set<Room> tagged = byTag.getOrDefault(tag.toLowerCase(Locale.ROOT), Set.of());
+			if (driver == null || tagged.size() < driver.size()) {
+				driver = tagged;
+			}
+		}
+		if (driver == null && !words.isEmpty()) {
+			driver = withPrefix(words.get(0));
+		}
+		if (driver == null) {
+			return scanByCapacity(query, words, limit);
+		}
+		List<Room> matches = new ArrayList<>();
+		for (Room room : driver) {
+			if (matches(room, query, words)) {
+				matches.add(room);
+			}
+		}
+		matches.sort(BY_CAPACITY);
+		return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : List.copyOf(matches);
+	}
+
+	private List<Room> scanByCapacity(RoomQuery query, List<String> words, int limit) {
+		NavigableMap<Integer, Set<Room>> range = byCapacity;
+		if (query.minCapacity() != null) {
+			range = range.tailMap(query.minCapacity(), true);
+		}
+		if (query.maxCapacity() != null) {
+			range = range.headMap(query.maxCapacity(), true);
+		}
+		List<Room> matches = new ArrayList<>();
+		List<Room> group = new ArrayList<>();
+		for (Set<Room> rooms : range.values()) {
+			group.clear();
+			for (Room room : rooms) {
+				if (matches(room, query, words)) {
+					group.add(room);
+				}
+			}
+			group.sort(BY_CAPACITY);
+			for (Room room : group) {
+				if (matches.size() == limit) {
+					return List.copyOf(matches);
+				}
+				matches.add(room);
+			}
+		}
+		return List.copyOf(matches);
+	}
+
+	private Set<Room> withPrefix(String prefix) {
+		Set<Room> rooms = new HashSet<>();
+		for (Set<Room> matching : byTerm.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+			rooms.addAll(matching);
+		}
+		return rooms;
+	}
+
+	private boolean matches(Room room, RoomQuery query, List<String> words) {
+		Indexed entry = indexed.get(room);
+		if (query.minCapacity() != null && entry.capacity() < query.minCapacity()) {
+			return false;
+		}
+		if (query.maxCapacity() != null && entry.capacity() > query.maxCapacity()) {
+			return false;
+		}
+		for (String tag : query.tags()) {
+			if (!entry.tags().contains(tag.toLowerCase(Locale.ROOT))) {
+				return false;
+			}
+		}
+		if (
+			query.location() != null &&
+			!room.getLocation().toLowerCase(Locale.ROOT).startsWith(query.location().toLowerCase(Locale.ROOT))
+		) {
+			return false;
+		}
+		for (String word : words) {
+			boolean found = false;
+			for (String term : entry.terms()) {
+				if (term.startsWith(word)) {
+					found = true;
+					break;
+				}
+			}
+			if (!found) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Set<String> terms(Room room) {
+		Set<String> terms = new LinkedHashSet<>();
+		terms.addAll(words(room.getName()));
+		terms.addAll(words(room.getDescription()));
+		terms.addAll(words(room.getLocation()));
+		room.getTags().forEach(tag -> terms.addAll(words(tag)));
+		return Set.copyOf(terms);
+	}
+
+	private static List<String> words(String text) {
+		List<String> words = new ArrayList<>();
+		if (text == null) {
+			return words;
+		}
+		for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+			if (!word.isEmpty()) {
+				words.add(word);
+			}
+		}
+		return words;
+	}
+
+	private static <K> void removeFrom(Map<K, Set<Room>> index, K key, Room room) {
+		Set<Room> rooms = index.get(key);
+		if (rooms != null) {
+			rooms.remove(room);
+			if (rooms.isEmpty()) {
+				index.remove(key);
+			}
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package scheduler.service;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Filter for room catalogue searches. Every criterion is optional and all given
+ * criteria must match.
+ *
+ * @param minCapacity inclusive lower bound on capacity, or null
+ * @param maxCapacity inclusive upper bound on capacity, or null
+ * @param tags tags the room must all have
+ * @param location case-insensitive prefix of the room's location, or null
+ * @param text words that must each prefix a word of the room's name,
+ *     description, location or tags, or null
+ */
+public record RoomQuery(
+	Integer minCapacity,
+	Integer maxCapacity,
+	Set<String> tags,
+	String location,
+	String text
+) {
+
+	public RoomQuery {
+		tags = tags == null ? Set.of() : Set.copyOf(tags);
+		location = location == null || location.isBlank() ? null : location.trim();
+		text = text == null || text.isBlank() ? null : text.trim();
+	}
+
+	public static RoomQuery all() {
+		return new RoomQuery(null, null, Set.of(), null, null);
+	}
+
+	/**
+	 * Parses a one-line search such as {@code "40+ #projector north"}: {@code N+}
+	 * sets the minimum capacity, {@code N-M} a capacity range, {@code #tag} a
+	 * required tag, {@code @place} the location prefix, and other words are text.
+	 */
+	public static RoomQuery parse(String input) {
+		Integer min = null;
+		Integer max = null;
+		Set<String> tags = new TreeSet<>();
+		String location = null;
+		StringBuilder text = new StringBuilder();
+		for (String word : input == null ? new String[0] : input.trim().split("\\s+")) {
+			if (word.isEmpty()) {
+				continue;
+			}
+			if (word.matches("\\d+\\+")) {
+				min = Integer.parseInt(word.substring(0, word.length() - 1));
+			} else if (word.matches("\\d+-\\d+")) {
+				int dash = word.indexOf('-');
+				min = Integer.parseInt(word.substring(0, dash));
+				max = Integer.parseInt(word.substring(dash + 1));
+			} else if (word.startsWith("#") && word.length() > 1) {
+				tags.add(word.substring(1).toLowerCase(Locale.ROOT));
+			} else if (word.startsWith("@") && word.length() > 1) {
+				location = word.substring(1);
+			} else {
+				text.append(text.length() == 0 ? "" : " ").append(word);
+			}
+		}
+		return new RoomQuery(min, max, tags, location, text.toString());
+	}
+}
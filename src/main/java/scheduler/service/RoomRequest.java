@@ -0,0 +1,50 @@
+package scheduler.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import scheduler.model.TimeSlot;
+
+/**
+ * One request for the room assigner: a room matching {@code room} for every
+ * slot, all in the same room, booked for {@code requestedBy}.
+ *
+ * @param label caller's name for the request, such as a course code
+ * @param requestedBy user the bookings are created for
+ * @param room capacity, tag and location constraints on the room
+ * @param slots times the room is needed; they must not overlap each other
+ */
+public record RoomRequest(
+	String label,
+	String requestedBy,
+	RoomQuery room,
+	List<TimeSlot> slots
+) {
+
+	public RoomRequest {
+		Objects.requireNonNull(label, "label");
+		Objects.requireNonNull(requestedBy, "requestedBy");
+		Objects.requireNonNull(room, "room");
+		Objects.requireNonNull(slots, "slots");
+		if (slots.isEmpty()) {
+			throw new IllegalArgumentException("Request " + label + " has no time slots");
+		}
+		List<TimeSlot> sorted = new ArrayList<>(slots);
+		sorted.sort(Comparator.comparing(TimeSlot::start));
+		for (int i = 1; i < sorted.size(); i++) {
+			if (sorted.get(i).start().isBefore(sorted.get(i - 1).end())) {
+				throw new IllegalArgumentException("Request " + label + " has overlapping time slots");
+			}
+		}
+		slots = List.copyOf(sorted);
+	}
+
+	public TimeSlot first() {
+		return slots.get(0);
+	}
+
+	public TimeSlot last() {
+		return slots.get(slots.size() - 1);
+	}
+}
@@ -1,53 +1,214 @@
 package scheduler.service;
 
+import java.time.Clock;
 import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 import scheduler.Role;
+import scheduler.model.ArchivedBooking;
 import scheduler.model.Booking;
+import scheduler.model.BookingQuota;
+import scheduler.model.Hold;
+import scheduler.model.IdempotencyRecord;
 import scheduler.model.Room;
+import scheduler.model.RoomOccupancy;
 import scheduler.model.TimeSlot;
+import scheduler.model.WaitlistEntry;
+import scheduler.audit.AuditLog;
+import scheduler.audit.AuditRecord;
+import scheduler.jfr.BookingEvent;
+import scheduler.metrics.Counter;
+import scheduler.metrics.Metrics;
+import scheduler.metrics.MetricsRegistry;
+import scheduler.metrics.Timer;
 import scheduler.persistence.FileManager;
+import scheduler.report.UtilizationReport;
 import scheduler.user.Admin;
 import scheduler.user.Guest;
 import scheduler.user.RegularUser;
 import scheduler.user.Scheduler;
 import scheduler.user.User;
 import scheduler.util.ConflictChecker;
+import scheduler.util.TimingWheel;
 
 /**
  * Coordinates operations on users, rooms, and bookings while enforcing permissions.
  */
-public final class SchedulerSystem {
+public final class SchedulerSystem implements AutoCloseable {
+
+	public static final Duration DEFAULT_HOLD_TTL = Duration.ofMinutes(10);
+	private static final String ROLE_QUOTA_PREFIX = "role:";
+	private static final String USER_QUOTA_PREFIX = "user:";
+	private static final Duration MAX_HOLD_TTL = Duration.ofHours(2);
+	private static final long HOLD_TICK_MILLIS = 1_000;
+	private static final int HOLD_WHEEL_SIZE = 512;
+	private static final Duration SUGGESTION_HORIZON = Duration.ofDays(14);
+	private static final long ALTERNATIVES_BUDGET_NANOS = Duration.ofMillis(5).toNanos();
+	private static final int MAX_ROOM_ALTERNATIVES = 3;
+	private static final int MAX_ROOM_CANDIDATES = 256;
 
 	private final FileManager fileManager;
+	private final AuditLog auditLog;
 	private final List<User> users;
+	private final Map<String, User> usersByName = new HashMap<>();
 	private final List<Room> rooms;
-	private final List<Booking> bookings;
+	private final RoomCatalog roomCatalog;
+	private final BookingIndex bookingIndex;
+	private final OccupancyRollups occupancy = new OccupancyRollups();
+	private final QuotaTracker quotaTracker = new QuotaTracker(LocalDateTime.now());
+	private final Map<Role, BookingQuota> roleQuotas = new EnumMap<>(Role.class);
+	private final Map<String, BookingQuota> userQuotas = new HashMap<>();
+	private final IdempotencyStore idempotencyStore = new IdempotencyStore();
+	private final Waitlists waitlists;
+	private final SessionStore sessionStore = new SessionStore();
+	private final Clock clock = Clock.systemUTC();
+	private final Map<UUID, TimingWheel.Timeout<Hold>> holds = new HashMap<>();
+	private final Map<String, Map<UUID, Hold>> holdsByRoom = new HashMap<>();
+	private final TimingWheel<Hold> holdExpirations = new TimingWheel<>(
+		HOLD_TICK_MILLIS,
+		HOLD_WHEEL_SIZE,
+		clock.millis()
+	);
+	private final RetentionPolicy retention;
+	private LocalDateTime archiveHorizon;
+	private int batchDepth;
+	private boolean batchDirty;
+	private boolean closed;
+	private boolean quotasDirty;
+	private boolean waitlistDirty;
+	private final Timer authenticateTimer;
+	private final Timer createBookingTimer;
+	private final Timer createBookingsTimer;
+	private final Timer createMultiRoomTimer;
+	private final Timer updateBookingTimer;
+	private final Timer cancelBookingTimer;
+	private final Timer cancelBookingsTimer;
+	private final Timer shiftBookingsTimer;
+	private final Timer planAssignmentsTimer;
+	private final Timer commitAssignmentsTimer;
+	private final Timer findBookingsTimer;
+	private final Timer archiveTimer;
+	private final Timer conflictCheckTimer;
+	private final Timer alternativesTimer;
+	private final Counter conflictChecks;
+	private final Counter conflictHits;
+	private final Counter waitlistPromotions;
+	private long promotionCount;
 
 	public SchedulerSystem(FileManager fileManager) {
+		this(fileManager, Metrics.registry());
+	}
+
+	/**
+	 * Creates a scheduler that records operation timings, conflict rates and
+	 * collection sizes into {@code metrics}.
+	 */
+	public SchedulerSystem(FileManager fileManager, MetricsRegistry metrics) {
+		this(fileManager, metrics, new AuditLog(fileManager.getDataDirectory().resolve("audit")));
+	}
+
+	/**
+	 * Creates a scheduler that also records every change it makes in
+	 * {@code auditLog}.
+	 */
+	public SchedulerSystem(FileManager fileManager, MetricsRegistry metrics, AuditLog auditLog) {
 		this.fileManager = fileManager;
+		this.auditLog = Objects.requireNonNull(auditLog, "auditLog");
+		this.authenticateTimer = metrics.timer("auth.authenticate");
+		this.createBookingTimer = metrics.timer("booking.create");
+		this.createBookingsTimer = metrics.timer("booking.createSeries");
+		this.createMultiRoomTimer = metrics.timer("booking.createMulti");
+		this.updateBookingTimer = metrics.timer("booking.update");
+		this.cancelBookingTimer = metrics.timer("booking.cancel");
+		this.cancelBookingsTimer = metrics.timer("booking.cancelMany");
+		this.shiftBookingsTimer = metrics.timer("booking.shiftMany");
+		this.planAssignmentsTimer = metrics.timer("booking.planAssign");
+		this.commitAssignmentsTimer = metrics.timer("booking.assign");
+		this.findBookingsTimer = metrics.timer("booking.query");
+		this.archiveTimer = metrics.timer("booking.archive");
+		this.conflictCheckTimer = metrics.timer("conflict.check");
+		this.alternativesTimer = metrics.timer("conflict.alternatives");
+		this.conflictChecks = metrics.counter("conflict.checks");
+		this.conflictHits = metrics.counter("conflict.hits");
+		this.waitlistPromotions = metrics.counter("waitlist.promoted");
 		this.users = new ArrayList<>(fileManager.loadUsers());
+		this.users.forEach(user -> usersByName.put(userKey(user.getUsername()), user));
 		this.rooms = new ArrayList<>(fileManager.loadRooms());
-		this.bookings = new ArrayList<>(fileManager.loadBookings());
+		this.roomCatalog = new RoomCatalog(rooms);
+		List<Booking> bookings = fileManager.loadBookings();
+		this.bookingIndex = new BookingIndex(bookings);
+		this.occupancy.load(fileManager.loadOccupancy());
+		if (occupancy.isEmpty()) {
+			// Data written before rollups were stored; rebuild them once.
+			bookings.forEach(occupancy::add);
+		}
+		bookings.forEach(quotaTracker::add);
+		loadQuotas(fileManager.loadQuotas());
+		this.waitlists = new Waitlists(fileManager.loadWaitlist());
+		this.idempotencyStore.load(fileManager.loadIdempotencyRecords());
+		this.retention = RetentionPolicy.fromSystemProperty();
+		this.archiveHorizon = fileManager.loadArchiveHorizon();
+		if (archiveHorizon != null) {
+			LocalDateTime archivedFrom = QuotaTracker.archivedMinutesFrom(archiveHorizon);
+			for (ArchivedBooking archived : fileManager.loadArchivedBookings(archivedFrom, null)) {
+				quotaTracker.addArchived(archived, archiveHorizon);
+			}
+		}
 		ensureDefaultAdmin();
+		metrics.gauge("bookings.count", bookingIndex::size);
+		metrics.gauge("rooms.count", rooms::size);
+		metrics.gauge("users.count", users::size);
+		metrics.gauge("holds.count", holds::size);
+		metrics.gauge("idempotency.keys", idempotencyStore::size);
+		metrics.gauge("sessions.count", sessionStore::size);
+		metrics.gauge("occupancy.roomDays", occupancy::size);
+		metrics.gauge("waitlist.size", waitlists::size);
 	}
 
 	public Optional<User> authenticate(String username, String password) {
-		return users
-			.stream()
-			.filter(user -> user.getUsername().equalsIgnoreCase(username))
-			.filter(user -> user.verifyPassword(password))
-			.findFirst();
+		long started = authenticateTimer.start();
+		try {
+			return findUser(username).filter(user -> user.verifyPassword(password));
+		} finally {
+			authenticateTimer.stop(started);
+		}
+	}
+
+	/**
+	 * Verifies the credentials once and issues an opaque session token that later
+	 * calls can present to {@link #resolveSession(String)} instead of re-hashing.
+	 */
+	public Optional<String> login(String username, String password) {
+		return authenticate(username, password).map(sessionStore::issue);
+	}
+
+	public Optional<User> resolveSession(String token) {
+		return sessionStore.resolve(token);
+	}
+
+	public void logout(String token) {
+		sessionStore.revoke(token);
 	}
 
 	public User createUser(
@@ -60,7 +221,9 @@ public final class SchedulerSystem {
 		ensureUniqueUsername(username);
 		User newcomer = instantiateUser(role, username, password);
 		users.add(newcomer);
+		usersByName.put(userKey(username), newcomer);
 		persist();
+		audit(actingUser, "user.create", newcomer.getUsername(), null, "role=" + role);
 		return newcomer;
 	}
 
@@ -75,7 +238,16 @@ public final class SchedulerSystem {
 			);
 		}
 		users.remove(target);
+		usersByName.remove(userKey(target.getUsername()));
+		sessionStore.revokeUser(target.getUsername());
+		quotasDirty |= userQuotas.remove(userKey(target.getUsername())) != null;
+		for (WaitlistEntry entry : waitlists.all()) {
+			if (entry.isRequestedBy(target.getUsername())) {
+				waitlistDirty |= waitlists.remove(entry);
+			}
+		}
 		persist();
+		audit(actingUser, "user.delete", target.getUsername(), "role=" + target.getRole(), null);
 	}
 
 	public List<User> listUsers(User actingUser) {
@@ -92,15 +264,31 @@ public final class SchedulerSystem {
 		String name,
 		int capacity,
 		String description
+	) {
+		return createRoom(actingUser, name, capacity, description, "", Set.of());
+	}
+
+	public Room createRoom(
+		User actingUser,
+		String name,
+		int capacity,
+		String description,
+		String location,
+		Collection<String> tags
 	) {
 		requirePermission(actingUser, Role::canManageRooms, "create rooms");
 		ensureRoomNameUnique(name);
-		Room room = new Room(name, capacity, description);
+		Room room = new Room(name, capacity, description, location, tags);
 		rooms.add(room);
+		roomCatalog.add(room);
 		persist();
+		audit(actingUser, "room.create", room.getName(), null, describe(room));
 		return room;
 	}
 
+	/**
+	 * Updates capacity and description, keeping the room's location and tags.
+	 */
 	public Room updateRoom(
 		User actingUser,
 		String name,
@@ -109,114 +297,1212 @@ public final class SchedulerSystem {
 	) {
 		requirePermission(actingUser, Role::canManageRooms, "update rooms");
 		Room room = getRoomByName(name);
+		return updateRoom(actingUser, name, capacity, description, room.getLocation(), room.getTags());
+	}
+
+	public Room updateRoom(
+		User actingUser,
+		String name,
+		int capacity,
+		String description,
+		String location,
+		Collection<String> tags
+	) {
+		requirePermission(actingUser, Role::canManageRooms, "update rooms");
+		Room room = getRoomByName(name);
+		String before = describe(room);
 		room.setCapacity(capacity);
 		room.setDescription(description);
+		room.setLocation(location);
+		room.setTags(tags);
+		roomCatalog.update(room);
 		persist();
+		audit(actingUser, "room.update", room.getName(), before, describe(room));
 		return room;
 	}
 
 	public void deleteRoom(User actingUser, String name) {
 		requirePermission(actingUser, Role::canManageRooms, "delete rooms");
 		Room room = getRoomByName(name);
-		boolean inUse = bookings
-			.stream()
-			.anyMatch(booking ->
-				booking.getRoom().getName().equalsIgnoreCase(name)
-			);
-		if (inUse) {
+		if (!bookingIndex.forRoom(room.getName()).isEmpty()) {
 			throw new IllegalStateException("Cannot delete room with bookings");
 		}
+		Map<UUID, Hold> roomHolds = holdsByRoom.get(roomKey(room));
+		if (roomHolds != null) {
+			List.copyOf(roomHolds.values()).forEach(this::removeHold);
+		}
 		rooms.remove(room);
+		roomCatalog.remove(room);
+		for (WaitlistEntry entry : waitlists.forRoom(room.getName())) {
+			waitlistDirty |= waitlists.remove(entry);
+		}
 		persist();
+		audit(actingUser, "room.delete", room.getName(), describe(room), null);
 	}
 
 	public List<Room> listRooms() {
 		return Collections.unmodifiableList(rooms);
 	}
 
+	/**
+	 * Returns up to {@code limit} rooms matching {@code query} through the
+	 * catalogue indexes, smallest capacity first.
+	 */
+	public List<Room> searchRooms(RoomQuery query, int limit) {
+		Objects.requireNonNull(query, "query");
+		if (limit < 0) {
+			throw new IllegalArgumentException("Limit must not be negative");
+		}
+		return roomCatalog.search(query, limit);
+	}
+
 	public Booking createBooking(
 		User actingUser,
 		String roomName,
 		LocalDateTime start,
 		LocalDateTime end
+	) {
+		return createBooking(actingUser, roomName, start, end, null);
+	}
+
+	/**
+	 * Creates a booking, replaying the original result when {@code idempotencyKey}
+	 * was already used by the same user for the same operation.
+	 */
+	public Booking createBooking(
+		User actingUser,
+		String roomName,
+		LocalDateTime start,
+		LocalDateTime end,
+		String idempotencyKey
+	) {
+		BookingEvent event = BookingEvent.start("create", roomName, 1, usernameOf(actingUser));
+		long started = createBookingTimer.start();
+		try {
+			requireBookingCreationPermission(actingUser);
+			Optional<IdempotencyRecord> replay = findReplay(
+				actingUser,
+				idempotencyKey,
+				IdempotencyRecord.Operation.CREATE_BOOKING
+			);
+			if (replay.isPresent()) {
+				return resolveReplayedBookings(replay.get()).get(0);
+			}
+			Room room = getRoomByName(roomName);
+			ensureNoConflict(room, start, end, null);
+			ensureWithinQuota(actingUser, List.of(new TimeSlot(start, end)), null);
+			Booking booking = createBookingInternal(
+				room,
+				start,
+				end,
+				actingUser.getUsername()
+			);
+			index(booking);
+			rememberIdempotencyKey(
+				actingUser,
+				idempotencyKey,
+				IdempotencyRecord.Operation.CREATE_BOOKING,
+				List.of(booking.getId())
+			);
+			persist();
+			audit(actingUser, "booking.create", booking.getId(), null, describe(booking));
+			return booking;
+		} catch (RuntimeException ex) {
+			event.succeeded = false;
+			throw ex;
+		} finally {
+			createBookingTimer.stop(started);
+			event.commit();
+		}
+	}
+
+	public List<Booking> createBookings(
+		User actingUser,
+		String roomName,
+		List<TimeSlot> slots
+	) {
+		return createBookings(actingUser, roomName, slots, null);
+	}
+
+	/**
+	 * Creates one booking per slot, replaying the original result when
+	 * {@code idempotencyKey} was already used by the same user for the same operation.
+	 */
+	public List<Booking> createBookings(
+		User actingUser,
+		String roomName,
+		List<TimeSlot> slots,
+		String idempotencyKey
+	) {
+		BookingEvent event = BookingEvent.start("createSeries", roomName, slots == null ? 0 : slots.size(), usernameOf(actingUser));
+		long started = createBookingsTimer.start();
+		try {
+			requireBookingCreationPermission(actingUser);
+			Optional<IdempotencyRecord> replay = findReplay(
+				actingUser,
+				idempotencyKey,
+				IdempotencyRecord.Operation.CREATE_BOOKINGS
+			);
+			if (replay.isPresent()) {
+				return resolveReplayedBookings(replay.get());
+			}
+			Objects.requireNonNull(slots, "slots");
+			if (slots.isEmpty()) {
+				throw new IllegalArgumentException("At least one time slot is required");
+			}
+			Room room = getRoomByName(roomName);
+			ensureWithinQuota(actingUser, slots, null);
+			List<Booking> newBookings = new ArrayList<>();
+			for (TimeSlot slot : slots) {
+				ensureNoConflict(room, slot.start(), slot.end(), null);
+				newBookings.add(
+					createBookingInternal(
+						room,
+						slot.start(),
+						slot.end(),
+						actingUser.getUsername()
+					)
+				);
+			}
+			bookingIndex.addAll(newBookings);
+			newBookings.forEach(occupancy::add);
+			newBookings.forEach(quotaTracker::add);
+			rememberIdempotencyKey(
+				actingUser,
+				idempotencyKey,
+				IdempotencyRecord.Operation.CREATE_BOOKINGS,
+				newBookings.stream().map(Booking::getId).toList()
+			);
+			persist();
+			for (Booking booking : newBookings) {
+				audit(actingUser, "booking.create", booking.getId(), null, describe(booking));
+			}
+			return List.copyOf(newBookings);
+		} catch (RuntimeException ex) {
+			event.succeeded = false;
+			throw ex;
+		} finally {
+			createBookingsTimer.stop(started);
+			event.commit();
+		}
+	}
+
+	/**
+	 * Books every room in {@code roomNames} for every slot, such as a hall and
+	 * its breakout rooms for one event, or nothing if any room is taken or the
+	 * bookings together exceed the quota. Rooms are checked in one global order,
+	 * by lower-cased name, so the outcome and the reported conflict do not depend
+	 * on the order the rooms were given in.
+	 *
+	 * @return the created bookings, by room in that order and then by slot
+	 */
+	public List<Booking> createMultiRoomBookings(
+		User actingUser,
+		Collection<String> roomNames,
+		List<TimeSlot> slots
+	) {
+		Objects.requireNonNull(roomNames, "roomNames");
+		BookingEvent event = BookingEvent.start(
+			"createMulti",
+			String.join(",", roomNames),
+			slots == null ? 0 : slots.size() * roomNames.size(),
+			usernameOf(actingUser)
+		);
+		long started = createMultiRoomTimer.start();
+		try {
+			requireBookingCreationPermission(actingUser);
+			Objects.requireNonNull(slots, "slots");
+			if (roomNames.isEmpty() || slots.isEmpty()) {
+				throw new IllegalArgumentException("At least one room and one time slot are required");
+			}
+			Map<String, Room> ordered = new TreeMap<>();
+			for (String roomName : roomNames) {
+				Room room = getRoomByName(roomName);
+				if (ordered.put(roomKey(room), room) != null) {
+					throw new IllegalArgumentException("Room listed more than once: " + room.getName());
+				}
+			}
+			List<TimeSlot> allSlots = new ArrayList<>(slots.size() * ordered.size());
+			for (int i = 0; i < ordered.size(); i++) {
+				allSlots.addAll(slots);
+			}
+			ensureWithinQuota(actingUser, allSlots, null);
+			List<Booking> newBookings = new ArrayList<>();
+			for (Room room : ordered.values()) {
+				for (TimeSlot slot : slots) {
+					try {
+						ensureNoConflict(room, slot.start(), slot.end(), null);
+					} catch (IllegalStateException ex) {
+						throw new IllegalStateException(room.getName() + ": " + ex.getMessage(), ex);
+					}
+					newBookings.add(
+						createBookingInternal(
+							room,
+							slot.start(),
+							slot.end(),
+							actingUser.getUsername()
+						)
+					);
+				}
+			}
+			bookingIndex.addAll(newBookings);
+			newBookings.forEach(occupancy::add);
+			newBookings.forEach(quotaTracker::add);
+			persist();
+			for (Booking booking : newBookings) {
+				audit(actingUser, "booking.create", booking.getId(), null, describe(booking));
+			}
+			return List.copyOf(newBookings);
+		} catch (RuntimeException ex) {
+			event.succeeded = false;
+			throw ex;
+		} finally {
+			createMultiRoomTimer.stop(started);
+			event.commit();
+		}
+	}
+
+	public List<Booking> listBookings(User actingUser) {
+		if (canViewAllBookings(actingUser)) {
+			return bookingIndex.all();
+		}
+		return bookingIndex.forOwner(actingUser.getUsername());
+	}
+
+	/**
+	 * Counts the bookings visible to {@code actingUser} that match {@code query}.
+	 */
+	public int countBookings(User actingUser, BookingQuery query) {
+		return resolveQuery(actingUser, query).size();
+	}
+
+	/**
+	 * Returns one page of the bookings visible to {@code actingUser} that match
+	 * {@code query}, resolved through the start-time indexes without scanning
+	 * rows outside the page.
+	 */
+	public List<Booking> findBookings(
+		User actingUser,
+		BookingQuery query,
+		int offset,
+		int limit
+	) {
+		long started = findBookingsTimer.start();
+		try {
+			if (offset < 0 || limit < 0) {
+				throw new IllegalArgumentException("Offset and limit must not be negative");
+			}
+			List<Booking> matches = resolveQuery(actingUser, query);
+			int size = matches.size();
+			int end = (int) Math.min(size, (long) offset + limit);
+			List<Booking> page = new ArrayList<>(Math.max(0, end - offset));
+			for (int i = offset; i < end; i++) {
+				page.add(matches.get(query.descending() ? size - 1 - i : i));
+			}
+			return Collections.unmodifiableList(page);
+		} finally {
+			findBookingsTimer.stop(started);
+		}
+	}
+
+	/**
+	 * Looks a booking up by id without scanning, returning it only if
+	 * {@code actingUser} may see it.
+	 */
+	public Optional<Booking> findVisibleBooking(User actingUser, UUID bookingId) {
+		return bookingIndex
+			.find(bookingId)
+			.filter(booking ->
+				canViewAllBookings(actingUser) ||
+				booking.isOwnedBy(actingUser.getUsername())
+			);
+	}
+
+	/**
+	 * Returns the row index of a booking within {@link #findBookings} results for
+	 * {@code query}, or -1 if it is not part of them.
+	 */
+	public int positionOf(User actingUser, BookingQuery query, UUID bookingId) {
+		Optional<Booking> booking = bookingIndex.find(bookingId);
+		if (booking.isEmpty()) {
+			return -1;
+		}
+		List<Booking> matches = resolveQuery(actingUser, query);
+		int index = Collections.binarySearch(matches, booking.get(), BookingIndex.BY_START);
+		if (index < 0) {
+			return -1;
+		}
+		return query.descending() ? matches.size() - 1 - index : index;
+	}
+
+	/**
+	 * Returns the visible bookings in the given rooms that overlap {@code [from, to)},
+	 * grouped by room in the order given and ordered by start within each room.
+	 */
+	public List<Booking> findOverlapping(
+		User actingUser,
+		Collection<String> roomNames,
+		LocalDateTime from,
+		LocalDateTime to
+	) {
+		Objects.requireNonNull(roomNames, "roomNames");
+		Objects.requireNonNull(from, "from");
+		Objects.requireNonNull(to, "to");
+		boolean all = canViewAllBookings(actingUser);
+		List<Booking> matches = new ArrayList<>();
+		for (String roomName : roomNames) {
+			for (Booking booking : bookingIndex.overlapping(roomName, from, to)) {
+				if (all || booking.isOwnedBy(actingUser.getUsername())) {
+					matches.add(booking);
+				}
+			}
+		}
+		return Collections.unmodifiableList(matches);
+	}
+
+	public void cancelBooking(User actingUser, UUID bookingId) {
+		cancelBooking(actingUser, bookingId, null);
+	}
+
+	/**
+	 * Cancels a booking; a retry carrying the same {@code idempotencyKey} is a no-op
+	 * even though the booking no longer exists.
+	 */
+	public void cancelBooking(
+		User actingUser,
+		UUID bookingId,
+		String idempotencyKey
+	) {
+		BookingEvent event = BookingEvent.start("cancel", null, 1, usernameOf(actingUser));
+		long started = cancelBookingTimer.start();
+		try {
+			Optional<IdempotencyRecord> replay = findReplay(
+				actingUser,
+				idempotencyKey,
+				IdempotencyRecord.Operation.CANCEL_BOOKING
+			);
+			if (replay.isPresent()) {
+				if (!replay.get().bookingIds().contains(bookingId)) {
+					throw new IllegalArgumentException(
+						"Idempotency key already used for booking " +
+						replay.get().bookingIds().get(0)
+					);
+				}
+				return;
+			}
+			Booking booking = findBooking(bookingId);
+			event.room = booking.getRoom().getName();
+			ensureBookingAccess(actingUser, booking);
+			unindex(booking);
+			List<Booking> promoted = promoteWaitlisted(booking.getRoom(), booking.getStart(), booking.getEnd());
+			rememberIdempotencyKey(
+				actingUser,
+				idempotencyKey,
+				IdempotencyRecord.Operation.CANCEL_BOOKING,
+				List.of(bookingId)
+			);
+			persist();
+			audit(actingUser, "booking.cancel", booking.getId(), describe(booking), null);
+			auditPromotions(promoted);
+		} catch (RuntimeException ex) {
+			event.succeeded = false;
+			throw ex;
+		} finally {
+			cancelBookingTimer.stop(started);
+			event.commit();
+		}
+	}
+
+	public Booking updateBooking(
+		User actingUser,
+		UUID bookingId,
+		LocalDateTime start,
+		LocalDateTime end
+	) {
+		BookingEvent event = BookingEvent.start("update", null, 1, usernameOf(actingUser));
+		long started = updateBookingTimer.start();
+		try {
+			Booking booking = findBooking(bookingId);
+			event.room = booking.getRoom().getName();
+			ensureBookingAccess(actingUser, booking);
+			ensureNoConflict(booking.getRoom(), start, end, booking.getId());
+			User owner = usersByName.get(userKey(booking.getBookedBy()));
+			if (owner != null) {
+				ensureWithinQuota(owner, List.of(new TimeSlot(start, end)), booking);
+			}
+			String before = describe(booking);
+			LocalDateTime oldStart = booking.getStart();
+			LocalDateTime oldEnd = booking.getEnd();
+			unindex(booking);
+			booking.setStart(start);
+			booking.setEnd(end);
+			index(booking);
+			List<Booking> promoted = promoteWaitlisted(booking.getRoom(), oldStart, oldEnd);
+			persist();
+			audit(actingUser, "booking.update", booking.getId(), before, describe(booking));
+			auditPromotions(promoted);
+			return booking;
+		} catch (RuntimeException ex) {
+			event.succeeded = false;
+			throw ex;
+		} finally {
+			updateBookingTimer.stop(started);
+			event.commit();
+		}
+	}
+
+	/**
+	 * Returns the bookings {@code selection} picks for {@code actingUser}, ordered
+	 * by start, so a bulk change can be previewed before it is applied. Users who
+	 * cannot manage all bookings only ever select their own.
+	 */
+	public List<Booking> selectBookings(User actingUser, BookingSelection selection) {
+		Objects.requireNonNull(selection, "selection");
+		if (selection.isUnbounded()) {
+			throw new IllegalArgumentException(
+				"Select bookings by id, room, owner or date range"
+			);
+		}
+		if (actingUser == null) {
+			throw new SecurityException("User must be logged in");
+		}
+		boolean all = actingUser.getRole().canManageAllBookings();
+		// Keyed by id so a booking reached twice, such as through two spellings
+		// of one room, is only selected once.
+		Map<UUID, Booking> selected = new LinkedHashMap<>();
+		if (!selection.ids().isEmpty()) {
+			for (UUID id : selection.ids()) {
+				selected.put(
+					id,
+					findVisibleBooking(actingUser, id).orElseThrow(() ->
+						new IllegalArgumentException("Booking not found: " + id)
+					)
+				);
+			}
+		} else {
+			String owner = all ? selection.owner() : actingUser.getUsername();
+			if (selection.roomNames().isEmpty()) {
+				for (Booking booking : bookingIndex.startingBetween(null, owner, selection.from(), selection.to())) {
+					selected.put(booking.getId(), booking);
+				}
+			} else {
+				Map<String, Room> rooms = new LinkedHashMap<>();
+				for (String roomName : selection.roomNames()) {
+					Room room = getRoomByName(roomName);
+					rooms.putIfAbsent(roomKey(room), room);
+				}
+				for (Room room : rooms.values()) {
+					for (Booking booking : bookingIndex.startingBetween(room.getName(), owner, selection.from(), selection.to())) {
+						selected.put(booking.getId(), booking);
+					}
+				}
+			}
+		}
+		List<Booking> result = new ArrayList<>(selected.values());
+		result.sort(BookingIndex.BY_START);
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Guards the bulk operations, which change each selected booking exactly
+	 * once and would apply a change twice to a booking listed twice.
+	 */
+	private static void requireDistinct(List<Booking> bookings) {
+		Set<UUID> seen = new HashSet<>();
+		for (Booking booking : bookings) {
+			if (!seen.add(booking.getId())) {
+				throw new IllegalStateException("Booking selected more than once: " + booking.getId());
+			}
+		}
+	}
+
+	/**
+	 * Cancels every booking {@code selection} picks and writes once. Access is
+	 * checked for the whole set first, so either all are cancelled or none are.
+	 *
+	 * @return the cancelled bookings
+	 */
+	public List<Booking> cancelBookings(User actingUser, BookingSelection selection) {
+		BookingEvent event = BookingEvent.start("cancelMany", null, 0, usernameOf(actingUser));
+		long started = cancelBookingsTimer.start();
+		try {
+			List<Booking> selected = selectBookings(actingUser, selection);
+			requireDistinct(selected);
+			event.slotCount = selected.size();
+			for (Booking booking : selected) {
+				ensureBookingAccess(actingUser, booking);
+			}
+			selected.forEach(this::unindex);
+			List<Booking> promoted = new ArrayList<>();
+			for (Booking booking : selected) {
+				promoted.addAll(promoteWaitlisted(booking.getRoom(), booking.getStart(), booking.getEnd()));
+			}
+			if (!selected.isEmpty()) {
+				persist();
+			}
+			for (Booking booking : selected) {
+				audit(actingUser, "booking.cancel", booking.getId(), describe(booking), null);
+			}
+			auditPromotions(promoted);
+			return selected;
+		} catch (RuntimeException ex) {
+			event.succeeded = false;
+			throw ex;
+		} finally {
+			cancelBookingsTimer.stop(started);
+			event.commit();
+		}
+	}
+
+	/**
+	 * Moves every booking {@code selection} picks by {@code offset} and writes
+	 * once. The moved bookings keep their spacing, so they are only checked
+	 * against bookings and holds outside the set and against their owners'
+	 * quotas; if any check fails nothing is moved.
+	 *
+	 * @return the moved bookings
+	 */
+	public List<Booking> shiftBookings(
+		User actingUser,
+		BookingSelection selection,
+		Duration offset
+	) {
+		BookingEvent event = BookingEvent.start("shiftMany", null, 0, usernameOf(actingUser));
+		long started = shiftBookingsTimer.start();
+		try {
+			Objects.requireNonNull(offset, "offset");
+			if (offset.isZero()) {
+				throw new IllegalArgumentException("Offset must not be zero");
+			}
+			List<Booking> selected = selectBookings(actingUser, selection);
+			requireDistinct(selected);
+			event.slotCount = selected.size();
+			Map<String, List<TimeSlot>> slotsByOwner = new HashMap<>();
+			for (Booking booking : selected) {
+				ensureBookingAccess(actingUser, booking);
+				slotsByOwner
+					.computeIfAbsent(userKey(booking.getBookedBy()), key -> new ArrayList<>())
+					.add(new TimeSlot(booking.getStart().plus(offset), booking.getEnd().plus(offset)));
+			}
+			if (selected.isEmpty()) {
+				return selected;
+			}
+			// Take the whole set out first so its members never conflict with
+			// each other's old slots; put it back unchanged if a check fails.
+			selected.forEach(this::unindex);
+			try {
+				slotsByOwner.forEach((owner, slots) -> {
+					User user = usersByName.get(owner);
+					if (user != null) {
+						ensureWithinQuota(user, slots, null);
+					}
+				});
+				for (Booking booking : selected) {
+					try {
+						ensureNoConflict(
+							booking.getRoom(),
+							booking.getStart().plus(offset),
+							booking.getEnd().plus(offset),
+							null
+						);
+					} catch (IllegalStateException ex) {
+						throw new IllegalStateException(
+							"Cannot move booking " + booking.getId() + ": " + ex.getMessage(),
+							ex
+						);
+					}
+				}
+			} catch (RuntimeException ex) {
+				selected.forEach(this::index);
+				throw ex;
+			}
+			List<String> before = new ArrayList<>(selected.size());
+			for (Booking booking : selected) {
+				before.add(describe(booking));
+				booking.setStart(booking.getStart().plus(offset));
+				booking.setEnd(booking.getEnd().plus(offset));
+				index(booking);
+			}
+			List<Booking> promoted = new ArrayList<>();
+			for (Booking booking : selected) {
+				promoted.addAll(
+					promoteWaitlisted(
+						booking.getRoom(),
+						booking.getStart().minus(offset),
+						booking.getEnd().minus(offset)
+					)
+				);
+			}
+			persist();
+			for (int i = 0; i < selected.size(); i++) {
+				Booking booking = selected.get(i);
+				audit(actingUser, "booking.update", booking.getId(), before.get(i), describe(booking));
+			}
+			auditPromotions(promoted);
+			return selected;
+		} catch (RuntimeException ex) {
+			event.succeeded = false;
+			throw ex;
+		} finally {
+			shiftBookingsTimer.stop(started);
+			event.commit();
+		}
+	}
+
+	/**
+	 * Proposes a room for each request without changing anything. Rooms are
+	 * chosen around current bookings and holds, smallest suitable room first;
+	 * see {@link RoomAssigner} for the heuristic. Preview the result, then pass
+	 * it to {@link #commitAssignments}.
+	 */
+	public AssignmentPlan planAssignments(User actingUser, List<RoomRequest> requests) {
+		long started = planAssignmentsTimer.start();
+		try {
+			requirePermission(actingUser, Role::canManageAllBookings, "assign rooms");
+			Objects.requireNonNull(requests, "requests");
+			if (requests.isEmpty()) {
+				return new AssignmentPlan(List.of(), List.of());
+			}
+			Map<RoomQuery, List<String>> roomsByQuery = new HashMap<>();
+			Set<Room> candidates = new LinkedHashSet<>();
+			List<List<String>> eligible = new ArrayList<>(requests.size());
+			LocalDateTime from = null;
+			LocalDateTime to = null;
+			for (RoomRequest request : requests) {
+				if (!usersByName.containsKey(userKey(request.requestedBy()))) {
+					throw new IllegalArgumentException(
+						"Unknown user " + request.requestedBy() + " in request " + request.label()
+					);
+				}
+				eligible.add(
+					roomsByQuery.computeIfAbsent(request.room(), query -> {
+						List<Room> matching = roomCatalog.search(query, Integer.MAX_VALUE);
+						candidates.addAll(matching);
+						return matching.stream().map(Room::getName).toList();
+					})
+				);
+				from = from == null || request.first().start().isBefore(from) ? request.first().start() : from;
+				to = to == null || request.last().end().isAfter(to) ? request.last().end() : to;
+			}
+			Map<String, List<TimeSlot>> busy = new HashMap<>();
+			expireHolds();
+			Instant now = clock.instant();
+			for (Room room : candidates) {
+				List<TimeSlot> taken = new ArrayList<>();
+				for (Booking booking : bookingIndex.overlapping(room.getName(), from, to)) {
+					taken.add(new TimeSlot(booking.getStart(), booking.getEnd()));
+				}
+				for (Hold hold : holdsByRoom.getOrDefault(roomKey(room), Map.of()).values()) {
+					if (hold.expiresAt().isAfter(now) && hold.overlaps(from, to)) {
+						taken.add(new TimeSlot(hold.start(), hold.end()));
+					}
+				}
+				busy.put(room.getName(), taken);
+			}
+			return new RoomAssigner(requests, eligible, busy).plan();
+		} finally {
+			planAssignmentsTimer.stop(started);
+		}
+	}
+
+	/**
+	 * Books every assignment in {@code plan} for its requester and writes once.
+	 * Each slot is checked again against current bookings and holds and each
+	 * requester's quota against all of their new bookings; if any check fails,
+	 * nothing is booked. Unassigned requests are ignored.
+	 *
+	 * @return the created bookings
+	 */
+	public List<Booking> commitAssignments(User actingUser, AssignmentPlan plan) {
+		BookingEvent event = BookingEvent.start("assign", null, plan == null ? 0 : plan.slotCount(), usernameOf(actingUser));
+		long started = commitAssignmentsTimer.start();
+		try {
+			requirePermission(actingUser, Role::canManageAllBookings, "assign rooms");
+			Map<String, List<TimeSlot>> slotsByOwner = new LinkedHashMap<>();
+			for (AssignmentPlan.Assignment assignment : plan.assignments()) {
+				slotsByOwner
+					.computeIfAbsent(userKey(assignment.request().requestedBy()), key -> new ArrayList<>())
+					.addAll(assignment.request().slots());
+			}
+			slotsByOwner.forEach((owner, slots) -> {
+				User user = usersByName.get(owner);
+				if (user == null) {
+					throw new IllegalArgumentException("User not found: " + owner);
+				}
+				ensureWithinQuota(user, slots, null);
+			});
+			List<Booking> created = new ArrayList<>();
+			try {
+				for (AssignmentPlan.Assignment assignment : plan.assignments()) {
+					Room room = getRoomByName(assignment.roomName());
+					User owner = usersByName.get(userKey(assignment.request().requestedBy()));
+					for (TimeSlot slot : assignment.request().slots()) {
+						try {
+							ensureNoConflict(room, slot.start(), slot.end(), null);
+						} catch (IllegalStateException ex) {
+							throw new IllegalStateException(
+								"Cannot assign " + room.getName() + " to " + assignment.request().label() + ": " + ex.getMessage(),
+								ex
+							);
+						}
+						Booking booking = createBookingInternal(room, slot.start(), slot.end(), owner.getUsername());
+						index(booking);
+						created.add(booking);
+					}
+				}
+			} catch (RuntimeException ex) {
+				created.forEach(this::unindex);
+				throw ex;
+			}
+			if (!created.isEmpty()) {
+				persist();
+			}
+			for (Booking booking : created) {
+				audit(actingUser, "booking.create", booking.getId(), null, describe(booking));
+			}
+			return created;
+		} catch (RuntimeException ex) {
+			event.succeeded = false;
+			throw ex;
+		} finally {
+			commitAssignmentsTimer.stop(started);
+			event.commit();
+		}
+	}
+
+	/**
+	 * Places a tentative hold that blocks conflicting bookings and holds until it
+	 * is confirmed, released, or {@code ttl} elapses.
+	 */
+	public Hold placeHold(
+		User actingUser,
+		String roomName,
+		LocalDateTime start,
+		LocalDateTime end,
+		Duration ttl
 	) {
 		requireBookingCreationPermission(actingUser);
+		Objects.requireNonNull(ttl, "ttl");
+		if (ttl.isNegative() || ttl.isZero() || ttl.compareTo(MAX_HOLD_TTL) > 0) {
+			throw new IllegalArgumentException(
+				"Hold TTL must be between 0 and " + MAX_HOLD_TTL.toMinutes() + " minutes"
+			);
+		}
 		Room room = getRoomByName(roomName);
 		ensureNoConflict(room, start, end, null);
-		Booking booking = createBookingInternal(
+		Hold hold = new Hold(
+			UUID.randomUUID(),
 			room,
 			start,
 			end,
-			actingUser.getUsername()
+			actingUser.getUsername(),
+			clock.instant().plus(ttl)
+		);
+		holds.put(
+			hold.id(),
+			holdExpirations.schedule(hold, hold.expiresAt().toEpochMilli())
+		);
+		holdsByRoom
+			.computeIfAbsent(roomKey(room), key -> new LinkedHashMap<>())
+			.put(hold.id(), hold);
+		return hold;
+	}
+
+	/**
+	 * Converts an active hold into a persisted booking.
+	 */
+	public Booking confirmHold(User actingUser, UUID holdId) {
+		requireBookingCreationPermission(actingUser);
+		Hold hold = findHold(holdId);
+		ensureHoldAccess(actingUser, hold);
+		ConflictChecker
+			.findConflict(
+				bookingIndex.overlapping(hold.room().getName(), hold.start(), hold.end()),
+				hold.room(),
+				hold.start(),
+				hold.end(),
+				null
+			)
+			.ifPresent(conflict -> {
+				throw new IllegalStateException(
+					"Requested slot conflicts with booking " + conflict.getId()
+				);
+			});
+		User owner = usersByName.get(userKey(hold.heldBy()));
+		if (owner != null) {
+			ensureWithinQuota(owner, List.of(new TimeSlot(hold.start(), hold.end())), null);
+		}
+		removeHold(hold);
+		Booking booking = createBookingInternal(
+			hold.room(),
+			hold.start(),
+			hold.end(),
+			hold.heldBy()
 		);
-		bookings.add(booking);
+		index(booking);
 		persist();
+		audit(actingUser, "booking.create", booking.getId(), null, describe(booking));
 		return booking;
 	}
 
-	public List<Booking> createBookings(
+	public void releaseHold(User actingUser, UUID holdId) {
+		Hold hold = findHold(holdId);
+		ensureHoldAccess(actingUser, hold);
+		removeHold(hold);
+		List<Booking> promoted = promoteWaitlisted(hold.room(), hold.start(), hold.end());
+		if (!promoted.isEmpty()) {
+			persist();
+			auditPromotions(promoted);
+		}
+	}
+
+	/**
+	 * Queues a request for a room and window that is currently taken. When a
+	 * cancellation, move or released hold frees the window, the request is booked
+	 * for {@code actingUser} automatically, ahead of users with lower priority:
+	 * requests from users who can manage all bookings go first, then everyone
+	 * in the order they asked.
+	 */
+	public WaitlistEntry joinWaitlist(
 		User actingUser,
 		String roomName,
-		List<TimeSlot> slots
+		LocalDateTime start,
+		LocalDateTime end
 	) {
 		requireBookingCreationPermission(actingUser);
-		Objects.requireNonNull(slots, "slots");
-		if (slots.isEmpty()) {
-			throw new IllegalArgumentException("At least one time slot is required");
-		}
 		Room room = getRoomByName(roomName);
-		List<Booking> newBookings = new ArrayList<>();
-		for (TimeSlot slot : slots) {
-			ensureNoConflict(room, slot.start(), slot.end(), null);
-			newBookings.add(
-				createBookingInternal(
-					room,
-					slot.start(),
-					slot.end(),
-					actingUser.getUsername()
-				)
+		TimeSlot slot = new TimeSlot(start, end);
+		if (!start.isAfter(LocalDateTime.now())) {
+			throw new IllegalArgumentException("Only future time windows can be waitlisted");
+		}
+		try {
+			ensureNoConflict(room, start, end, null);
+		} catch (BookingConflictException taken) {
+			for (WaitlistEntry existing : waitlists.overlapping(room.getName(), start, end)) {
+				if (
+					existing.isRequestedBy(actingUser.getUsername()) &&
+					existing.start().equals(start) &&
+					existing.end().equals(end)
+				) {
+					throw new IllegalStateException("Already waitlisted for this window: " + existing.id());
+				}
+			}
+			WaitlistEntry entry = new WaitlistEntry(
+				UUID.randomUUID(),
+				room.getName(),
+				slot.start(),
+				slot.end(),
+				actingUser.getUsername(),
+				actingUser.getRole().canManageAllBookings() ? 1 : 0,
+				clock.instant()
 			);
+			waitlists.add(entry);
+			waitlistDirty = true;
+			persist();
+			audit(actingUser, "waitlist.join", entry.id(), null, describe(entry));
+			return entry;
 		}
-		bookings.addAll(newBookings);
+		throw new IllegalStateException("The requested window is free; book it instead");
+	}
+
+	public void leaveWaitlist(User actingUser, UUID entryId) {
+		WaitlistEntry entry = waitlists.find(entryId).orElseThrow(() ->
+			new IllegalArgumentException("Waitlist entry not found: " + entryId)
+		);
+		if (!actingUser.getRole().canManageAllBookings() && !entry.isRequestedBy(actingUser.getUsername())) {
+			throw new SecurityException("Cannot modify waitlist entries for other users");
+		}
+		waitlists.remove(entry);
+		waitlistDirty = true;
 		persist();
-		return List.copyOf(newBookings);
+		audit(actingUser, "waitlist.leave", entry.id(), describe(entry), null);
 	}
 
-	public List<Booking> listBookings(User actingUser) {
-		if (
-			actingUser.getRole().canManageAllBookings() ||
-			actingUser.getRole() == Role.GUEST
-		) {
-			return Collections.unmodifiableList(bookings);
-		}
-		return Collections.unmodifiableList(
-			bookings
-				.stream()
-				.filter(booking -> booking.isOwnedBy(actingUser.getUsername()))
-				.toList()
+	/**
+	 * Returns how many waitlisted requests have been booked automatically since
+	 * startup. A caller that compares it before and after a cancel or update can
+	 * tell whether the change also created bookings for other users.
+	 */
+	public long promotionCount() {
+		return promotionCount;
+	}
+
+	/**
+	 * Returns the waitlist entries visible to {@code actingUser}, highest priority
+	 * first.
+	 */
+	public List<WaitlistEntry> listWaitlist(User actingUser) {
+		List<WaitlistEntry> entries = waitlists.all();
+		if (canViewAllBookings(actingUser)) {
+			return Collections.unmodifiableList(entries);
+		}
+		return entries
+			.stream()
+			.filter(entry -> entry.isRequestedBy(actingUser.getUsername()))
+			.toList();
+	}
+
+	public List<Hold> listHolds(User actingUser) {
+		expireHolds();
+		return holds
+			.values()
+			.stream()
+			.map(TimingWheel.Timeout::payload)
+			.filter(hold ->
+				actingUser.getRole().canManageAllBookings() ||
+				hold.isHeldBy(actingUser.getUsername())
+			)
+			.toList();
+	}
+
+	/**
+	 * Computes per-room occupancy for the days {@code from} to {@code to}
+	 * inclusive within daily opening hours, reading the room indexes in place.
+	 * Rooms are measured in parallel, which is safe because callers already
+	 * serialize access to this class.
+	 */
+	public UtilizationReport utilizationReport(
+		User actingUser,
+		LocalDate from,
+		LocalDate to,
+		LocalTime opens,
+		LocalTime closes
+	) {
+		requirePermission(actingUser, Role::canManageRooms, "view utilization reports");
+		LocalDateTime rangeStart = from.atStartOfDay();
+		LocalDateTime rangeEnd = to.plusDays(1).atStartOfDay();
+		Map<String, List<Booking>> archived = archivedByRoom(rangeStart, rangeEnd);
+		return UtilizationReport.compute(
+			from,
+			to,
+			opens,
+			closes,
+			List.copyOf(rooms),
+			roomName -> {
+				List<Booking> live = bookingIndex.overlapCandidates(roomName, rangeStart, rangeEnd);
+				List<Booking> old = archived.get(BookingIndex.key(roomName));
+				if (old == null) {
+					return live;
+				}
+				List<Booking> combined = new ArrayList<>(old);
+				combined.addAll(live);
+				return combined;
+			}
 		);
 	}
 
-	public void cancelBooking(User actingUser, UUID bookingId) {
-		Booking booking = findBooking(bookingId);
-		ensureBookingAccess(actingUser, booking);
-		bookings.remove(booking);
-		persist();
+	/**
+	 * Moves bookings that ended before the retention cutoff into the archive, so
+	 * conflict checks and full writes only pay for recent history. Needs no user,
+	 * so it can run as a scheduled job; callers must still serialize it with
+	 * other calls.
+	 *
+	 * @return the number of bookings archived
+	 */
+	public int applyRetention() {
+		if (!retention.isEnabled()) {
+			return 0;
+		}
+		return archiveEndedBefore(null, retention.cutoff(LocalDate.now()));
 	}
 
-	public Booking updateBooking(
+	/**
+	 * Archives every booking that ended by {@code cutoff}, which must not be in
+	 * the future.
+	 *
+	 * @return the number of bookings archived
+	 */
+	public int archiveBookings(User actingUser, LocalDateTime cutoff) {
+		requirePermission(actingUser, Role::canManageUsers, "archive bookings");
+		Objects.requireNonNull(cutoff, "cutoff");
+		if (cutoff.isAfter(LocalDateTime.now())) {
+			throw new IllegalArgumentException("Only bookings that have already ended can be archived");
+		}
+		return archiveEndedBefore(actingUser, cutoff);
+	}
+
+	/**
+	 * Returns the archived bookings visible to {@code actingUser} that overlap
+	 * {@code [from, to)}, ordered by start; either bound may be null.
+	 */
+	public List<ArchivedBooking> findArchivedBookings(
 		User actingUser,
-		UUID bookingId,
-		LocalDateTime start,
-		LocalDateTime end
+		LocalDateTime from,
+		LocalDateTime to
 	) {
-		Booking booking = findBooking(bookingId);
-		ensureBookingAccess(actingUser, booking);
-		ensureNoConflict(booking.getRoom(), start, end, booking.getId());
-		booking.setStart(start);
-		booking.setEnd(end);
+		List<ArchivedBooking> archived = fileManager.loadArchivedBookings(from, to);
+		if (canViewAllBookings(actingUser)) {
+			return Collections.unmodifiableList(archived);
+		}
+		return archived
+			.stream()
+			.filter(booking -> booking.bookedBy().equalsIgnoreCase(actingUser.getUsername()))
+			.toList();
+	}
+
+	/**
+	 * Returns recorded changes stamped within {@code [from, to)}, oldest first,
+	 * optionally only those to {@code subject} (a booking id, room name, username
+	 * or quota subject). Either bound may be null.
+	 */
+	public List<AuditRecord> auditTrail(User actingUser, Instant from, Instant to, String subject) {
+		requirePermission(actingUser, Role::canManageUsers, "view the audit trail");
+		List<AuditRecord> records = auditLog.read(from, to);
+		if (subject == null || subject.isBlank()) {
+			return Collections.unmodifiableList(records);
+		}
+		return records
+			.stream()
+			.filter(record -> record.subject().equalsIgnoreCase(subject.trim()))
+			.toList();
+	}
+
+	public RetentionPolicy retentionPolicy() {
+		return retention;
+	}
+
+	private int archiveEndedBefore(User actingUser, LocalDateTime cutoff) {
+		long started = archiveTimer.start();
+		try {
+			List<Booking> ended = new ArrayList<>();
+			for (Booking booking : bookingIndex.startingBetween(null, null, null, cutoff)) {
+				if (!booking.getEnd().isAfter(cutoff)) {
+					ended.add(booking);
+				}
+			}
+			if (ended.isEmpty()) {
+				return 0;
+			}
+			fileManager.archiveBookings(ended);
+			for (Booking booking : ended) {
+				// Occupancy rollups keep the archived days, so daily figures and
+				// the room list stay the same.
+				if (bookingIndex.remove(booking)) {
+					quotaTracker.archive(booking, cutoff);
+				}
+				if (archiveHorizon == null || booking.getEnd().isAfter(archiveHorizon)) {
+					archiveHorizon = booking.getEnd();
+				}
+			}
+			audit(actingUser, "booking.archive", "before " + cutoff, null, ended.size() + " bookings");
+			return ended.size();
+		} finally {
+			archiveTimer.stop(started);
+		}
+	}
+
+	/**
+	 * Loads archived bookings overlapping the range as bookings of the current
+	 * rooms, keyed by room; rooms deleted since are left out.
+	 */
+	private Map<String, List<Booking>> archivedByRoom(LocalDateTime from, LocalDateTime to) {
+		if (archiveHorizon == null || !from.isBefore(archiveHorizon)) {
+			return Map.of();
+		}
+		Map<String, Room> roomsByKey = new HashMap<>();
+		rooms.forEach(room -> roomsByKey.put(roomKey(room), room));
+		Map<String, List<Booking>> byRoom = new HashMap<>();
+		for (ArchivedBooking archived : fileManager.loadArchivedBookings(from, to)) {
+			String key = BookingIndex.key(archived.roomName());
+			Room room = roomsByKey.get(key);
+			if (room != null) {
+				byRoom
+					.computeIfAbsent(key, ignored -> new ArrayList<>())
+					.add(
+						new Booking(
+							archived.id(),
+							room,
+							archived.start(),
+							archived.end(),
+							archived.bookedBy()
+						)
+					);
+			}
+		}
+		return byRoom;
+	}
+
+	/**
+	 * Sets the booking quota for every user with {@code role}; an unlimited quota
+	 * removes it. Per-user quotas take precedence.
+	 */
+	public void setRoleQuota(User actingUser, Role role, BookingQuota quota) {
+		requirePermission(actingUser, Role::canManageUsers, "manage quotas");
+		Objects.requireNonNull(role, "role");
+		Objects.requireNonNull(quota, "quota");
+		BookingQuota before = roleQuotas.get(role);
+		if (quota.isUnlimited()) {
+			roleQuotas.remove(role);
+		} else {
+			roleQuotas.put(role, quota);
+		}
+		quotasDirty = true;
 		persist();
-		return booking;
+		audit(actingUser, "quota.set", ROLE_QUOTA_PREFIX + role.name(), describe(before), describe(roleQuotas.get(role)));
+	}
+
+	/**
+	 * Overrides the role quota for one user, or clears the override when
+	 * {@code quota} is null. An unlimited override exempts the user.
+	 */
+	public void setUserQuota(User actingUser, String username, BookingQuota quota) {
+		requirePermission(actingUser, Role::canManageUsers, "manage quotas");
+		User target = findUser(username).orElseThrow(() ->
+			new IllegalArgumentException("User not found: " + username)
+		);
+		BookingQuota before = quota == null
+			? userQuotas.remove(userKey(target.getUsername()))
+			: userQuotas.put(userKey(target.getUsername()), quota);
+		quotasDirty = true;
+		persist();
+		audit(actingUser, "quota.set", USER_QUOTA_PREFIX + userKey(target.getUsername()), describe(before), describe(quota));
+	}
+
+	/**
+	 * Returns the quota that applies to {@code user}: their own override, else
+	 * their role's, else unlimited.
+	 */
+	public BookingQuota effectiveQuota(User user) {
+		BookingQuota own = userQuotas.get(userKey(user.getUsername()));
+		return own != null ? own : roleQuotas.getOrDefault(user.getRole(), BookingQuota.UNLIMITED);
+	}
+
+	/**
+	 * Returns how many of the user's bookings have not ended yet, from the
+	 * maintained quota counters.
+	 */
+	public int activeBookingCount(User user) {
+		quotaTracker.advance(LocalDateTime.now());
+		return quotaTracker.activeBookings(user.getUsername());
+	}
+
+	/**
+	 * Returns the user's booked hours in the Monday-to-Sunday week containing
+	 * {@code day}, from the maintained quota counters.
+	 */
+	public double bookedHoursInWeek(User user, LocalDate day) {
+		return quotaTracker.bookedMinutesInWeek(user.getUsername(), day) / 60.0;
+	}
+
+	/**
+	 * Returns the room's booked minutes, booking count and first/last times on
+	 * {@code day} from the maintained rollups, without visiting bookings.
+	 */
+	public RoomOccupancy occupancy(String roomName, LocalDate day) {
+		Room room = getRoomByName(roomName);
+		return occupancy.get(room.getName(), Objects.requireNonNull(day, "day"));
+	}
+
+	/**
+	 * Returns every room's occupancy on {@code day}, in catalogue order.
+	 */
+	public List<RoomOccupancy> occupancyOn(LocalDate day) {
+		Objects.requireNonNull(day, "day");
+		List<RoomOccupancy> result = new ArrayList<>(rooms.size());
+		for (Room room : rooms) {
+			result.add(occupancy.get(room.getName(), day));
+		}
+		return Collections.unmodifiableList(result);
 	}
 
 	public List<TimeSlot> generateRecurringSlots(
@@ -263,21 +1549,203 @@ public final class SchedulerSystem {
 		List<TimeSlot> slots,
 		UUID excludeId
 	) {
-		Objects.requireNonNull(slots, "slots");
+		long started = conflictCheckTimer.start();
+		try {
+			Objects.requireNonNull(slots, "slots");
+			Room room = getRoomByName(roomName);
+			Set<Booking> conflicts = new LinkedHashSet<>();
+			for (TimeSlot slot : slots) {
+				conflicts.addAll(
+					ConflictChecker.findConflicts(
+						bookingIndex.overlapping(room.getName(), slot.start(), slot.end()),
+						room,
+						slot.start(),
+						slot.end(),
+						excludeId
+					)
+				);
+			}
+			conflictChecks.increment();
+			if (!conflicts.isEmpty()) {
+				conflictHits.increment();
+			}
+			return List.copyOf(conflicts);
+		} finally {
+			conflictCheckTimer.stop(started);
+		}
+	}
+
+	/**
+	 * Checks {@code slots} in a room and, when they conflict, ranks alternatives:
+	 * the same slots in other rooms with at least the room's capacity and all its
+	 * tags, same location and smallest first, then the nearest free times in the
+	 * same room (for a single slot). Moving a booking keeps its room, so other
+	 * rooms are only offered when {@code excludeId} is null.
+	 *
+	 * <p>Alternatives come from the room catalogue and booking index and stop
+	 * being gathered once a few milliseconds have passed, so a failed request
+	 * costs little more than the conflict check; whatever was found by then is
+	 * returned.
+	 */
+	public Availability checkAvailability(
+		String roomName,
+		List<TimeSlot> slots,
+		UUID excludeId
+	) {
+		List<Booking> conflicts = findConflicts(roomName, slots, excludeId);
+		if (conflicts.isEmpty()) {
+			return new Availability(conflicts, List.of());
+		}
+		long started = alternativesTimer.start();
+		try {
+			long deadline = System.nanoTime() + ALTERNATIVES_BUDGET_NANOS;
+			Room room = getRoomByName(roomName);
+			List<Availability.Alternative> alternatives = new ArrayList<>();
+			if (excludeId == null) {
+				alternatives.addAll(otherRoomAlternatives(room, slots, deadline));
+			}
+			if (slots.size() == 1 && System.nanoTime() < deadline) {
+				TimeSlot slot = slots.get(0);
+				for (TimeSlot free : suggestFreeSlots(roomName, slot.start(), slot.end(), excludeId)) {
+					alternatives.add(new Availability.Alternative(room.getName(), List.of(free)));
+				}
+			}
+			return new Availability(conflicts, alternatives);
+		} finally {
+			alternativesTimer.stop(started);
+		}
+	}
+
+	private List<Availability.Alternative> otherRoomAlternatives(
+		Room room,
+		List<TimeSlot> slots,
+		long deadline
+	) {
+		List<Room> candidates = new ArrayList<>(
+			roomCatalog.search(
+				new RoomQuery(room.getCapacity(), null, room.getTags(), null, null),
+				MAX_ROOM_CANDIDATES
+			)
+		);
+		String location = room.getLocation();
+		if (location != null && !location.isBlank()) {
+			// Stable, so rooms keep their smallest-first order within each group.
+			candidates.sort(Comparator.comparing(candidate -> !location.equalsIgnoreCase(candidate.getLocation())));
+		}
+		expireHolds();
+		List<Availability.Alternative> alternatives = new ArrayList<>();
+		for (Room candidate : candidates) {
+			if (alternatives.size() >= MAX_ROOM_ALTERNATIVES || System.nanoTime() >= deadline) {
+				break;
+			}
+			if (candidate.equals(room)) {
+				continue;
+			}
+			boolean free = true;
+			for (TimeSlot slot : slots) {
+				if (!isFree(candidate, slot.start(), slot.end())) {
+					free = false;
+					break;
+				}
+			}
+			if (free) {
+				alternatives.add(new Availability.Alternative(candidate.getName(), slots));
+			}
+		}
+		return alternatives;
+	}
+
+	private boolean isFree(Room room, LocalDateTime start, LocalDateTime end) {
+		return ConflictChecker
+			.findConflict(bookingIndex.overlapping(room.getName(), start, end), room, start, end, null)
+			.isEmpty() &&
+			findOverlappingHold(room, start, end).isEmpty();
+	}
+
+	/**
+	 * Suggests the nearest free slots of the same length in the same room, one
+	 * before and one after the requested start where available, nearest first.
+	 * Active holds are treated as occupied and slots never start in the past.
+	 */
+	public List<TimeSlot> suggestFreeSlots(
+		String roomName,
+		LocalDateTime start,
+		LocalDateTime end,
+		UUID excludeId
+	) {
 		Room room = getRoomByName(roomName);
-		Set<Booking> conflicts = new LinkedHashSet<>();
-		for (TimeSlot slot : slots) {
-			conflicts.addAll(
-				ConflictChecker.findConflicts(
-					bookings,
-					room,
-					slot.start(),
-					slot.end(),
-					excludeId
-				)
+		Duration length = Duration.between(start, end);
+		if (length.isNegative() || length.isZero()) {
+			throw new IllegalArgumentException("Start must be before end");
+		}
+		expireHolds();
+		List<TimeSlot> suggestions = new ArrayList<>();
+		nextFreeSlot(room, start, length, excludeId).ifPresent(suggestions::add);
+		previousFreeSlot(room, start, length, excludeId).ifPresent(suggestions::add);
+		suggestions.sort(
+			Comparator.comparing(slot ->
+				Duration.between(start, slot.start()).abs()
+			)
+		);
+		return List.copyOf(suggestions);
+	}
+
+	private Optional<TimeSlot> nextFreeSlot(
+		Room room,
+		LocalDateTime from,
+		Duration length,
+		UUID excludeId
+	) {
+		LocalDateTime horizon = from.plus(SUGGESTION_HORIZON);
+		LocalDateTime cursor = from;
+		while (true) {
+			Optional<LocalDateTime> candidate = bookingIndex.firstFreeStart(
+				room.getName(),
+				cursor,
+				length,
+				excludeId,
+				horizon
+			);
+			if (candidate.isEmpty()) {
+				return Optional.empty();
+			}
+			LocalDateTime slotStart = candidate.get();
+			Optional<Hold> blocking = findOverlappingHold(room, slotStart, slotStart.plus(length));
+			if (blocking.isEmpty()) {
+				return Optional.of(new TimeSlot(slotStart, slotStart.plus(length)));
+			}
+			cursor = blocking.get().end();
+		}
+	}
+
+	private Optional<TimeSlot> previousFreeSlot(
+		Room room,
+		LocalDateTime before,
+		Duration length,
+		UUID excludeId
+	) {
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime earliest = before.minus(SUGGESTION_HORIZON);
+		LocalDateTime notBefore = earliest.isAfter(now) ? earliest : now;
+		LocalDateTime cursor = before;
+		while (true) {
+			Optional<LocalDateTime> candidate = bookingIndex.lastFreeStart(
+				room.getName(),
+				cursor,
+				length,
+				excludeId,
+				notBefore
 			);
+			if (candidate.isEmpty()) {
+				return Optional.empty();
+			}
+			LocalDateTime slotStart = candidate.get();
+			Optional<Hold> blocking = findOverlappingHold(room, slotStart, slotStart.plus(length));
+			if (blocking.isEmpty()) {
+				return Optional.of(new TimeSlot(slotStart, slotStart.plus(length)));
+			}
+			cursor = blocking.get().start().minus(length);
 		}
-		return List.copyOf(conflicts);
 	}
 
 	private void ensureDefaultAdmin() {
@@ -285,7 +1753,9 @@ public final class SchedulerSystem {
 			.stream()
 			.anyMatch(user -> user.getRole() == Role.ADMIN);
 		if (!hasAdmin) {
-			users.add(new Admin("admin", "admin"));
+			User admin = new Admin("admin", "admin");
+			users.add(admin);
+			usersByName.put(userKey(admin.getUsername()), admin);
 			persist();
 		}
 	}
@@ -318,20 +1788,22 @@ public final class SchedulerSystem {
 	}
 
 	private Booking findBooking(UUID id) {
-		return bookings
-			.stream()
-			.filter(b -> b.getId().equals(id))
-			.findFirst()
+		return bookingIndex
+			.find(id)
 			.orElseThrow(() ->
 				new IllegalArgumentException("Booking not found: " + id)
 			);
 	}
 
 	private Optional<User> findUser(String username) {
-		return users
-			.stream()
-			.filter(user -> user.getUsername().equalsIgnoreCase(username))
-			.findFirst();
+		if (username == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(usersByName.get(userKey(username)));
+	}
+
+	private static String userKey(String username) {
+		return username.toLowerCase(Locale.ROOT);
 	}
 
 	private int countAdmins() {
@@ -341,8 +1813,251 @@ public final class SchedulerSystem {
 			.count();
 	}
 
+	/**
+	 * Defers persistence until the matching {@link #commitBatch()}, so a run of
+	 * mutations is written once. Batches nest; only the outermost commit writes.
+	 */
+	public void beginBatch() {
+		batchDepth++;
+	}
+
+	/**
+	 * Ends the innermost batch, writing pending changes if it was the outermost.
+	 */
+	public void commitBatch() {
+		if (batchDepth == 0) {
+			throw new IllegalStateException("No batch in progress");
+		}
+		batchDepth--;
+		if (batchDepth == 0 && batchDirty) {
+			batchDirty = false;
+			persist();
+		}
+	}
+
+	/**
+	 * Writes out pending audit records and stops the audit writer. Changes made
+	 * after closing are still persisted but no longer audited.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		auditLog.close();
+	}
+
 	private void persist() {
-		fileManager.persistAll(users, rooms, bookings);
+		if (batchDepth > 0) {
+			batchDirty = true;
+			return;
+		}
+		if (quotasDirty) {
+			fileManager.saveQuotas(quotaSubjects());
+			quotasDirty = false;
+		}
+		if (waitlistDirty) {
+			fileManager.saveWaitlist(waitlists.all());
+			waitlistDirty = false;
+		}
+		fileManager.persistAll(
+			users,
+			rooms,
+			bookingIndex.all(),
+			idempotencyStore.snapshot(),
+			occupancy.snapshot()
+		);
+	}
+
+	/** Queues a record of a change that has been made; never blocks on I/O. */
+	private void audit(User actor, String operation, Object subject, String before, String after) {
+		if (closed) {
+			return;
+		}
+		auditLog.append(
+			new AuditRecord(
+				clock.instant(),
+				actor == null ? AuditLog.SYSTEM_ACTOR : actor.getUsername(),
+				operation,
+				subject.toString(),
+				before,
+				after
+			)
+		);
+	}
+
+	private static String describe(Booking booking) {
+		return booking.getRoom().getName() + " " + booking.getStart() + "/" + booking.getEnd() +
+			" by " + booking.getBookedBy();
+	}
+
+	private static String describe(Room room) {
+		return "capacity=" + room.getCapacity() +
+			", description=" + room.getDescription() +
+			", location=" + room.getLocation() +
+			", tags=" + String.join(",", room.getTags());
+	}
+
+	private static String describe(BookingQuota quota) {
+		return quota == null
+			? null
+			: "maxActive=" + quota.maxActiveBookings() + ", maxHoursPerWeek=" + quota.maxHoursPerWeek();
+	}
+
+	/**
+	 * Books waitlisted requests that overlap the freed window {@code [from, to)}
+	 * and now fit, highest priority first, and drops those that have started.
+	 * Only the room's entries overlapping the window are visited. Callers persist
+	 * and then pass the result to {@link #auditPromotions}.
+	 */
+	private List<Booking> promoteWaitlisted(Room room, LocalDateTime from, LocalDateTime to) {
+		if (waitlists.isEmpty()) {
+			return List.of();
+		}
+		PriorityQueue<WaitlistEntry> candidates = waitlists.overlapping(room.getName(), from, to);
+		LocalDateTime now = LocalDateTime.now();
+		List<Booking> promoted = new ArrayList<>();
+		while (!candidates.isEmpty()) {
+			WaitlistEntry entry = candidates.poll();
+			User owner = usersByName.get(userKey(entry.requestedBy()));
+			if (owner == null || !entry.start().isAfter(now)) {
+				waitlistDirty |= waitlists.remove(entry);
+				continue;
+			}
+			try {
+				ensureNoConflict(room, entry.start(), entry.end(), null);
+				ensureWithinQuota(owner, List.of(new TimeSlot(entry.start(), entry.end())), null);
+			} catch (IllegalStateException stillBlocked) {
+				continue;
+			}
+			Booking booking = createBookingInternal(room, entry.start(), entry.end(), owner.getUsername());
+			index(booking);
+			waitlists.remove(entry);
+			waitlistDirty = true;
+			promoted.add(booking);
+		}
+		promotionCount += promoted.size();
+		waitlistPromotions.add(promoted.size());
+		return promoted;
+	}
+
+	private void auditPromotions(List<Booking> promoted) {
+		for (Booking booking : promoted) {
+			audit(null, "waitlist.promote", booking.getId(), null, describe(booking));
+		}
+	}
+
+	private static String describe(WaitlistEntry entry) {
+		return entry.roomName() + " " + entry.start() + "/" + entry.end() + " for " + entry.requestedBy();
+	}
+
+	private void index(Booking booking) {
+		bookingIndex.add(booking);
+		occupancy.add(booking);
+		quotaTracker.add(booking);
+	}
+
+	private void unindex(Booking booking) {
+		if (bookingIndex.remove(booking)) {
+			occupancy.remove(booking, bookingIndex);
+			quotaTracker.remove(booking);
+		}
+	}
+
+	private void ensureWithinQuota(User owner, List<TimeSlot> slots, Booking replacing) {
+		BookingQuota quota = effectiveQuota(owner);
+		if (quota.isUnlimited()) {
+			return;
+		}
+		quotaTracker.advance(LocalDateTime.now());
+		quotaTracker.check(owner.getUsername(), quota, slots, replacing);
+	}
+
+	private void loadQuotas(Map<String, BookingQuota> stored) {
+		stored.forEach((subject, quota) -> {
+			if (subject.startsWith(ROLE_QUOTA_PREFIX)) {
+				roleQuotas.put(Role.valueOf(subject.substring(ROLE_QUOTA_PREFIX.length())), quota);
+			} else if (subject.startsWith(USER_QUOTA_PREFIX)) {
+				userQuotas.put(subject.substring(USER_QUOTA_PREFIX.length()), quota);
+			}
+		});
+	}
+
+	private Map<String, BookingQuota> quotaSubjects() {
+		Map<String, BookingQuota> subjects = new LinkedHashMap<>();
+		roleQuotas.forEach((role, quota) -> subjects.put(ROLE_QUOTA_PREFIX + role.name(), quota));
+		userQuotas.forEach((user, quota) -> subjects.put(USER_QUOTA_PREFIX + user, quota));
+		return subjects;
+	}
+
+	private Optional<IdempotencyRecord> findReplay(
+		User actingUser,
+		String idempotencyKey,
+		IdempotencyRecord.Operation operation
+	) {
+		if (idempotencyKey == null || idempotencyKey.isBlank()) {
+			return Optional.empty();
+		}
+		if (actingUser == null) {
+			return Optional.empty();
+		}
+		Optional<IdempotencyRecord> record = idempotencyStore.find(
+			actingUser.getUsername(),
+			idempotencyKey
+		);
+		record.ifPresent(existing -> {
+			if (existing.operation() != operation) {
+				throw new IllegalArgumentException(
+					"Idempotency key already used for " + existing.operation()
+				);
+			}
+		});
+		return record;
+	}
+
+	private void rememberIdempotencyKey(
+		User actingUser,
+		String idempotencyKey,
+		IdempotencyRecord.Operation operation,
+		List<UUID> bookingIds
+	) {
+		if (idempotencyKey == null || idempotencyKey.isBlank()) {
+			return;
+		}
+		idempotencyStore.remember(
+			idempotencyKey,
+			operation,
+			actingUser.getUsername(),
+			bookingIds
+		);
+	}
+
+	private List<Booking> resolveReplayedBookings(IdempotencyRecord record) {
+		List<Booking> resolved = new ArrayList<>();
+		for (UUID id : record.bookingIds()) {
+			Optional<Booking> booking = bookingIndex.find(id);
+			if (booking.isEmpty()) {
+				String fate = isArchived(id) ? "archived" : "cancelled";
+				throw new IllegalStateException(
+					"Booking " + id + " created under idempotency key " +
+					record.key() + " has since been " + fate
+				);
+			}
+			resolved.add(booking.get());
+		}
+		return List.copyOf(resolved);
+	}
+
+	/**
+	 * Searches the whole archive, so only for reporting a replay that cannot
+	 * be served.
+	 */
+	private boolean isArchived(UUID bookingId) {
+		if (archiveHorizon == null) {
+			return false;
+		}
+		return fileManager
+			.loadArchivedBookings(null, null)
+			.stream()
+			.anyMatch(archived -> archived.id().equals(bookingId));
 	}
 
 	private void ensureNoConflict(
@@ -351,13 +2066,93 @@ public final class SchedulerSystem {
 		LocalDateTime end,
 		UUID excludeId
 	) {
-		ConflictChecker
-			.findConflict(bookings, room, start, end, excludeId)
-			.ifPresent(conflict -> {
-				throw new IllegalStateException(
-					"Requested slot conflicts with booking " + conflict.getId()
+		long started = conflictCheckTimer.start();
+		try {
+			conflictChecks.increment();
+			ConflictChecker
+				.findConflict(
+					bookingIndex.overlapping(room.getName(), start, end),
+					room,
+					start,
+					end,
+					excludeId
+				)
+				.ifPresent(conflict -> {
+					conflictHits.increment();
+					throw new BookingConflictException(
+						"Requested slot conflicts with booking " + conflict.getId()
+					);
+				});
+			expireHolds();
+			findOverlappingHold(room, start, end).ifPresent(hold -> {
+				conflictHits.increment();
+				throw new BookingConflictException(
+					"Requested slot is on hold until " + hold.expiresAt()
 				);
 			});
+		} finally {
+			conflictCheckTimer.stop(started);
+		}
+	}
+
+	private Optional<Hold> findOverlappingHold(
+		Room room,
+		LocalDateTime start,
+		LocalDateTime end
+	) {
+		Map<UUID, Hold> roomHolds = holdsByRoom.get(roomKey(room));
+		if (roomHolds == null) {
+			return Optional.empty();
+		}
+		Instant now = clock.instant();
+		return roomHolds
+			.values()
+			.stream()
+			.filter(hold -> hold.expiresAt().isAfter(now) && hold.overlaps(start, end))
+			.findFirst();
+	}
+
+	private Hold findHold(UUID id) {
+		expireHolds();
+		TimingWheel.Timeout<Hold> timeout = holds.get(id);
+		if (timeout == null) {
+			throw new IllegalArgumentException("Hold not found or expired: " + id);
+		}
+		return timeout.payload();
+	}
+
+	private void ensureHoldAccess(User actingUser, Hold hold) {
+		if (actingUser.getRole().canManageAllBookings()) {
+			return;
+		}
+		if (!hold.isHeldBy(actingUser.getUsername())) {
+			throw new SecurityException("Cannot modify holds for other users");
+		}
+	}
+
+	private void expireHolds() {
+		for (Hold expired : holdExpirations.advance(clock.millis())) {
+			removeHold(expired);
+		}
+	}
+
+	private void removeHold(Hold hold) {
+		TimingWheel.Timeout<Hold> timeout = holds.remove(hold.id());
+		if (timeout != null) {
+			timeout.cancel();
+		}
+		String key = roomKey(hold.room());
+		Map<UUID, Hold> roomHolds = holdsByRoom.get(key);
+		if (roomHolds != null) {
+			roomHolds.remove(hold.id());
+			if (roomHolds.isEmpty()) {
+				holdsByRoom.remove(key);
+			}
+		}
+	}
+
+	private static String roomKey(Room room) {
+		return room.getName().toLowerCase(Locale.ROOT);
 	}
 
 	private Booking createBookingInternal(
@@ -381,6 +2176,11 @@ public final class SchedulerSystem {
 		}
 	}
 
+	/** Null-safe username for instrumentation, which must not fail before the permission checks do. */
+	private static String usernameOf(User user) {
+		return user == null ? null : user.getUsername();
+	}
+
 	private void requireBookingCreationPermission(User actingUser) {
 		if (actingUser == null) {
 			throw new SecurityException("User must be logged in");
@@ -391,6 +2191,24 @@ public final class SchedulerSystem {
 		}
 	}
 
+	private boolean canViewAllBookings(User actingUser) {
+		Role role = actingUser.getRole();
+		return role.canManageAllBookings() || role == Role.GUEST;
+	}
+
+	private List<Booking> resolveQuery(User actingUser, BookingQuery query) {
+		Objects.requireNonNull(query, "query");
+		String owner = canViewAllBookings(actingUser)
+			? query.owner()
+			: actingUser.getUsername();
+		return bookingIndex.startingBetween(
+			query.roomName(),
+			owner,
+			query.from(),
+			query.to()
+		);
+	}
+
 	private void ensureBookingAccess(User actingUser, Booking booking) {
 		if (actingUser.getRole().canManageAllBookings()) {
 			return;
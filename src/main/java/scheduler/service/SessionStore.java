@@ -0,0 +1,101 @@
+package scheduler.service;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import scheduler.user.User;
+
+/**
+ * In-memory cache of opaque session tokens issued after a successful login.
+ *
+ * <p>Sessions expire a fixed time after issue and are kept in issue order, so
+ * expiry and capacity eviction only touch the oldest entries.
+ */
+final class SessionStore {
+
+	static final Duration DEFAULT_TTL = Duration.ofHours(8);
+	static final int DEFAULT_CAPACITY = 50_000;
+	private static final int TOKEN_BYTES = 32;
+
+	private final Map<String, Session> sessions = new LinkedHashMap<>();
+	private final SecureRandom random = new SecureRandom();
+	private final Duration ttl;
+	private final int capacity;
+	private final Clock clock;
+
+	SessionStore() {
+		this(DEFAULT_TTL, DEFAULT_CAPACITY, Clock.systemUTC());
+	}
+
+	SessionStore(Duration ttl, int capacity, Clock clock) {
+		this.ttl = Objects.requireNonNull(ttl, "ttl");
+		this.clock = Objects.requireNonNull(clock, "clock");
+		if (ttl.isNegative() || ttl.isZero()) {
+			throw new IllegalArgumentException("TTL must be positive");
+		}
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Capacity must be at least 1");
+		}
+		this.capacity = capacity;
+	}
+
+	String issue(User user) {
+		byte[] bytes = new byte[TOKEN_BYTES];
+		random.nextBytes(bytes);
+		String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+		sessions.put(token, new Session(user, clock.instant().plus(ttl)));
+		evict();
+		return token;
+	}
+
+	Optional<User> resolve(String token) {
+		if (token == null) {
+			return Optional.empty();
+		}
+		evict();
+		Session session = sessions.get(token);
+		return session == null ? Optional.empty() : Optional.of(session.user());
+	}
+
+	void revoke(String token) {
+		if (token != null) {
+			sessions.remove(token);
+		}
+	}
+
+	void revokeUser(String username) {
+		sessions
+			.values()
+			.removeIf(session -> session.user().getUsername().equalsIgnoreCase(username));
+	}
+
+	/**
+	 * @return the number of retained entries, including expired ones not yet evicted
+	 */
+	int size() {
+		return sessions.size();
+	}
+
+	private void evict() {
+		Instant now = clock.instant();
+		Iterator<Session> iterator = sessions.values().iterator();
+		int excess = sessions.size() - capacity;
+		while (iterator.hasNext()) {
+			Session oldest = iterator.next();
+			if (excess <= 0 && oldest.expiresAt().isAfter(now)) {
+				break;
+			}
+			iterator.remove();
+			excess--;
+		}
+	}
+
+	private record Session(User user, Instant expiresAt) {}
+}
@@ -0,0 +1,140 @@
+package scheduler.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.UUID;
+import scheduler.model.WaitlistEntry;
+
+/**
+ * Waitlist entries per room, kept sorted by start so the entries a freed
+ * interval could satisfy are found without visiting the rest.
+ *
+ * <p>An entry overlapping {@code [from, to)} starts before {@code to} and no
+ * earlier than {@code from} minus the room's longest waiting request, so only
+ * that slice of the room's set is read. Its entries come back in a priority
+ * queue, highest priority and then earliest request first.
+ */
+final class Waitlists {
+
+	static final Comparator<WaitlistEntry> BY_PRIORITY = Comparator
+		.comparingInt(WaitlistEntry::priority)
+		.reversed()
+		.thenComparing(WaitlistEntry::requestedAt)
+		.thenComparing(WaitlistEntry::id);
+
+	private static final Comparator<WaitlistEntry> BY_START = Comparator
+		.comparing(WaitlistEntry::start)
+		.thenComparing(WaitlistEntry::id);
+
+	private final Map<String, RoomWaitlist> byRoom = new HashMap<>();
+	private final Map<UUID, WaitlistEntry> byId = new HashMap<>();
+
+	Waitlists(Collection<WaitlistEntry> entries) {
+		entries.forEach(this::add);
+	}
+
+	void add(WaitlistEntry entry) {
+		if (byId.putIfAbsent(entry.id(), entry) != null) {
+			return;
+		}
+		RoomWaitlist room = byRoom.computeIfAbsent(BookingIndex.key(entry.roomName()), key -> new RoomWaitlist());
+		room.byStart.add(entry);
+		Duration length = Duration.between(entry.start(), entry.end());
+		if (length.compareTo(room.longest) > 0) {
+			room.longest = length;
+		}
+	}
+
+	boolean remove(WaitlistEntry entry) {
+		if (byId.remove(entry.id()) == null) {
+			return false;
+		}
+		String key = BookingIndex.key(entry.roomName());
+		RoomWaitlist room = byRoom.get(key);
+		room.byStart.remove(entry);
+		if (room.byStart.isEmpty()) {
+			byRoom.remove(key);
+		}
+		return true;
+	}
+
+	Optional<WaitlistEntry> find(UUID id) {
+		return Optional.ofNullable(byId.get(id));
+	}
+
+	boolean isEmpty() {
+		return byId.isEmpty();
+	}
+
+	int size() {
+		return byId.size();
+	}
+
+	/** @return every entry, highest priority first */
+	List<WaitlistEntry> all() {
+		List<WaitlistEntry> entries = new ArrayList<>(byId.values());
+		entries.sort(BY_PRIORITY);
+		return entries;
+	}
+
+	/** @return the room's entries, highest priority first */
+	List<WaitlistEntry> forRoom(String roomName) {
+		RoomWaitlist room = byRoom.get(BookingIndex.key(roomName));
+		if (room == null) {
+			return List.of();
+		}
+		List<WaitlistEntry> entries = new ArrayList<>(room.byStart);
+		entries.sort(BY_PRIORITY);
+		return entries;
+	}
+
+	/**
+	 * Returns the room's entries overlapping {@code [from, to)}, highest priority
+	 * first.
+	 */
+	PriorityQueue<WaitlistEntry> overlapping(String roomName, LocalDateTime from, LocalDateTime to) {
+		PriorityQueue<WaitlistEntry> candidates = new PriorityQueue<>(BY_PRIORITY);
+		RoomWaitlist room = byRoom.get(BookingIndex.key(roomName));
+		if (room == null) {
+			return candidates;
+		}
+		WaitlistEntry lower = probe(from.minus(room.longest));
+		WaitlistEntry upper = probe(to);
+		for (WaitlistEntry entry : room.byStart.subSet(lower, true, upper, false)) {
+			if (entry.overlaps(from, to)) {
+				candidates.add(entry);
+			}
+		}
+		return candidates;
+	}
+
+	private static WaitlistEntry probe(LocalDateTime start) {
+		return new WaitlistEntry(
+			new UUID(Long.MIN_VALUE, Long.MIN_VALUE),
+			"",
+			start,
+			start.plusNanos(1),
+			"",
+			0,
+			Instant.EPOCH
+		);
+	}
+
+	private static final class RoomWaitlist {
+
+		private final NavigableSet<WaitlistEntry> byStart = new TreeSet<>(BY_START);
+		// Never shrinks, which only widens the slice overlapping() reads.
+		private Duration longest = Duration.ZERO;
+	}
+}
@@ -0,0 +1,60 @@
+package scheduler.ui;
+
+import java.time.format.DateTimeFormatter;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.beans.value.ObservableValue;
+import scheduler.model.Booking;
+
+/**
+ * Booking table row whose display values are formatted once, off the FX thread,
+ * when its page is loaded instead of on every cell refresh.
+ */
+final class BookingRow {
+
+	private static final DateTimeFormatter DATE_TIME_FORMAT =
+		DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+	private final Booking booking;
+	private final ObservableValue<String> id;
+	private final ObservableValue<String> room;
+	private final ObservableValue<String> start;
+	private final ObservableValue<String> end;
+	private final ObservableValue<String> bookedBy;
+
+	BookingRow(Booking booking) {
+		this.booking = booking;
+		this.id = constant(booking.getId().toString());
+		this.room = constant(booking.getRoom().getName());
+		this.start = constant(booking.getStart().format(DATE_TIME_FORMAT));
+		this.end = constant(booking.getEnd().format(DATE_TIME_FORMAT));
+		this.bookedBy = constant(booking.getBookedBy());
+	}
+
+	Booking booking() {
+		return booking;
+	}
+
+	ObservableValue<String> id() {
+		return id;
+	}
+
+	ObservableValue<String> room() {
+		return room;
+	}
+
+	ObservableValue<String> start() {
+		return start;
+	}
+
+	ObservableValue<String> end() {
+		return end;
+	}
+
+	ObservableValue<String> bookedBy() {
+		return bookedBy;
+	}
+
+	private static ObservableValue<String> constant(String value) {
+		return new ReadOnlyStringWrapper(value).getReadOnlyProperty();
+	}
+}
@@ -0,0 +1,73 @@
+package scheduler.ui;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import javafx.collections.ObservableList;
+
+/**
+ * Helpers for updating table backing lists without replacing their contents.
+ */
+final class ObservableLists {
+
+	private ObservableLists() {}
+
+	/**
+	 * Brings {@code target} in line with {@code fresh}, matching items by
+	 * {@code key}. Only items that were removed, added, moved or replaced by a
+	 * different instance produce list changes, so unchanged rows keep their cells
+	 * and selection.
+	 */
+	static <T, K> void patch(
+		ObservableList<T> target,
+		List<? extends T> fresh,
+		Function<? super T, K> key
+	) {
+		Set<K> wanted = new HashSet<>();
+		fresh.forEach(item -> wanted.add(key.apply(item)));
+		for (int i = target.size() - 1; i >= 0; i--) {
+			if (!wanted.contains(key.apply(target.get(i)))) {
+				target.remove(i);
+			}
+		}
+		Map<K, T> remaining = new HashMap<>();
+		target.forEach(item -> remaining.put(key.apply(item), item));
+		for (int i = 0; i < fresh.size(); i++) {
+			T item = fresh.get(i);
+			K itemKey = key.apply(item);
+			if (i < target.size() && key.apply(target.get(i)).equals(itemKey)) {
+				if (target.get(i) != item) {
+					target.set(i, item);
+				}
+			} else {
+				if (remaining.containsKey(itemKey)) {
+					target.remove(remaining.get(itemKey));
+				}
+				target.add(i, item);
+			}
+			remaining.remove(itemKey);
+		}
+	}
+
+	/**
+	 * Replaces the item matching {@code item}'s key in place, or appends it if
+	 * there is none. Replacing with the same instance still refreshes its row.
+	 */
+	static <T, K> void upsert(
+		ObservableList<T> target,
+		T item,
+		Function<? super T, K> key
+	) {
+		K itemKey = key.apply(item);
+		for (int i = 0; i < target.size(); i++) {
+			if (key.apply(target.get(i)).equals(itemKey)) {
+				target.set(i, item);
+				return;
+			}
+		}
+		target.add(item);
+	}
+}
@@ -0,0 +1,247 @@
+package scheduler.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import javafx.collections.ObservableListBase;
+import javafx.concurrent.Task;
+import scheduler.model.Booking;
+
+/**
+ * Read-only observable list that exposes a booking listing of known size but
+ * only holds the pages around what the table has asked for.
+ *
+ * <p>Rows that are not loaded yet read as {@code null}; requesting one schedules
+ * its page on the service executor and fires a replace change once it arrives,
+ * so the virtualized table fills the visible cells in. Least recently used
+ * pages are dropped beyond {@code maxPages}.
+ *
+ * <p>Single-row edits are applied with {@link #moved} rather than a reload: the
+ * cached pages around the edit are shifted in place and only the changed rows
+ * are reported, so the table keeps its scroll position and selection.
+ */
+final class PagedBookingList extends ObservableListBase<BookingRow> {
+
+	/**
+	 * Backing query; both methods are called on the service executor.
+	 */
+	interface PageSource {
+		int count();
+
+		List<Booking> page(int offset, int limit);
+	}
+
+	private final Executor executor;
+	private final Consumer<Throwable> onError;
+	private final int pageSize;
+	private final Map<Integer, List<BookingRow>> pages;
+	private final Set<Integer> pending = new HashSet<>();
+	private PageSource source;
+	private int size;
+	private long generation;
+	private long pageEpoch;
+
+	PagedBookingList(
+		Executor executor,
+		Consumer<Throwable> onError,
+		int pageSize,
+		int maxPages
+	) {
+		this.executor = Objects.requireNonNull(executor, "executor");
+		this.onError = Objects.requireNonNull(onError, "onError");
+		this.pageSize = pageSize;
+		this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, List<BookingRow>> eldest) {
+				return size() > maxPages;
+			}
+		};
+	}
+
+	/**
+	 * Switches to {@code newSource} and re-counts; cached pages are discarded once
+	 * the new count arrives.
+	 */
+	void reload(PageSource newSource) {
+		source = Objects.requireNonNull(newSource, "newSource");
+		long expected = ++generation;
+		pageEpoch++;
+		pending.clear();
+		Task<Integer> counting = new Task<>() {
+			@Override
+			protected Integer call() {
+				return newSource.count();
+			}
+		};
+		counting.setOnSucceeded(event -> {
+			if (expected != generation) {
+				return;
+			}
+			int oldSize = size;
+			pages.clear();
+			size = counting.getValue();
+			beginChange();
+			if (oldSize > 0) {
+				nextRemove(0, Collections.nCopies(oldSize, (BookingRow) null));
+			}
+			if (size > 0) {
+				nextAdd(0, size);
+			}
+			endChange();
+		});
+		counting.setOnFailed(event -> {
+			if (expected == generation) {
+				onError.accept(counting.getException());
+			}
+		});
+		executor.execute(counting);
+	}
+
+	/**
+	 * Applies a single booking change reported by the service.
+	 *
+	 * @param from the row's index before the change, or -1 if it was not listed
+	 * @param to the row's index after the change, or -1 if it is no longer listed
+	 * @param booking the booking as it is after the change
+	 */
+	void moved(int from, int to, Booking booking) {
+		if (from < 0 && to < 0) {
+			return;
+		}
+		if (from >= size || to > size - (from >= 0 ? 1 : 0)) {
+			throw new IndexOutOfBoundsException("Row change outside list: " + from + " -> " + to);
+		}
+		BookingRow removed = from >= 0 ? cachedRow(from) : null;
+		BookingRow added = to >= 0 ? new BookingRow(booking) : null;
+		int newSize = size - (from >= 0 ? 1 : 0) + (to >= 0 ? 1 : 0);
+		int low = from < 0 ? to : to < 0 ? from : Math.min(from, to);
+		int high = from >= 0 && to >= 0 ? Math.max(from, to) : Math.max(size, newSize);
+		shiftPages(from, to, added, low, high, newSize);
+		size = newSize;
+		// Page loads still in flight were issued against the old row numbering.
+		pageEpoch++;
+		pending.clear();
+		beginChange();
+		if (from >= 0 && from == to) {
+			nextSet(from, removed);
+		} else {
+			if (from >= 0) {
+				nextRemove(from, removed);
+			}
+			if (to >= 0) {
+				nextAdd(to, to + 1);
+			}
+		}
+		endChange();
+	}
+
+	@Override
+	public BookingRow get(int index) {
+		Objects.checkIndex(index, size);
+		int page = index / pageSize;
+		List<BookingRow> rows = pages.get(page);
+		if (rows == null) {
+			requestPage(page);
+			return null;
+		}
+		int offset = index - page * pageSize;
+		return offset < rows.size() ? rows.get(offset) : null;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	private void requestPage(int page) {
+		if (source == null || !pending.add(page)) {
+			return;
+		}
+		long expected = pageEpoch;
+		PageSource current = source;
+		Task<List<BookingRow>> loading = new Task<>() {
+			@Override
+			protected List<BookingRow> call() {
+				return current
+					.page(page * pageSize, pageSize)
+					.stream()
+					.map(BookingRow::new)
+					.toList();
+			}
+		};
+		loading.setOnSucceeded(event -> {
+			if (expected != pageEpoch) {
+				return;
+			}
+			pending.remove(page);
+			List<BookingRow> rows = loading.getValue();
+			pages.put(page, rows);
+			int from = page * pageSize;
+			int to = Math.min(size, from + rows.size());
+			if (from < to) {
+				beginChange();
+				nextReplace(from, to, Collections.nCopies(to - from, (BookingRow) null));
+				endChange();
+			}
+		});
+		loading.setOnFailed(event -> {
+			if (expected == pageEpoch) {
+				pending.remove(page);
+				onError.accept(loading.getException());
+			}
+		});
+		executor.execute(loading);
+	}
+
+	private BookingRow cachedRow(int index) {
+		List<BookingRow> rows = pages.get(index / pageSize);
+		int offset = index % pageSize;
+		return rows != null && offset < rows.size() ? rows.get(offset) : null;
+	}
+
+	/**
+	 * Rewrites the cached pages for a row removed at {@code from} and inserted at
+	 * {@code to}. Rows in {@code [low, high]} shift; the contiguous run of cached
+	 * pages starting at {@code low} is patched, and any other cached page in that
+	 * range is dropped to be reloaded on demand.
+	 */
+	private void shiftPages(
+		int from,
+		int to,
+		BookingRow added,
+		int low,
+		int high,
+		int newSize
+	) {
+		int firstPage = low / pageSize;
+		int base = firstPage * pageSize;
+		List<BookingRow> run = new ArrayList<>();
+		int page = firstPage;
+		while (pages.containsKey(page)) {
+			run.addAll(pages.remove(page));
+			page++;
+		}
+		int afterRun = page;
+		pages.keySet().removeIf(cached -> cached >= afterRun && cached * pageSize <= high);
+		if (from >= 0 && from < base + run.size()) {
+			run.remove(from - base);
+		}
+		if (to >= 0 && to <= base + run.size()) {
+			run.add(to - base, added);
+		}
+		for (int offset = 0; offset < run.size(); offset += pageSize) {
+			List<BookingRow> rows = List.copyOf(run.subList(offset, Math.min(run.size(), offset + pageSize)));
+			// A short page is only complete if it is the last one.
+			if (rows.size() == pageSize || base + offset + rows.size() >= newSize) {
+				pages.put(firstPage + offset / pageSize, rows);
+			}
+		}
+	}
+}
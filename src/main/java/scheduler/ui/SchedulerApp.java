@@ -1,5 +1,6 @@
 package scheduler.ui;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -7,12 +8,24 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import javafx.application.Application;
 import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
@@ -23,6 +36,7 @@ import javafx.scene.control.DatePicker;
 import javafx.scene.control.Dialog;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
 import javafx.scene.control.TableColumn;
@@ -39,12 +53,22 @@ import javafx.stage.Stage;
 import scheduler.Role;
 import scheduler.model.Booking;
 import scheduler.model.Room;
+import scheduler.model.TimeSlot;
 import scheduler.persistence.FileManager;
+import scheduler.service.Availability;
+import scheduler.service.BookingConflictException;
+import scheduler.service.BookingQuery;
+import scheduler.service.BookingSelection;
+import scheduler.service.RoomQuery;
 import scheduler.service.SchedulerSystem;
 import scheduler.user.User;
 
 /**
  * JavaFX front-end for the scheduler system.
+ *
+ * <p>Every call into {@link SchedulerSystem} runs as a {@link Task} on a single
+ * background thread, which also keeps those calls serialized; the FX thread only
+ * validates input and applies results.
  */
 public final class SchedulerApp extends Application {
 
@@ -52,28 +76,108 @@ public final class SchedulerApp extends Application {
 		DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
 	private static final DateTimeFormatter TIME_FORMAT =
 		DateTimeFormatter.ofPattern("HH:mm");
+	private static final int ROOM_SEARCH_LIMIT = 200;
+	private static final Duration RETENTION_INTERVAL = Duration.ofHours(1);
 
 	private SchedulerSystem schedulerSystem;
 	private Stage primaryStage;
 	private User currentUser;
 
 	private TableView<Room> roomTable;
-	private TableView<Booking> bookingTable;
+	private TableView<BookingRow> bookingTable;
 	private TableView<User> userTable;
+	private TimelineView timelineView;
 
 	private final ObservableList<Room> roomItems = FXCollections.observableArrayList();
-	private final ObservableList<Booking> bookingItems = FXCollections.observableArrayList();
 	private final ObservableList<User> userItems = FXCollections.observableArrayList();
 
+	private final ObservableList<Task<?>> activeTasks = FXCollections.observableArrayList();
+	private final ObservableList<Task<?>> cancellableTasks = FXCollections.observableArrayList();
+	private final ExecutorService serviceExecutor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "scheduler-service");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final ScheduledExecutorService retentionTimer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "scheduler-retention");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final PagedBookingList bookingItems = new PagedBookingList(
+		serviceExecutor,
+		ex -> showError("Unable to load bookings", ex.getMessage()),
+		200,
+		32
+	);
+	private BookingQuery bookingQuery = BookingQuery.all();
+
 	private Label statusLabel;
 
 	@Override
 	public void start(Stage stage) {
-		schedulerSystem = new SchedulerSystem(new FileManager());
 		primaryStage = stage;
 		primaryStage.setTitle("Scheduler System");
-		showLoginScene();
+
+		Task<SchedulerSystem> loading = new Task<>() {
+			@Override
+			protected SchedulerSystem call() {
+				updateMessage("Loading scheduler data...");
+				SchedulerSystem loaded = new SchedulerSystem(new FileManager());
+				updateMessage("Archiving past bookings...");
+				loaded.applyRetention();
+				return loaded;
+			}
+		};
+		loading.setOnSucceeded(event -> {
+			schedulerSystem = loading.getValue();
+			// The timer only hands the job to the FX thread, which queues it on the
+			// service thread like any other call into the scheduler.
+			retentionTimer.scheduleAtFixedRate(
+				() -> Platform.runLater(this::applyRetention),
+				RETENTION_INTERVAL.toMinutes(),
+				RETENTION_INTERVAL.toMinutes(),
+				TimeUnit.MINUTES
+			);
+			showLoginScene();
+		});
+		loading.setOnFailed(event -> {
+			showError("Unable to load scheduler data", loading.getException().getMessage());
+			Platform.exit();
+		});
+		loading.setOnCancelled(event -> Platform.exit());
+
+		showSplashScene(loading);
 		primaryStage.show();
+		serviceExecutor.execute(loading);
+	}
+
+	@Override
+	public void stop() {
+		retentionTimer.shutdownNow();
+		serviceExecutor.shutdownNow();
+	}
+
+	private void showSplashScene(Task<?> loading) {
+		VBox container = new VBox(16);
+		container.setPadding(new Insets(24));
+		container.setAlignment(Pos.CENTER);
+
+		Label heading = new Label("Scheduler System");
+		heading.setStyle("-fx-font-size: 20px; -fx-font-weight: bold;");
+
+		ProgressIndicator progress = new ProgressIndicator();
+		progress.progressProperty().bind(loading.progressProperty());
+
+		Label message = new Label();
+		message.textProperty().bind(loading.messageProperty());
+
+		Button cancel = new Button("Cancel");
+		cancel.setOnAction(event -> loading.cancel());
+
+		container.getChildren().addAll(heading, progress, message, cancel);
+
+		Scene scene = new Scene(container, 360, 240);
+		primaryStage.setScene(scene);
 	}
 
 	private void showLoginScene() {
@@ -96,14 +200,25 @@ public final class SchedulerApp extends Application {
 		loginButton.setOnAction(event -> {
 			String username = usernameField.getText().trim();
 			String password = passwordField.getText();
-			Optional<User> authenticated = schedulerSystem.authenticate(username, password);
-			if (authenticated.isPresent()) {
-				currentUser = authenticated.get();
-				showDashboard();
-				setStatus("Logged in as " + currentUser.getUsername());
-			} else {
-				feedback.setText("Invalid credentials. Try again.");
-			}
+			loginButton.setDisable(true);
+			feedback.setText("");
+			runInBackground(
+				() -> schedulerSystem.authenticate(username, password),
+				authenticated -> {
+					loginButton.setDisable(false);
+					if (authenticated.isPresent()) {
+						currentUser = authenticated.get();
+						showDashboard();
+						setStatus("Logged in as " + currentUser.getUsername());
+					} else {
+						feedback.setText("Invalid credentials. Try again.");
+					}
+				},
+				ex -> {
+					loginButton.setDisable(false);
+					feedback.setText(ex.getMessage());
+				}
+			);
 		});
 
 		container.getChildren().addAll(heading, usernameField, passwordField, loginButton, feedback);
@@ -121,6 +236,7 @@ public final class SchedulerApp extends Application {
 		TabPane tabPane = new TabPane();
 		tabPane.getTabs().add(buildRoomsTab());
 		tabPane.getTabs().add(buildBookingsTab());
+		tabPane.getTabs().add(buildTimelineTab());
 		Tab usersTab = buildUsersTab();
 		if (usersTab != null) {
 			tabPane.getTabs().add(usersTab);
@@ -128,8 +244,19 @@ public final class SchedulerApp extends Application {
 		root.setCenter(tabPane);
 
 		statusLabel = new Label("Ready");
-		statusLabel.setPadding(new Insets(6, 0, 0, 4));
-		root.setBottom(statusLabel);
+
+		ProgressIndicator busyIndicator = new ProgressIndicator();
+		busyIndicator.setPrefSize(16, 16);
+		busyIndicator.visibleProperty().bind(Bindings.isNotEmpty(activeTasks));
+
+		Button cancelTasks = new Button("Cancel");
+		cancelTasks.visibleProperty().bind(Bindings.isNotEmpty(cancellableTasks));
+		cancelTasks.setOnAction(event -> List.copyOf(cancellableTasks).forEach(Task::cancel));
+
+		HBox statusBar = new HBox(8, busyIndicator, statusLabel, cancelTasks);
+		statusBar.setAlignment(Pos.CENTER_LEFT);
+		statusBar.setPadding(new Insets(6, 0, 0, 4));
+		root.setBottom(statusBar);
 
 		refreshRooms();
 		refreshBookings();
@@ -178,7 +305,13 @@ public final class SchedulerApp extends Application {
 		TableColumn<Room, String> descCol = new TableColumn<>("Description");
 		descCol.setCellValueFactory(data -> new javafx.beans.property.SimpleStringProperty(data.getValue().getDescription()));
 
-		roomTable.getColumns().addAll(nameCol, capacityCol, descCol);
+		TableColumn<Room, String> locationCol = new TableColumn<>("Location");
+		locationCol.setCellValueFactory(data -> new javafx.beans.property.SimpleStringProperty(data.getValue().getLocation()));
+
+		TableColumn<Room, String> tagsCol = new TableColumn<>("Tags");
+		tagsCol.setCellValueFactory(data -> new javafx.beans.property.SimpleStringProperty(String.join(", ", data.getValue().getTags())));
+
+		roomTable.getColumns().addAll(nameCol, capacityCol, descCol, locationCol, tagsCol);
 
 		Button refresh = new Button("Refresh");
 		refresh.setOnAction(event -> refreshRooms());
@@ -231,23 +364,73 @@ public final class SchedulerApp extends Application {
 		bookingTable.setItems(bookingItems);
 		bookingTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
 
-		TableColumn<Booking, String> idCol = new TableColumn<>("ID");
-		idCol.setCellValueFactory(data -> new javafx.beans.property.SimpleStringProperty(data.getValue().getId().toString()));
+		TableColumn<BookingRow, String> idCol = new TableColumn<>("ID");
+		idCol.setCellValueFactory(data -> data.getValue() == null ? null : data.getValue().id());
+		idCol.setSortable(false);
 
-		TableColumn<Booking, String> roomCol = new TableColumn<>("Room");
-		roomCol.setCellValueFactory(data -> new javafx.beans.property.SimpleStringProperty(data.getValue().getRoom().getName()));
+		TableColumn<BookingRow, String> roomCol = new TableColumn<>("Room");
+		roomCol.setCellValueFactory(data -> data.getValue() == null ? null : data.getValue().room());
+		roomCol.setSortable(false);
 
-		TableColumn<Booking, String> startCol = new TableColumn<>("Start");
-		startCol.setCellValueFactory(data -> new javafx.beans.property.SimpleStringProperty(data.getValue().getStart().format(DATE_TIME_FORMAT)));
+		TableColumn<BookingRow, String> startCol = new TableColumn<>("Start");
+		startCol.setCellValueFactory(data -> data.getValue() == null ? null : data.getValue().start());
 
-		TableColumn<Booking, String> endCol = new TableColumn<>("End");
-		endCol.setCellValueFactory(data -> new javafx.beans.property.SimpleStringProperty(data.getValue().getEnd().format(DATE_TIME_FORMAT)));
+		TableColumn<BookingRow, String> endCol = new TableColumn<>("End");
+		endCol.setCellValueFactory(data -> data.getValue() == null ? null : data.getValue().end());
+		endCol.setSortable(false);
 
-		TableColumn<Booking, String> ownerCol = new TableColumn<>("Booked By");
-		ownerCol.setCellValueFactory(data -> new javafx.beans.property.SimpleStringProperty(data.getValue().getBookedBy()));
+		TableColumn<BookingRow, String> ownerCol = new TableColumn<>("Booked By");
+		ownerCol.setCellValueFactory(data -> data.getValue() == null ? null : data.getValue().bookedBy());
+		ownerCol.setSortable(false);
 
 		bookingTable.getColumns().addAll(idCol, roomCol, startCol, endCol, ownerCol);
 
+		// Only start time is indexed, so sorting is pushed down to the query instead
+		// of sorting the (mostly unloaded) rows in memory.
+		bookingTable.setSortPolicy(table -> {
+			boolean descending =
+				!table.getSortOrder().isEmpty() &&
+				table.getSortOrder().get(0).getSortType() == TableColumn.SortType.DESCENDING;
+			if (descending != bookingQuery.descending()) {
+				bookingQuery = bookingQuery.withDescending(descending);
+				refreshBookings();
+			}
+			return true;
+		});
+
+		TextField roomFilter = new TextField();
+		roomFilter.setPromptText("Room");
+		DatePicker fromFilter = new DatePicker();
+		fromFilter.setPromptText("From");
+		DatePicker toFilter = new DatePicker();
+		toFilter.setPromptText("To");
+
+		Button applyFilter = new Button("Filter");
+		applyFilter.setOnAction(event -> {
+			String room = roomFilter.getText().trim();
+			LocalDate from = fromFilter.getValue();
+			LocalDate to = toFilter.getValue();
+			bookingQuery = new BookingQuery(
+				from == null ? null : from.atStartOfDay(),
+				to == null ? null : to.plusDays(1).atStartOfDay(),
+				room.isEmpty() ? null : room,
+				null,
+				bookingQuery.descending()
+			);
+			refreshBookings();
+		});
+
+		Button clearFilter = new Button("Clear");
+		clearFilter.setOnAction(event -> {
+			roomFilter.clear();
+			fromFilter.setValue(null);
+			toFilter.setValue(null);
+			bookingQuery = BookingQuery.all().withDescending(bookingQuery.descending());
+			refreshBookings();
+		});
+
+		ToolBar filters = new ToolBar(roomFilter, fromFilter, toFilter, applyFilter, clearFilter);
+
 		Button refresh = new Button("Refresh");
 		refresh.setOnAction(event -> refreshBookings());
 
@@ -256,22 +439,30 @@ public final class SchedulerApp extends Application {
 
 		Button edit = new Button("Update Booking");
 		edit.setOnAction(event -> {
-			Booking selected = bookingTable.getSelectionModel().getSelectedItem();
+			BookingRow selected = bookingTable.getSelectionModel().getSelectedItem();
 			if (selected != null) {
-				showBookingDialog(selected);
+				showBookingDialog(selected.booking());
 			}
 		});
 
 		Button delete = new Button("Cancel Booking");
 		delete.setOnAction(event -> {
-			Booking selected = bookingTable.getSelectionModel().getSelectedItem();
+			BookingRow selected = bookingTable.getSelectionModel().getSelectedItem();
 			if (selected != null) {
-				confirmDeleteBooking(selected);
+				confirmDeleteBooking(selected.booking());
 			}
 		});
 
+		Button cancelMatching = new Button("Cancel Matching");
+		cancelMatching.setOnAction(event -> confirmBulkChange(null));
+
+		Button shiftMatching = new Button("Shift Matching...");
+		shiftMatching.setOnAction(event -> showShiftDialog());
+
 		boolean canCreate = currentUser.getRole() != Role.GUEST;
 		add.setDisable(!canCreate);
+		cancelMatching.setDisable(!canCreate);
+		shiftMatching.setDisable(!canCreate);
 
 		boolean canModify = currentUser.getRole() != Role.GUEST;
 		if (canModify) {
@@ -286,9 +477,9 @@ public final class SchedulerApp extends Application {
 			delete.setDisable(true);
 		}
 
-		ToolBar actions = new ToolBar(refresh, add, edit, delete);
+		ToolBar actions = new ToolBar(refresh, add, edit, delete, cancelMatching, shiftMatching);
 
-		VBox content = new VBox(12, bookingTable, actions);
+		VBox content = new VBox(12, filters, bookingTable, actions);
 		VBox.setVgrow(bookingTable, Priority.ALWAYS);
 
 		Tab tab = new Tab("Bookings", content);
@@ -296,6 +487,52 @@ public final class SchedulerApp extends Application {
 		return tab;
 	}
 
+	private Tab buildTimelineTab() {
+		User user = currentUser;
+		timelineView = new TimelineView(
+			roomItems,
+			(roomNames, from, to, onLoaded, onFailed) ->
+				loadInBackground(
+					() -> schedulerSystem.findOverlapping(user, roomNames, from, to),
+					onLoaded,
+					onFailed
+				),
+			user.getUsername()
+		);
+
+		Button previous = new Button("<");
+		previous.setOnAction(event -> timelineView.panBySpans(-1));
+
+		Button today = new Button("Today");
+		today.setOnAction(event -> timelineView.show(LocalDate.now().atStartOfDay(), timelineView.span()));
+
+		Button next = new Button(">");
+		next.setOnAction(event -> timelineView.panBySpans(1));
+
+		Button day = new Button("Day");
+		day.setOnAction(event -> timelineView.zoomTo(Duration.ofDays(1)));
+
+		Button week = new Button("Week");
+		week.setOnAction(event -> timelineView.zoomTo(Duration.ofDays(7)));
+
+		Button month = new Button("Month");
+		month.setOnAction(event -> timelineView.zoomTo(Duration.ofDays(31)));
+
+		Button quarter = new Button("Quarter");
+		quarter.setOnAction(event -> timelineView.zoomTo(TimelineView.MAX_SPAN));
+
+		Label hint = new Label("Ctrl+scroll to zoom, drag to pan");
+
+		ToolBar controls = new ToolBar(previous, today, next, day, week, month, quarter, hint);
+
+		VBox content = new VBox(12, controls, timelineView);
+		VBox.setVgrow(timelineView, Priority.ALWAYS);
+
+		Tab tab = new Tab("Timeline", content);
+		tab.setClosable(false);
+		return tab;
+	}
+
 	private Tab buildUsersTab() {
 		boolean canView = currentUser.getRole().canManageUsers() || currentUser.getRole() == Role.SCHEDULER;
 		if (!canView) {
@@ -349,21 +586,141 @@ public final class SchedulerApp extends Application {
 	}
 
 	private void refreshRooms() {
-		roomItems.setAll(schedulerSystem.listRooms());
+		loadInBackground(
+			() -> List.copyOf(schedulerSystem.listRooms()),
+			rooms -> ObservableLists.patch(roomItems, rooms, Room::getName),
+			ex -> showError("Unable to load rooms", ex.getMessage())
+		);
+	}
+
+	private void applyRetention() {
+		runInBackground(
+			schedulerSystem::applyRetention,
+			archived -> {
+				if (archived > 0) {
+					setStatus("Archived " + archived + " past bookings");
+					if (bookingTable != null) {
+						refreshBookings();
+					}
+				}
+			},
+			ex -> setStatus("Unable to archive past bookings: " + ex.getMessage())
+		);
 	}
 
 	private void refreshBookings() {
-		bookingItems.setAll(schedulerSystem.listBookings(currentUser));
+		User user = currentUser;
+		BookingQuery query = bookingQuery;
+		bookingItems.reload(
+			new PagedBookingList.PageSource() {
+				@Override
+				public int count() {
+					return schedulerSystem.countBookings(user, query);
+				}
+
+				@Override
+				public List<Booking> page(int offset, int limit) {
+					return schedulerSystem.findBookings(user, query, offset, limit);
+				}
+			}
+		);
+		if (timelineView != null) {
+			timelineView.invalidate();
+		}
+	}
+
+	/**
+	 * Patches the booking table for one created, updated or cancelled booking. If
+	 * the filter changed meanwhile, the reload it triggered already covers it; if
+	 * the change promoted waitlisted requests, the table is reloaded instead.
+	 */
+	private void applyBookingMove(BookingMove move) {
+		if (move.promoted()) {
+			refreshBookings();
+			return;
+		}
+		if (move.query() == bookingQuery) {
+			try {
+				bookingItems.moved(move.from(), move.to(), move.booking());
+			} catch (IndexOutOfBoundsException ex) {
+				refreshBookings();
+				return;
+			}
+		}
+		if (timelineView != null) {
+			timelineView.invalidate();
+		}
 	}
 
 	private void refreshUsers() {
 		if (userTable != null) {
-			try {
-				userItems.setAll(schedulerSystem.listUsers(currentUser));
-			} catch (SecurityException ignored) {
-				userItems.clear();
+			User user = currentUser;
+			loadInBackground(
+				() -> List.copyOf(schedulerSystem.listUsers(user)),
+				users -> ObservableLists.patch(userItems, users, User::getUsername),
+				ex -> userItems.clear()
+			);
+		}
+	}
+
+	/**
+	 * Runs {@code work} on the service thread and hands its result or failure back
+	 * to the FX thread. The service does not stop a change once it has started,
+	 * so these tasks cannot be cancelled; use {@link #loadInBackground} for reads.
+	 */
+	private <T> Task<T> runInBackground(
+		Callable<T> work,
+		Consumer<T> onSuccess,
+		Consumer<Throwable> onFailure
+	) {
+		return submit(work, onSuccess, onFailure, false);
+	}
+
+	/**
+	 * Like {@link #runInBackground} for work that changes nothing, which the
+	 * status bar's Cancel button may abandon; cancelled tasks drop their result.
+	 */
+	private <T> Task<T> loadInBackground(
+		Callable<T> work,
+		Consumer<T> onSuccess,
+		Consumer<Throwable> onFailure
+	) {
+		return submit(work, onSuccess, onFailure, true);
+	}
+
+	private <T> Task<T> submit(
+		Callable<T> work,
+		Consumer<T> onSuccess,
+		Consumer<Throwable> onFailure,
+		boolean cancellable
+	) {
+		Task<T> task = new Task<>() {
+			@Override
+			protected T call() throws Exception {
+				return work.call();
 			}
+		};
+		task.setOnSucceeded(event -> {
+			activeTasks.remove(task);
+			cancellableTasks.remove(task);
+			onSuccess.accept(task.getValue());
+		});
+		task.setOnFailed(event -> {
+			activeTasks.remove(task);
+			cancellableTasks.remove(task);
+			onFailure.accept(task.getException());
+		});
+		task.setOnCancelled(event -> {
+			activeTasks.remove(task);
+			cancellableTasks.remove(task);
+			setStatus("Cancelled");
+		});
+		activeTasks.add(task);
+		if (cancellable) {
+			cancellableTasks.add(task);
 		}
+		serviceExecutor.execute(task);
+		return task;
 	}
 
 	private void showRoomDialog(Room existing) {
@@ -382,6 +739,12 @@ public final class SchedulerApp extends Application {
 		TextField descriptionField = new TextField(creating ? "" : existing.getDescription());
 		descriptionField.setPromptText("Description");
 
+		TextField locationField = new TextField(creating ? "" : existing.getLocation());
+		locationField.setPromptText("Building / floor");
+
+		TextField tagsField = new TextField(creating ? "" : String.join(", ", existing.getTags()));
+		tagsField.setPromptText("projector, whiteboard");
+
 		Label errorLabel = new Label();
 		errorLabel.setStyle("-fx-text-fill: red;");
 
@@ -391,11 +754,14 @@ public final class SchedulerApp extends Application {
 		grid.addRow(0, new Label("Name"), nameField);
 		grid.addRow(1, new Label("Capacity"), capacityField);
 		grid.addRow(2, new Label("Description"), descriptionField);
-		grid.add(errorLabel, 0, 3, 2, 1);
+		grid.addRow(3, new Label("Location"), locationField);
+		grid.addRow(4, new Label("Tags"), tagsField);
+		grid.add(errorLabel, 0, 5, 2, 1);
 		dialog.getDialogPane().setContent(grid);
 
 		Button okButton = (Button) dialog.getDialogPane().lookupButton(ButtonType.OK);
 		okButton.addEventFilter(ActionEvent.ACTION, event -> {
+			event.consume();
 			try {
 				String name = nameField.getText().trim();
 				if (name.isEmpty()) {
@@ -403,21 +769,30 @@ public final class SchedulerApp extends Application {
 				}
 				int capacity = Integer.parseInt(capacityField.getText().trim());
 				String description = descriptionField.getText().trim();
-				if (creating) {
-					schedulerSystem.createRoom(currentUser, name, capacity, description);
-					setStatus("Created room " + name);
-				} else {
-					schedulerSystem.updateRoom(currentUser, name, capacity, description);
-					setStatus("Updated room " + name);
-				}
-				refreshRooms();
+				String location = locationField.getText().trim();
+				List<String> tags = List.of(tagsField.getText().split(","));
+				User user = currentUser;
+				okButton.setDisable(true);
 				errorLabel.setText("");
+				runInBackground(
+					() -> creating
+						? schedulerSystem.createRoom(user, name, capacity, description, location, tags)
+						: schedulerSystem.updateRoom(user, name, capacity, description, location, tags),
+					room -> {
+						setStatus((creating ? "Created room " : "Updated room ") + name);
+						ObservableLists.upsert(roomItems, room, Room::getName);
+						dialog.setResult(ButtonType.OK);
+						dialog.close();
+					},
+					ex -> {
+						errorLabel.setText(ex.getMessage());
+						okButton.setDisable(false);
+					}
+				);
 			} catch (NumberFormatException ex) {
 				errorLabel.setText("Capacity must be a number");
-				event.consume();
 			} catch (RuntimeException ex) {
 				errorLabel.setText(ex.getMessage());
-				event.consume();
 			}
 		});
 
@@ -431,13 +806,18 @@ public final class SchedulerApp extends Application {
 		alert.setContentText("This action cannot be undone.");
 		alert.showAndWait().ifPresent(response -> {
 			if (response == ButtonType.OK) {
-				try {
-					schedulerSystem.deleteRoom(currentUser, room.getName());
-					setStatus("Deleted room " + room.getName());
-					refreshRooms();
-				} catch (RuntimeException ex) {
-					showError("Unable to delete room", ex.getMessage());
-				}
+				User user = currentUser;
+				runInBackground(
+					() -> {
+						schedulerSystem.deleteRoom(user, room.getName());
+						return room;
+					},
+					deleted -> {
+						setStatus("Deleted room " + deleted.getName());
+						roomItems.remove(deleted);
+					},
+					ex -> showError("Unable to delete room", ex.getMessage())
+				);
 			}
 		});
 	}
@@ -449,12 +829,40 @@ public final class SchedulerApp extends Application {
 		ButtonType okType = new ButtonType(creating ? "Create" : "Update", ButtonData.OK_DONE);
 		dialog.getDialogPane().getButtonTypes().addAll(okType, ButtonType.CANCEL);
 
-		ComboBox<Room> roomChoice = new ComboBox<>(FXCollections.observableArrayList(schedulerSystem.listRooms()));
+		ComboBox<Room> roomChoice = new ComboBox<>(FXCollections.observableArrayList(roomItems));
 		roomChoice.setDisable(!creating);
 		if (creating && !roomChoice.getItems().isEmpty()) {
 			roomChoice.getSelectionModel().selectFirst();
 		}
 
+		TextField roomSearch = new TextField();
+		roomSearch.setPromptText("Find a room, e.g. 40+ #projector @north");
+		roomSearch.setDisable(!creating);
+		roomSearch.textProperty().addListener((obs, oldText, text) -> {
+			RoomQuery query;
+			try {
+				query = RoomQuery.parse(text);
+			} catch (IllegalArgumentException ex) {
+				return;
+			}
+			// The service thread runs searches in order, so the last result wins.
+			loadInBackground(
+				() -> schedulerSystem.searchRooms(query, ROOM_SEARCH_LIMIT),
+				found -> {
+					Room selected = roomChoice.getValue();
+					roomChoice.getItems().setAll(found);
+					if (selected != null && found.contains(selected)) {
+						roomChoice.setValue(selected);
+					} else if (!found.isEmpty()) {
+						roomChoice.getSelectionModel().selectFirst();
+					} else {
+						roomChoice.setValue(null);
+					}
+				},
+				ex -> setStatus("Room search failed: " + ex.getMessage())
+			);
+		});
+
 		DatePicker startDate = new DatePicker();
 		TextField startTime = new TextField();
 		DatePicker endDate = new DatePicker();
@@ -480,35 +888,123 @@ public final class SchedulerApp extends Application {
 		Label errorLabel = new Label();
 		errorLabel.setStyle("-fx-text-fill: red;");
 
+		Label availabilityLabel = new Label();
+		VBox availabilityDetails = new VBox(4);
+
 		GridPane grid = new GridPane();
 		grid.setHgap(10);
 		grid.setVgap(10);
-		grid.addRow(0, new Label("Room"), roomChoice);
-		grid.addRow(1, new Label("Start Date"), startDate);
-		grid.addRow(2, new Label("Start Time"), startTime);
-		grid.addRow(3, new Label("End Date"), endDate);
-		grid.addRow(4, new Label("End Time"), endTime);
-		grid.add(errorLabel, 0, 5, 2, 1);
+		grid.addRow(0, new Label("Find Room"), roomSearch);
+		grid.addRow(1, new Label("Room"), roomChoice);
+		grid.addRow(2, new Label("Start Date"), startDate);
+		grid.addRow(3, new Label("Start Time"), startTime);
+		grid.addRow(4, new Label("End Date"), endDate);
+		grid.addRow(5, new Label("End Time"), endTime);
+		grid.add(availabilityLabel, 0, 6, 2, 1);
+		grid.add(availabilityDetails, 0, 7, 2, 1);
+		grid.add(errorLabel, 0, 8, 2, 1);
 		dialog.getDialogPane().setContent(grid);
 
-		final BookingForm[] resultHolder = new BookingForm[1];
 		Button okButton = (Button) dialog.getDialogPane().lookupButton(okType);
-		okButton.addEventFilter(ActionEvent.ACTION, event -> {
+
+		// Availability is re-checked on the service thread once edits pause; a newer
+		// edit cancels the pending check so only the latest result is shown.
+		AtomicReference<Task<Availability>> pendingCheck = new AtomicReference<>();
+		javafx.animation.PauseTransition debounce =
+			new javafx.animation.PauseTransition(javafx.util.Duration.millis(300));
+		debounce.setOnFinished(event -> {
+			if (pendingCheck.get() != null) {
+				pendingCheck.get().cancel();
+				pendingCheck.set(null);
+			}
+			BookingForm form;
 			try {
-				Room room = creating ? roomChoice.getValue() : existing.getRoom();
-				if (room == null) {
-					throw new IllegalArgumentException("Select a room");
+				form = readBookingForm(
+					creating ? roomChoice.getValue() : existing.getRoom(),
+					startDate.getValue(),
+					startTime.getText(),
+					endDate.getValue(),
+					endTime.getText()
+				);
+			} catch (RuntimeException ex) {
+				availabilityLabel.setText("");
+				availabilityDetails.getChildren().clear();
+				okButton.setDisable(false);
+				return;
+			}
+			UUID excludeId = creating ? null : existing.getId();
+			availabilityLabel.setStyle("-fx-text-fill: gray;");
+			availabilityLabel.setText("Checking availability...");
+			Task<Availability> check = new Task<>() {
+				@Override
+				protected Availability call() {
+					return schedulerSystem.checkAvailability(
+						form.room().getName(),
+						List.of(new TimeSlot(form.start(), form.end())),
+						excludeId
+					);
+				}
+			};
+			check.setOnSucceeded(done -> {
+				if (pendingCheck.get() != check) {
+					return;
 				}
-				LocalDate startD = Optional.ofNullable(startDate.getValue()).orElseThrow(() -> new IllegalArgumentException("Start date required"));
-				LocalDate endD = Optional.ofNullable(endDate.getValue()).orElseThrow(() -> new IllegalArgumentException("End date required"));
-				LocalTime startT = parseTime(startTime.getText());
-				LocalTime endT = parseTime(endTime.getText());
-				LocalDateTime start = LocalDateTime.of(startD, startT);
-				LocalDateTime end = LocalDateTime.of(endD, endT);
-				if (!start.isBefore(end)) {
-					throw new IllegalArgumentException("Start must be before end");
+				pendingCheck.set(null);
+				showAvailability(
+					check.getValue(),
+					availabilityLabel,
+					availabilityDetails,
+					alternative -> {
+						if (creating) {
+							roomChoice
+								.getItems()
+								.stream()
+								.filter(room -> room.getName().equals(alternative.roomName()))
+								.findFirst()
+								.ifPresent(roomChoice::setValue);
+						}
+						TimeSlot slot = alternative.slots().get(0);
+						startDate.setValue(slot.start().toLocalDate());
+						startTime.setText(slot.start().toLocalTime().format(TIME_FORMAT));
+						endDate.setValue(slot.end().toLocalDate());
+						endTime.setText(slot.end().toLocalTime().format(TIME_FORMAT));
+					}
+				);
+				okButton.setDisable(!check.getValue().conflicts().isEmpty());
+			});
+			check.setOnFailed(done -> {
+				if (pendingCheck.get() == check) {
+					pendingCheck.set(null);
+					availabilityLabel.setStyle("-fx-text-fill: red;");
+					availabilityLabel.setText(check.getException().getMessage());
 				}
-				resultHolder[0] = new BookingForm(room, start, end);
+			});
+			pendingCheck.set(check);
+			serviceExecutor.execute(check);
+		});
+		roomChoice.valueProperty().addListener((obs, old, value) -> debounce.playFromStart());
+		startDate.valueProperty().addListener((obs, old, value) -> debounce.playFromStart());
+		startTime.textProperty().addListener((obs, old, value) -> debounce.playFromStart());
+		endDate.valueProperty().addListener((obs, old, value) -> debounce.playFromStart());
+		endTime.textProperty().addListener((obs, old, value) -> debounce.playFromStart());
+		dialog.setOnHidden(event -> {
+			debounce.stop();
+			if (pendingCheck.get() != null) {
+				pendingCheck.get().cancel();
+			}
+		});
+		debounce.playFromStart();
+
+		final BookingForm[] resultHolder = new BookingForm[1];
+		okButton.addEventFilter(ActionEvent.ACTION, event -> {
+			try {
+				resultHolder[0] = readBookingForm(
+					creating ? roomChoice.getValue() : existing.getRoom(),
+					startDate.getValue(),
+					startTime.getText(),
+					endDate.getValue(),
+					endTime.getText()
+				);
 				errorLabel.setText("");
 			} catch (RuntimeException ex) {
 				errorLabel.setText(ex.getMessage());
@@ -519,31 +1015,126 @@ public final class SchedulerApp extends Application {
 		dialog.setResultConverter(button -> button == okType ? resultHolder[0] : null);
 
 		dialog.showAndWait().ifPresent(form -> {
-			try {
-				if (creating) {
-					Booking created = schedulerSystem.createBooking(
-						currentUser,
-						form.room().getName(),
-						form.start(),
-						form.end()
-					);
-					setStatus("Created booking " + created.getId());
-				} else {
-					schedulerSystem.updateBooking(
-						currentUser,
-						existing.getId(),
-						form.start(),
-						form.end()
-					);
-					setStatus("Updated booking " + existing.getId());
+			User user = currentUser;
+			BookingQuery query = bookingQuery;
+			runInBackground(
+				() -> {
+					long promoted = schedulerSystem.promotionCount();
+					int from = creating ? -1 : schedulerSystem.positionOf(user, query, existing.getId());
+					Booking booking = creating
+						? schedulerSystem.createBooking(
+							user,
+							form.room().getName(),
+							form.start(),
+							form.end()
+						)
+						: schedulerSystem.updateBooking(
+							user,
+							existing.getId(),
+							form.start(),
+							form.end()
+						);
+					int to = schedulerSystem.positionOf(user, query, booking.getId());
+					return new BookingMove(booking, from, to, query, schedulerSystem.promotionCount() != promoted);
+				},
+				move -> {
+					setStatus((creating ? "Created booking " : "Updated booking ") + move.booking().getId());
+					applyBookingMove(move);
+				},
+				ex -> {
+					if (creating && ex instanceof BookingConflictException) {
+						offerWaitlist(form, ex.getMessage());
+					} else {
+						showError("Booking error", ex.getMessage());
+					}
 				}
-				refreshBookings();
-			} catch (RuntimeException ex) {
-				showError("Booking error", ex.getMessage());
+			);
+		});
+	}
+
+	private void offerWaitlist(BookingForm form, String reason) {
+		Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+		alert.setTitle("Slot Unavailable");
+		alert.setHeaderText(reason);
+		alert.setContentText("Join the waitlist? The slot is booked for you if it frees up.");
+		alert.showAndWait().ifPresent(response -> {
+			if (response == ButtonType.OK) {
+				User user = currentUser;
+				runInBackground(
+					() -> schedulerSystem.joinWaitlist(user, form.room().getName(), form.start(), form.end()),
+					entry -> setStatus("Waitlisted for " + entry.roomName() + " (" + entry.id() + ")"),
+					ex -> showError("Unable to join waitlist", ex.getMessage())
+				);
 			}
 		});
 	}
 
+	private BookingForm readBookingForm(
+		Room room,
+		LocalDate startDate,
+		String startTime,
+		LocalDate endDate,
+		String endTime
+	) {
+		if (room == null) {
+			throw new IllegalArgumentException("Select a room");
+		}
+		LocalDate startD = Optional.ofNullable(startDate).orElseThrow(() -> new IllegalArgumentException("Start date required"));
+		LocalDate endD = Optional.ofNullable(endDate).orElseThrow(() -> new IllegalArgumentException("End date required"));
+		LocalDateTime start = LocalDateTime.of(startD, parseTime(startTime));
+		LocalDateTime end = LocalDateTime.of(endD, parseTime(endTime));
+		if (!start.isBefore(end)) {
+			throw new IllegalArgumentException("Start must be before end");
+		}
+		return new BookingForm(room, start, end);
+	}
+
+	private void showAvailability(
+		Availability check,
+		Label summary,
+		VBox details,
+		Consumer<Availability.Alternative> applyAlternative
+	) {
+		details.getChildren().clear();
+		if (check.conflicts().isEmpty()) {
+			summary.setStyle("-fx-text-fill: green;");
+			summary.setText("Room is available");
+			return;
+		}
+		summary.setStyle("-fx-text-fill: red;");
+		summary.setText("Conflicts with " + check.conflicts().size() + " booking(s):");
+		check
+			.conflicts()
+			.stream()
+			.limit(5)
+			.forEach(conflict ->
+				details
+					.getChildren()
+					.add(
+						new Label(
+							"  " +
+							conflict.getStart().format(DATE_TIME_FORMAT) +
+							" -> " +
+							conflict.getEnd().format(DATE_TIME_FORMAT) +
+							" | " +
+							conflict.getBookedBy()
+						)
+					)
+			);
+		if (!check.alternatives().isEmpty()) {
+			details.getChildren().add(new Label("Free alternatives:"));
+			for (Availability.Alternative alternative : check.alternatives()) {
+				TimeSlot slot = alternative.slots().get(0);
+				javafx.scene.control.Hyperlink link = new javafx.scene.control.Hyperlink(
+					alternative.roomName() + " | " +
+					slot.start().format(DATE_TIME_FORMAT) + " -> " + slot.end().format(DATE_TIME_FORMAT)
+				);
+				link.setOnAction(event -> applyAlternative.accept(alternative));
+				details.getChildren().add(link);
+			}
+		}
+	}
+
 	private void confirmDeleteBooking(Booking booking) {
 		Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
 		alert.setTitle("Cancel Booking");
@@ -557,17 +1148,130 @@ public final class SchedulerApp extends Application {
 		);
 		alert.showAndWait().ifPresent(response -> {
 			if (response == ButtonType.OK) {
-				try {
-					schedulerSystem.cancelBooking(currentUser, booking.getId());
-					setStatus("Cancelled booking " + booking.getId());
-					refreshBookings();
-				} catch (RuntimeException ex) {
-					showError("Unable to cancel booking", ex.getMessage());
-				}
+				User user = currentUser;
+				BookingQuery query = bookingQuery;
+				runInBackground(
+					() -> {
+						long promoted = schedulerSystem.promotionCount();
+						int from = schedulerSystem.positionOf(user, query, booking.getId());
+						schedulerSystem.cancelBooking(user, booking.getId());
+						return new BookingMove(booking, from, -1, query, schedulerSystem.promotionCount() != promoted);
+					},
+					move -> {
+						setStatus("Cancelled booking " + move.booking().getId());
+						applyBookingMove(move);
+					},
+					ex -> showError("Unable to cancel booking", ex.getMessage())
+				);
+			}
+		});
+	}
+
+	private void showShiftDialog() {
+		Dialog<Duration> dialog = new Dialog<>();
+		dialog.setTitle("Shift Matching Bookings");
+		dialog.setHeaderText("Move every booking matching the current filter");
+		dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+
+		TextField daysField = new TextField("0");
+		TextField hoursField = new TextField("0");
+		TextField minutesField = new TextField("0");
+
+		GridPane grid = new GridPane();
+		grid.setHgap(10);
+		grid.setVgap(10);
+		grid.setPadding(new Insets(20, 150, 10, 10));
+		grid.add(new Label("Days"), 0, 0);
+		grid.add(daysField, 1, 0);
+		grid.add(new Label("Hours"), 0, 1);
+		grid.add(hoursField, 1, 1);
+		grid.add(new Label("Minutes"), 0, 2);
+		grid.add(minutesField, 1, 2);
+		dialog.getDialogPane().setContent(grid);
+
+		dialog.setResultConverter(button -> {
+			if (button != ButtonType.OK) {
+				return null;
+			}
+			try {
+				return Duration
+					.ofDays(Long.parseLong(daysField.getText().trim()))
+					.plusHours(Long.parseLong(hoursField.getText().trim()))
+					.plusMinutes(Long.parseLong(minutesField.getText().trim()));
+			} catch (NumberFormatException ex) {
+				showError("Invalid offset", "Days, hours and minutes must be whole numbers (negative moves earlier)");
+				return null;
+			}
+		});
+		dialog.showAndWait().ifPresent(offset -> {
+			if (offset.isZero()) {
+				showError("Invalid offset", "Offset must not be zero");
+			} else {
+				confirmBulkChange(offset);
 			}
 		});
 	}
 
+	/**
+	 * Cancels ({@code offset} null) or shifts every booking matching the current
+	 * filter as one change, after confirming how many bookings that is.
+	 */
+	private void confirmBulkChange(Duration offset) {
+		BookingQuery query = bookingQuery;
+		BookingSelection selection = new BookingSelection(
+			Set.of(),
+			query.roomName() == null ? Set.of() : Set.of(query.roomName()),
+			query.owner(),
+			query.from(),
+			query.to()
+		);
+		User user = currentUser;
+		String action = offset == null ? "Cancel" : "Shift";
+		loadInBackground(
+			() -> schedulerSystem.selectBookings(user, selection).size(),
+			count -> {
+				if (count == 0) {
+					setStatus("No bookings match the filter");
+					return;
+				}
+				Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+				alert.setTitle(action + " Matching Bookings");
+				alert.setHeaderText(
+					action + " " + count + " booking" + (count == 1 ? "" : "s") + " matching the filter?"
+				);
+				alert.setContentText(
+					offset == null
+						? "All of them are cancelled, or none if any cannot be."
+						: "All of them move by " + formatOffset(offset) + ", or none if any would conflict."
+				);
+				alert.showAndWait().ifPresent(response -> {
+					if (response == ButtonType.OK) {
+						runInBackground(
+							() -> offset == null
+								? schedulerSystem.cancelBookings(user, selection)
+								: schedulerSystem.shiftBookings(user, selection, offset),
+							changed -> {
+								setStatus(
+									(offset == null ? "Cancelled " : "Moved ") + changed.size() + " bookings"
+								);
+								refreshBookings();
+							},
+							ex -> showError("Unable to " + action.toLowerCase() + " bookings", ex.getMessage())
+						);
+					}
+				});
+			},
+			ex -> showError("Unable to select bookings", ex.getMessage())
+		);
+	}
+
+	private static String formatOffset(Duration offset) {
+		long minutes = Math.abs(offset.toMinutes());
+		return (offset.isNegative() ? "-" : "+") +
+			(minutes / 1440 > 0 ? minutes / 1440 + "d " : "") +
+			String.format("%02d:%02d", minutes % 1440 / 60, minutes % 60);
+	}
+
 	private void showUserDialog() {
 		Dialog<ButtonType> dialog = new Dialog<>();
 		dialog.setTitle("Create User");
@@ -596,6 +1300,7 @@ public final class SchedulerApp extends Application {
 
 		Button okButton = (Button) dialog.getDialogPane().lookupButton(ButtonType.OK);
 		okButton.addEventFilter(ActionEvent.ACTION, event -> {
+			event.consume();
 			try {
 				String username = usernameField.getText().trim();
 				String password = passwordField.getText();
@@ -606,13 +1311,24 @@ public final class SchedulerApp extends Application {
 				if (password.isEmpty()) {
 					throw new IllegalArgumentException("Password is required");
 				}
-				schedulerSystem.createUser(currentUser, username, password, role);
-				setStatus("Created user " + username);
-				refreshUsers();
+				User user = currentUser;
+				okButton.setDisable(true);
 				errorLabel.setText("");
+				runInBackground(
+					() -> schedulerSystem.createUser(user, username, password, role),
+					created -> {
+						setStatus("Created user " + created.getUsername());
+						ObservableLists.upsert(userItems, created, User::getUsername);
+						dialog.setResult(ButtonType.OK);
+						dialog.close();
+					},
+					ex -> {
+						errorLabel.setText(ex.getMessage());
+						okButton.setDisable(false);
+					}
+				);
 			} catch (RuntimeException ex) {
 				errorLabel.setText(ex.getMessage());
-				event.consume();
 			}
 		});
 
@@ -629,13 +1345,18 @@ public final class SchedulerApp extends Application {
 		alert.setContentText("This action cannot be undone.");
 		alert.showAndWait().ifPresent(response -> {
 			if (response == ButtonType.OK) {
-				try {
-					schedulerSystem.deleteUser(currentUser, user.getUsername());
-					setStatus("Deleted user " + user.getUsername());
-					refreshUsers();
-				} catch (RuntimeException ex) {
-					showError("Unable to delete user", ex.getMessage());
-				}
+				User actingUser = currentUser;
+				runInBackground(
+					() -> {
+						schedulerSystem.deleteUser(actingUser, user.getUsername());
+						return user;
+					},
+					deleted -> {
+						setStatus("Deleted user " + deleted.getUsername());
+						userItems.remove(deleted);
+					},
+					ex -> showError("Unable to delete user", ex.getMessage())
+				);
 			}
 		});
 	}
@@ -663,4 +1384,8 @@ public final class SchedulerApp extends Application {
 	}
 
 	private record BookingForm(Room room, LocalDateTime start, LocalDateTime end) {}
+
+	/** @param promoted true if the change also booked waitlisted requests */
+	private record BookingMove(Booking booking, int from, int to, BookingQuery query, boolean promoted) {}
+
 }
@@ -0,0 +1,424 @@
+package scheduler.ui;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+import scheduler.model.Booking;
+import scheduler.model.Room;
+
+/**
+ * Rooms-by-time timeline drawn on a {@link Canvas}.
+ *
+ * <p>Only the rooms scrolled into view and the bookings overlapping the visible
+ * time window are fetched and drawn. Fetches cover a padded window so small pans
+ * and scrolls are served from what is already loaded, and bookings that collapse
+ * into the same pixels are merged into one rectangle before drawing.
+ */
+final class TimelineView extends Region {
+
+	/**
+	 * Loads bookings for a set of rooms and a time window off the FX thread and
+	 * delivers them, ordered by start within each room, back on the FX thread.
+	 */
+	interface BookingSource {
+		void fetch(
+			List<String> roomNames,
+			LocalDateTime from,
+			LocalDateTime to,
+			Consumer<List<Booking>> onLoaded,
+			Consumer<Throwable> onFailed
+		);
+	}
+
+	static final Duration MIN_SPAN = Duration.ofDays(1);
+	static final Duration MAX_SPAN = Duration.ofDays(92);
+
+	private static final double GUTTER = 140;
+	private static final double HEADER = 24;
+	private static final double ROW_HEIGHT = 28;
+	private static final double ZOOM_STEP = 1.2;
+	private static final DateTimeFormatter HOUR_LABEL = DateTimeFormatter.ofPattern("HH:mm");
+	private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("EEE dd MMM", Locale.ROOT);
+	private static final Color OWN_BOOKING = Color.web("#3b82f6");
+	private static final Color OTHER_BOOKING = Color.web("#94a3b8");
+
+	private final Canvas canvas = new Canvas();
+	private final ScrollBar rowScroll = new ScrollBar();
+	private final ObservableList<Room> rooms;
+	private final BookingSource source;
+	private final String currentUsername;
+
+	private LocalDateTime viewStart = LocalDate.now().atStartOfDay();
+	private long spanSeconds = MIN_SPAN.toSeconds();
+
+	private Map<String, List<Booking>> loaded = Map.of();
+	private long loadedLongestSeconds;
+	private LocalDateTime loadedFrom;
+	private LocalDateTime loadedTo;
+	private int loadedFirstRow;
+	private int loadedLastRow = -1;
+	private long requestSequence;
+	private boolean fetchInFlight;
+	private boolean redrawQueued;
+	private double dragAnchorX = Double.NaN;
+
+	TimelineView(ObservableList<Room> rooms, BookingSource source, String currentUsername) {
+		this.rooms = rooms;
+		this.source = source;
+		this.currentUsername = currentUsername;
+
+		rowScroll.setOrientation(Orientation.VERTICAL);
+		rowScroll.setMin(0);
+		rowScroll.valueProperty().addListener((obs, old, value) -> viewportChanged());
+		getChildren().addAll(canvas, rowScroll);
+
+		rooms.addListener((ListChangeListener<Room>) change -> invalidate());
+		widthProperty().addListener((obs, old, value) -> viewportChanged());
+		heightProperty().addListener((obs, old, value) -> viewportChanged());
+
+		canvas.setOnScroll(event -> {
+			if (event.isShortcutDown()) {
+				zoomAround(event.getX(), event.getDeltaY() > 0 ? 1 / ZOOM_STEP : ZOOM_STEP);
+			} else if (event.isShiftDown() || Math.abs(event.getDeltaX()) > Math.abs(event.getDeltaY())) {
+				double delta = event.isShiftDown() ? event.getDeltaY() : event.getDeltaX();
+				panByPixels(-delta);
+			} else {
+				rowScroll.setValue(clampRow(rowScroll.getValue() - Math.signum(event.getDeltaY()) * 3));
+			}
+			event.consume();
+		});
+		canvas.setOnMousePressed(event -> dragAnchorX = event.getX());
+		canvas.setOnMouseDragged(event -> {
+			if (!Double.isNaN(dragAnchorX)) {
+				panByPixels(dragAnchorX - event.getX());
+				dragAnchorX = event.getX();
+			}
+		});
+		canvas.setOnMouseReleased(event -> dragAnchorX = Double.NaN);
+	}
+
+	/**
+	 * Shows {@code span} starting at {@code start}, clamped to the supported zoom range.
+	 */
+	void show(LocalDateTime start, Duration span) {
+		long seconds = Math.max(MIN_SPAN.toSeconds(), Math.min(MAX_SPAN.toSeconds(), span.toSeconds()));
+		viewStart = start;
+		spanSeconds = seconds;
+		viewportChanged();
+	}
+
+	void zoomTo(Duration span) {
+		long center = toSeconds(viewStart) + spanSeconds / 2;
+		long seconds = Math.max(MIN_SPAN.toSeconds(), Math.min(MAX_SPAN.toSeconds(), span.toSeconds()));
+		show(fromSeconds(center - seconds / 2), Duration.ofSeconds(seconds));
+	}
+
+	void panBySpans(double spans) {
+		show(viewStart.plusSeconds((long) (spans * spanSeconds)), Duration.ofSeconds(spanSeconds));
+	}
+
+	Duration span() {
+		return Duration.ofSeconds(spanSeconds);
+	}
+
+	/**
+	 * Drops loaded bookings, e.g. after a mutation, and fetches the viewport again.
+	 */
+	void invalidate() {
+		loadedFrom = null;
+		loadedTo = null;
+		loadedLastRow = -1;
+		requestSequence++;
+		fetchInFlight = false;
+		viewportChanged();
+	}
+
+	@Override
+	protected void layoutChildren() {
+		double scrollWidth = rowScroll.prefWidth(-1);
+		double width = Math.max(0, getWidth() - scrollWidth);
+		canvas.setWidth(width);
+		canvas.setHeight(getHeight());
+		rowScroll.resizeRelocate(width, 0, scrollWidth, getHeight());
+	}
+
+	private void viewportChanged() {
+		int visible = visibleRowCount();
+		rowScroll.setMax(Math.max(0, rooms.size() - visible));
+		rowScroll.setVisibleAmount(visible);
+		rowScroll.setValue(clampRow(rowScroll.getValue()));
+		ensureLoaded();
+		requestRedraw();
+	}
+
+	private void ensureLoaded() {
+		if (fetchInFlight || rooms.isEmpty()) {
+			return;
+		}
+		int first = firstRow();
+		int last = Math.min(rooms.size() - 1, first + visibleRowCount());
+		LocalDateTime viewEnd = viewStart.plusSeconds(spanSeconds);
+		boolean covered =
+			loadedFrom != null &&
+			!viewStart.isBefore(loadedFrom) &&
+			!viewEnd.isAfter(loadedTo) &&
+			first >= loadedFirstRow &&
+			last <= loadedLastRow;
+		if (covered) {
+			return;
+		}
+		int rowPadding = visibleRowCount();
+		int fetchFirst = Math.max(0, first - rowPadding);
+		int fetchLast = Math.min(rooms.size() - 1, last + rowPadding);
+		LocalDateTime fetchFrom = viewStart.minusSeconds(spanSeconds / 2);
+		LocalDateTime fetchTo = viewEnd.plusSeconds(spanSeconds / 2);
+		List<String> roomNames = new ArrayList<>(fetchLast - fetchFirst + 1);
+		for (int row = fetchFirst; row <= fetchLast; row++) {
+			roomNames.add(rooms.get(row).getName());
+		}
+		long sequence = ++requestSequence;
+		fetchInFlight = true;
+		source.fetch(roomNames, fetchFrom, fetchTo, bookings -> {
+			if (sequence != requestSequence) {
+				return;
+			}
+			fetchInFlight = false;
+			Map<String, List<Booking>> byRoom = new HashMap<>();
+			long longest = 0;
+			for (Booking booking : bookings) {
+				byRoom
+					.computeIfAbsent(key(booking.getRoom()), k -> new ArrayList<>())
+					.add(booking);
+				longest = Math.max(
+					longest,
+					Duration.between(booking.getStart(), booking.getEnd()).toSeconds()
+				);
+			}
+			loaded = byRoom;
+			loadedLongestSeconds = longest;
+			loadedFrom = fetchFrom;
+			loadedTo = fetchTo;
+			loadedFirstRow = fetchFirst;
+			loadedLastRow = fetchLast;
+			ensureLoaded();
+			requestRedraw();
+		}, ex -> {
+			if (sequence == requestSequence) {
+				fetchInFlight = false;
+			}
+		});
+	}
+
+	/**
+	 * Coalesces redraw requests so several viewport changes within one pulse cost
+	 * a single repaint.
+	 */
+	private void requestRedraw() {
+		if (redrawQueued) {
+			return;
+		}
+		redrawQueued = true;
+		Platform.runLater(() -> {
+			redrawQueued = false;
+			draw();
+		});
+	}
+
+	private void draw() {
+		GraphicsContext g = canvas.getGraphicsContext2D();
+		double width = canvas.getWidth();
+		double height = canvas.getHeight();
+		g.setFill(Color.WHITE);
+		g.fillRect(0, 0, width, height);
+		if (width <= GUTTER) {
+			return;
+		}
+		g.setFont(Font.font(11));
+		g.setTextBaseline(VPos.CENTER);
+		drawAxis(g, width, height);
+
+		LocalDateTime viewEnd = viewStart.plusSeconds(spanSeconds);
+		int first = firstRow();
+		int last = Math.min(rooms.size() - 1, first + visibleRowCount());
+		for (int row = first; row <= last; row++) {
+			Room room = rooms.get(row);
+			double y = HEADER + (row - first) * ROW_HEIGHT;
+			if (row % 2 == 1) {
+				g.setFill(Color.web("#f8fafc"));
+				g.fillRect(0, y, width, ROW_HEIGHT);
+			}
+			g.setFill(Color.BLACK);
+			g.setTextAlign(TextAlignment.LEFT);
+			g.fillText(room.getName(), 6, y + ROW_HEIGHT / 2, GUTTER - 12);
+			List<Booking> bookings = loaded.get(key(room));
+			if (bookings != null) {
+				drawRow(g, bookings, y, width, viewEnd);
+			}
+		}
+		g.setStroke(Color.web("#cbd5e1"));
+		g.strokeLine(GUTTER, 0, GUTTER, height);
+	}
+
+	private void drawRow(
+		GraphicsContext g,
+		List<Booking> bookings,
+		double y,
+		double width,
+		LocalDateTime viewEnd
+	) {
+		int index = lowerBound(bookings, viewStart.minusSeconds(loadedLongestSeconds));
+		double runStart = Double.NaN;
+		double runEnd = Double.NaN;
+		Color runColor = null;
+		for (; index < bookings.size(); index++) {
+			Booking booking = bookings.get(index);
+			if (!booking.getStart().isBefore(viewEnd)) {
+				break;
+			}
+			if (!booking.getEnd().isAfter(viewStart)) {
+				continue;
+			}
+			double x1 = Math.max(GUTTER, toX(booking.getStart(), width));
+			double x2 = Math.max(x1 + 1, Math.min(width, toX(booking.getEnd(), width)));
+			Color color = booking.isOwnedBy(currentUsername) ? OWN_BOOKING : OTHER_BOOKING;
+			if (runColor == color && x1 <= runEnd + 1) {
+				runEnd = Math.max(runEnd, x2);
+				continue;
+			}
+			if (runColor != null) {
+				fillRun(g, runColor, runStart, runEnd, y);
+			}
+			runStart = x1;
+			runEnd = x2;
+			runColor = color;
+			if (x2 - x1 > 60) {
+				fillRun(g, color, x1, x2, y);
+				g.setFill(Color.WHITE);
+				g.fillText(booking.getBookedBy(), x1 + 4, y + ROW_HEIGHT / 2, x2 - x1 - 8);
+				runColor = null;
+			}
+		}
+		if (runColor != null) {
+			fillRun(g, runColor, runStart, runEnd, y);
+		}
+	}
+
+	private void fillRun(GraphicsContext g, Color color, double x1, double x2, double y) {
+		g.setFill(color);
+		g.fillRect(x1, y + 4, x2 - x1, ROW_HEIGHT - 8);
+	}
+
+	private void drawAxis(GraphicsContext g, double width, double height) {
+		ChronoUnit unit;
+		long step;
+		DateTimeFormatter format;
+		if (spanSeconds <= Duration.ofDays(2).toSeconds()) {
+			unit = ChronoUnit.HOURS;
+			step = spanSeconds <= Duration.ofDays(1).toSeconds() ? 2 : 4;
+			format = HOUR_LABEL;
+		} else if (spanSeconds <= Duration.ofDays(21).toSeconds()) {
+			unit = ChronoUnit.DAYS;
+			step = 1;
+			format = DAY_LABEL;
+		} else {
+			unit = ChronoUnit.WEEKS;
+			step = 1;
+			format = DAY_LABEL;
+		}
+		LocalDateTime tick = viewStart.truncatedTo(ChronoUnit.DAYS);
+		LocalDateTime viewEnd = viewStart.plusSeconds(spanSeconds);
+		g.setStroke(Color.web("#e2e8f0"));
+		g.setTextAlign(TextAlignment.LEFT);
+		while (tick.isBefore(viewEnd)) {
+			if (!tick.isBefore(viewStart)) {
+				double x = toX(tick, width);
+				g.strokeLine(x, HEADER - 4, x, height);
+				g.setFill(Color.web("#475569"));
+				g.fillText(tick.format(format), x + 3, HEADER / 2);
+			}
+			tick = tick.plus(step, unit);
+		}
+	}
+
+	private void zoomAround(double x, double factor) {
+		double timelineWidth = Math.max(1, canvas.getWidth() - GUTTER);
+		double fraction = Math.max(0, Math.min(1, (x - GUTTER) / timelineWidth));
+		long anchor = toSeconds(viewStart) + (long) (fraction * spanSeconds);
+		long seconds = (long) (spanSeconds * factor);
+		seconds = Math.max(MIN_SPAN.toSeconds(), Math.min(MAX_SPAN.toSeconds(), seconds));
+		show(fromSeconds(anchor - (long) (fraction * seconds)), Duration.ofSeconds(seconds));
+	}
+
+	private void panByPixels(double pixels) {
+		double timelineWidth = Math.max(1, canvas.getWidth() - GUTTER);
+		long seconds = (long) (pixels / timelineWidth * spanSeconds);
+		if (seconds != 0) {
+			show(viewStart.plusSeconds(seconds), Duration.ofSeconds(spanSeconds));
+		}
+	}
+
+	private double toX(LocalDateTime time, double width) {
+		double timelineWidth = width - GUTTER;
+		double offset = toSeconds(time) - toSeconds(viewStart);
+		return GUTTER + offset / spanSeconds * timelineWidth;
+	}
+
+	private int firstRow() {
+		return (int) clampRow(rowScroll.getValue());
+	}
+
+	private double clampRow(double row) {
+		return Math.max(0, Math.min(Math.max(0, rooms.size() - visibleRowCount()), row));
+	}
+
+	private int visibleRowCount() {
+		return Math.max(1, (int) Math.ceil((getHeight() - HEADER) / ROW_HEIGHT));
+	}
+
+	private static int lowerBound(List<Booking> bookings, LocalDateTime time) {
+		int low = 0;
+		int high = bookings.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (bookings.get(mid).getStart().isBefore(time)) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static long toSeconds(LocalDateTime time) {
+		return time.toEpochSecond(ZoneOffset.UTC);
+	}
+
+	private static LocalDateTime fromSeconds(long seconds) {
+		return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+	}
+
+	private static String key(Room room) {
+		return room.getName().toLowerCase(Locale.ROOT);
+	}
+}
@@ -10,4 +10,8 @@ public final class Admin extends User {
 	public Admin(String username, String password) {
 		super(username, password, Role.ADMIN);
 	}
+
+	Admin(String username, StoredHash passwordHash) {
+		super(username, passwordHash, Role.ADMIN);
+	}
 }
@@ -10,4 +10,8 @@ public final class Guest extends User {
 	public Guest(String username, String password) {
 		super(username, password, Role.GUEST);
 	}
+
+	Guest(String username, StoredHash passwordHash) {
+		super(username, passwordHash, Role.GUEST);
+	}
 }
@@ -10,4 +10,8 @@ public final class RegularUser extends User {
 	public RegularUser(String username, String password) {
 		super(username, password, Role.USER);
 	}
+
+	RegularUser(String username, StoredHash passwordHash) {
+		super(username, passwordHash, Role.USER);
+	}
 }
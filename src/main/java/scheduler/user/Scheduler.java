@@ -10,4 +10,8 @@ public final class Scheduler extends User {
 	public Scheduler(String username, String password) {
 		super(username, password, Role.SCHEDULER);
 	}
+
+	Scheduler(String username, StoredHash passwordHash) {
+		super(username, passwordHash, Role.SCHEDULER);
+	}
 }
@@ -3,6 +3,7 @@ package scheduler.user;
 import java.io.Serial;
 import java.io.Serializable;
 import scheduler.Role;
+import scheduler.util.PasswordHasher;
 
 /**
  * Base class for all users of the scheduler.
@@ -13,15 +14,49 @@ public abstract class User implements Serializable {
 	private static final long serialVersionUID = 1L;
 
 	private final String username;
-	private final String password;
+	private final String passwordHash;
 	private final Role role;
 
+	/** An encoded password hash read from storage, as opposed to a plaintext password. */
+	record StoredHash(String encoded) {
+
+		StoredHash {
+			if (!PasswordHasher.isHash(encoded)) {
+				throw new IllegalArgumentException("Not an encoded password hash");
+			}
+		}
+	}
+
+	/**
+	 * @param password plaintext password, always hashed here
+	 */
 	protected User(String username, String password, Role role) {
 		this.username = username;
-		this.password = password;
+		this.passwordHash = PasswordHasher.hash(password);
 		this.role = role;
 	}
 
+	User(String username, StoredHash passwordHash, Role role) {
+		this.username = username;
+		this.passwordHash = passwordHash.encoded();
+		this.role = role;
+	}
+
+	/**
+	 * Restores an account from storage with its already encoded password hash.
+	 * Only for persistence; new accounts go through the subclass constructors,
+	 * which always hash the password they are given.
+	 */
+	public static User fromStoredHash(Role role, String username, String passwordHash) {
+		StoredHash hash = new StoredHash(passwordHash);
+		return switch (role) {
+			case ADMIN -> new Admin(username, hash);
+			case SCHEDULER -> new Scheduler(username, hash);
+			case USER -> new RegularUser(username, hash);
+			case GUEST -> new Guest(username, hash);
+		};
+	}
+
 	public String getUsername() {
 		return username;
 	}
@@ -31,11 +66,15 @@ public abstract class User implements Serializable {
 	}
 
 	public boolean verifyPassword(String candidate) {
-		return password.equals(candidate);
+		return PasswordHasher.verify(candidate, passwordHash);
+	}
+
+	public String getPasswordHash() {
+		return passwordHash;
 	}
 
 	public String getMaskedPassword() {
-		return "*".repeat(Math.max(1, password.length()));
+		return "********";
 	}
 
 	@Override
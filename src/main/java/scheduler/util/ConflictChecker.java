@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import scheduler.jfr.ConflictCheckEvent;
 import scheduler.model.Booking;
 import scheduler.model.Room;
 
@@ -35,6 +36,8 @@ public final class ConflictChecker {
 		LocalDateTime end,
 		UUID excludeId
 	) {
+		ConflictCheckEvent event = new ConflictCheckEvent();
+		event.begin();
 		Set<Booking> conflicts = new LinkedHashSet<>();
 		for (Booking booking : bookings) {
 			boolean sameRoom = booking
@@ -46,6 +49,13 @@ public final class ConflictChecker {
 				conflicts.add(booking);
 			}
 		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.room = room.getName();
+			event.candidatesScanned = bookings.size();
+			event.conflictsFound = conflicts.size();
+			event.commit();
+		}
 		return List.copyOf(conflicts);
 	}
 
@@ -0,0 +1,104 @@
+package scheduler.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Base64;
+import java.util.Objects;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Salted PBKDF2 password hashing.
+ *
+ * <p>Encoded hashes have the form {@code pbkdf2-sha256$iterations$salt$hash}
+ * with Base64 salt and hash, so the work factor can be raised later without
+ * invalidating stored credentials.
+ */
+public final class PasswordHasher {
+
+	private static final String PREFIX = "pbkdf2-sha256";
+	private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+	private static final int ITERATIONS = 210_000;
+	// Stored hashes may use a higher work factor than new ones, but not one
+	// high enough to make a single verification a denial of service.
+	private static final int MAX_ITERATIONS = 2_000_000;
+	private static final int SALT_BYTES = 16;
+	private static final int HASH_BITS = 256;
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	private PasswordHasher() {}
+
+	public static String hash(String password) {
+		Objects.requireNonNull(password, "password");
+		byte[] salt = new byte[SALT_BYTES];
+		RANDOM.nextBytes(salt);
+		byte[] hash = derive(password, salt, ITERATIONS, HASH_BITS);
+		Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+		return (
+			PREFIX +
+			"$" +
+			ITERATIONS +
+			"$" +
+			encoder.encodeToString(salt) +
+			"$" +
+			encoder.encodeToString(hash)
+		);
+	}
+
+	public static boolean verify(String candidate, String encoded) {
+		if (candidate == null || !isHash(encoded)) {
+			return false;
+		}
+		String[] parts = encoded.split("\\$");
+		try {
+			int iterations = Integer.parseInt(parts[1]);
+			if (iterations < 1 || iterations > MAX_ITERATIONS) {
+				return false;
+			}
+			Base64.Decoder decoder = Base64.getDecoder();
+			byte[] salt = decoder.decode(parts[2]);
+			byte[] expected = decoder.decode(parts[3]);
+			if (expected.length != HASH_BITS / 8) {
+				return false;
+			}
+			byte[] actual = derive(candidate, salt, iterations, expected.length * 8);
+			return MessageDigest.isEqual(expected, actual);
+		} catch (IllegalArgumentException ex) {
+			return false;
+		}
+	}
+
+	public static boolean isHash(String value) {
+		return (
+			value != null &&
+			value.startsWith(PREFIX + "$") &&
+			value.split("\\$").length == 4
+		);
+	}
+
+	private static byte[] derive(
+		String password,
+		byte[] salt,
+		int iterations,
+		int bits
+	) {
+		PBEKeySpec spec = new PBEKeySpec(
+			password.toCharArray(),
+			salt,
+			iterations,
+			bits
+		);
+		try {
+			return SecretKeyFactory
+				.getInstance(ALGORITHM)
+				.generateSecret(spec)
+				.getEncoded();
+		} catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+			throw new IllegalStateException("Unable to hash password", e);
+		} finally {
+			spec.clearPassword();
+		}
+	}
+}
@@ -0,0 +1,171 @@
+package scheduler.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Hashed timing wheel that schedules expirations in O(1) and expires them
+ * without scanning entries that are not due.
+ *
+ * <p>Time is divided into ticks of fixed length; each entry hangs off the bucket
+ * for its deadline tick and remembers the absolute tick it is due, so entries
+ * more than one rotation away are simply skipped until their rotation comes up.
+ * The wheel is driven explicitly through {@link #advance(long)} and is not
+ * thread-safe.
+ *
+ * @param <T> payload carried by each scheduled entry
+ */
+public final class TimingWheel<T> {
+
+	private final long tickMillis;
+	private final int mask;
+	private final Entry<T>[] buckets;
+	private long currentTick;
+	private int size;
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+		if (tickMillis < 1) {
+			throw new IllegalArgumentException("Tick must be at least 1 ms");
+		}
+		if (wheelSize < 1 || Integer.bitCount(wheelSize) != 1) {
+			throw new IllegalArgumentException("Wheel size must be a power of two");
+		}
+		this.tickMillis = tickMillis;
+		this.mask = wheelSize - 1;
+		this.buckets = (Entry<T>[]) new Entry[wheelSize];
+		this.currentTick = startMillis / tickMillis;
+	}
+
+	/**
+	 * Schedules {@code payload} to expire at {@code deadlineMillis}.
+	 *
+	 * @return handle that can cancel the entry in constant time
+	 */
+	public Timeout<T> schedule(T payload, long deadlineMillis) {
+		Objects.requireNonNull(payload, "payload");
+		long deadlineTick = Math.max(
+			currentTick,
+			(deadlineMillis + tickMillis - 1) / tickMillis
+		);
+		Entry<T> entry = new Entry<>(this, payload, deadlineTick);
+		link(entry);
+		size++;
+		return entry;
+	}
+
+	/**
+	 * Moves the wheel forward to {@code nowMillis} and returns every payload whose
+	 * deadline has passed, in no particular order.
+	 */
+	public List<T> advance(long nowMillis) {
+		long targetTick = nowMillis / tickMillis;
+		if (targetTick < currentTick || size == 0) {
+			currentTick = Math.max(currentTick, targetTick);
+			return List.of();
+		}
+		List<T> expired = new ArrayList<>();
+		long ticks = targetTick - currentTick + 1;
+		if (ticks > buckets.length) {
+			for (int i = 0; i < buckets.length; i++) {
+				expireBucket(i, targetTick, expired);
+			}
+		} else {
+			for (long tick = currentTick; tick <= targetTick; tick++) {
+				expireBucket((int) (tick & mask), tick, expired);
+			}
+		}
+		currentTick = targetTick;
+		return expired;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private void expireBucket(int index, long tick, List<T> expired) {
+		Entry<T> entry = buckets[index];
+		while (entry != null) {
+			Entry<T> next = entry.next;
+			if (entry.deadlineTick <= tick) {
+				unlink(entry);
+				size--;
+				expired.add(entry.payload);
+			}
+			entry = next;
+		}
+	}
+
+	private void link(Entry<T> entry) {
+		int index = (int) (entry.deadlineTick & mask);
+		Entry<T> head = buckets[index];
+		entry.next = head;
+		if (head != null) {
+			head.prev = entry;
+		}
+		buckets[index] = entry;
+		entry.linked = true;
+	}
+
+	private void unlink(Entry<T> entry) {
+		if (entry.prev != null) {
+			entry.prev.next = entry.next;
+		} else {
+			buckets[(int) (entry.deadlineTick & mask)] = entry.next;
+		}
+		if (entry.next != null) {
+			entry.next.prev = entry.prev;
+		}
+		entry.prev = null;
+		entry.next = null;
+		entry.linked = false;
+	}
+
+	/**
+	 * Handle for a scheduled entry.
+	 *
+	 * @param <T> payload type
+	 */
+	public interface Timeout<T> {
+		T payload();
+
+		/**
+		 * Removes the entry from the wheel.
+		 *
+		 * @return false when the entry already expired or was cancelled
+		 */
+		boolean cancel();
+	}
+
+	private static final class Entry<T> implements Timeout<T> {
+
+		private final TimingWheel<T> wheel;
+		private final T payload;
+		private final long deadlineTick;
+		private Entry<T> prev;
+		private Entry<T> next;
+		private boolean linked;
+
+		private Entry(TimingWheel<T> wheel, T payload, long deadlineTick) {
+			this.wheel = wheel;
+			this.payload = payload;
+			this.deadlineTick = deadlineTick;
+		}
+
+		@Override
+		public T payload() {
+			return payload;
+		}
+
+		@Override
+		public boolean cancel() {
+			if (!linked) {
+				return false;
+			}
+			wheel.unlink(this);
+			wheel.size--;
+			return true;
+		}
+	}
+}